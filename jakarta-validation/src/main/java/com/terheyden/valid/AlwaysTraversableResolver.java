@@ -0,0 +1,37 @@
+package com.terheyden.valid;
+
+import java.lang.annotation.ElementType;
+
+import jakarta.validation.Path;
+import jakarta.validation.TraversableResolver;
+
+/**
+ * Everything is reachable and cascadable. Unlike Hibernate's default resolver,
+ * this never checks whether JPA properties are loaded. See {@link TraversalMode#ALWAYS}.
+ * <p>
+ * Stateless and thread-safe.
+ */
+final class AlwaysTraversableResolver implements TraversableResolver {
+
+    @Override
+    public boolean isReachable(
+        Object traversableObject,
+        Path.Node traversableProperty,
+        Class<?> rootBeanType,
+        Path pathToTraversableObject,
+        ElementType elementType) {
+
+        return true;
+    }
+
+    @Override
+    public boolean isCascadable(
+        Object traversableObject,
+        Path.Node traversableProperty,
+        Class<?> rootBeanType,
+        Path pathToTraversableObject,
+        ElementType elementType) {
+
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * A constraint validator that does slow or blocking work, like a lookup in a reference store.
+ * {@link Valid#checkObjectAsync(Object)} runs all of an object's async constraints concurrently,
+ * instead of one after another. Ordinary validation still works: it waits for each result in turn.
+ * <p>
+ * To be run concurrently, a constraint must list only this validator in its {@code validatedBy},
+ * and be on a root bean property that isn't cascaded ({@code @Valid}) and has no container element constraints.
+ * Other async constraints are validated synchronously.
+ *
+ * @param <A> the constraint annotation
+ * @param <T> the validated type
+ */
+public interface AsyncConstraintValidator<A extends Annotation, T> extends ConstraintValidator<A, T> {
+
+    /**
+     * Check the value. Blocking here is fine; {@link Valid#checkObjectAsync(Object)} calls it
+     * from its own pool. Must be thread-safe, like any constraint validator.
+     *
+     * @return true if the value is valid
+     */
+    CompletionStage<Boolean> isValidAsync(@Nullable T value);
+
+    @Override
+    default boolean isValid(@Nullable T value, ConstraintValidatorContext context) {
+
+        if (AsyncValidation.isDeferring()) {
+            // Being checked separately, concurrently with the others.
+            return true;
+        }
+
+        return isValidAsync(value).toCompletableFuture().join();
+    }
+}
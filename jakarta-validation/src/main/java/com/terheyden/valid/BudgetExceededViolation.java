@@ -0,0 +1,82 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.metadata.ConstraintDescriptor;
+
+/**
+ * If validation runs out of its {@link ValidationBudget}, this special "budget exceeded" violation
+ * is reported alongside whatever violations were found before validation stopped.
+ */
+final class BudgetExceededViolation<T> implements ConstraintViolation<T> {
+
+    private final T rootBean;
+    private final ValidationBudget budget;
+
+    BudgetExceededViolation(T rootBean, ValidationBudget budget) {
+        this.rootBean = rootBean;
+        this.budget = budget;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Validation budget exceeded: " + budget;
+    }
+
+    @Override
+    public String getMessageTemplate() {
+        return "Validation budget exceeded.";
+    }
+
+    @Override
+    public T getRootBean() {
+        return rootBean;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<T> getRootBeanClass() {
+        return (Class<T>) rootBean.getClass();
+    }
+
+    @Override
+    public Object getLeafBean() {
+        return rootBean;
+    }
+
+    @Override
+    @Nullable
+    public Object[] getExecutableParameters() {
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public Object getExecutableReturnValue() {
+        return null;
+    }
+
+    @Override
+    public Path getPropertyPath() {
+        return ViolationInterner.EMPTY_PATH;
+    }
+
+    @Override
+    @Nullable
+    public Object getInvalidValue() {
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public ConstraintDescriptor<?> getConstraintDescriptor() {
+        return null;
+    }
+
+    @Override
+    public <U> U unwrap(Class<U> type) {
+        return type.cast(this);
+    }
+}
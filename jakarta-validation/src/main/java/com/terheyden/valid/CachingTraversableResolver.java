@@ -0,0 +1,93 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.ElementType;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import jakarta.validation.Path;
+import jakarta.validation.TraversableResolver;
+
+/**
+ * Asks the delegate once per (class, property), and remembers the answer.
+ * Cuts the delegate's calls from one per object to one per class, which matters when
+ * each call is expensive, like JPA's {@code PersistenceUtil.isLoaded()}. See {@link TraversalMode#CACHING}.
+ * <p>
+ * Stateful — create a new one for every validation.
+ */
+final class CachingTraversableResolver implements TraversableResolver {
+
+    private final TraversableResolver delegate;
+    private final Map<Key, Boolean> reachable = new HashMap<>();
+    private final Map<Key, Boolean> cascadable = new HashMap<>();
+
+    CachingTraversableResolver(TraversableResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isReachable(
+        @Nullable Object traversableObject,
+        Path.Node traversableProperty,
+        Class<?> rootBeanType,
+        Path pathToTraversableObject,
+        ElementType elementType) {
+
+        return reachable.computeIfAbsent(
+            new Key(traversableObject, traversableProperty, elementType),
+            key -> delegate.isReachable(
+                traversableObject, traversableProperty, rootBeanType, pathToTraversableObject, elementType));
+    }
+
+    @Override
+    public boolean isCascadable(
+        @Nullable Object traversableObject,
+        Path.Node traversableProperty,
+        Class<?> rootBeanType,
+        Path pathToTraversableObject,
+        ElementType elementType) {
+
+        return cascadable.computeIfAbsent(
+            new Key(traversableObject, traversableProperty, elementType),
+            key -> delegate.isCascadable(
+                traversableObject, traversableProperty, rootBeanType, pathToTraversableObject, elementType));
+    }
+
+    /**
+     * A property of a class.
+     */
+    private static final class Key {
+
+        // Null when validating a single value, e.g. with Validator.validateValue().
+        @Nullable
+        private final Class<?> type;
+        @Nullable
+        private final String propertyName;
+        private final ElementType elementType;
+
+        private Key(@Nullable Object traversableObject, Path.Node property, ElementType elementType) {
+            this.type = traversableObject == null ? null : traversableObject.getClass();
+            this.propertyName = property.getName();
+            this.elementType = elementType;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+
+            if (!(other instanceof Key)) {
+                return false;
+            }
+
+            Key that = (Key) other;
+            return type == that.type
+                && Objects.equals(propertyName, that.propertyName)
+                && elementType == that.elementType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, propertyName, elementType);
+        }
+    }
+}
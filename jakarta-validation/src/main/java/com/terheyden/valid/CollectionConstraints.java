@@ -0,0 +1,118 @@
+package com.terheyden.valid;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import jakarta.validation.ConstraintViolation;
+
+/**
+ * Collection-level constraints for {@link ValidatedList}, {@link ValidatedSet}, and {@link ValidatedMap}.
+ * These are the running-state equivalents of {@code @Size}, {@code @NotEmpty}, and {@code @UniqueElements}:
+ * the validated collections keep track of them as elements are added and removed,
+ * so checking them never needs to look at the elements again.
+ * <p>
+ * Immutable and thread-safe.
+ */
+public final class CollectionConstraints {
+
+    private static final CollectionConstraints NONE = new CollectionConstraints(0, Integer.MAX_VALUE, false);
+
+    private final int minSize;
+    private final int maxSize;
+    private final boolean unique;
+
+    private CollectionConstraints(int minSize, int maxSize, boolean unique) {
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.unique = unique;
+    }
+
+    /**
+     * No collection-level constraints; only the elements themselves are validated.
+     */
+    public static CollectionConstraints none() {
+        return NONE;
+    }
+
+    /**
+     * The collection must not be empty. Like {@code @NotEmpty}.
+     */
+    public static CollectionConstraints notEmpty() {
+        return of(1, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * The collection's size must be between min and max, inclusive. Like {@code @Size}.
+     */
+    public static CollectionConstraints size(int minSize, int maxSize) {
+        return of(minSize, maxSize, false);
+    }
+
+    /**
+     * The collection must not contain duplicate elements. Like {@code @UniqueElements}.
+     * Only meaningful for lists, since sets and map keys are always unique.
+     */
+    public static CollectionConstraints unique() {
+        return of(0, Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * Size limits and uniqueness, all at once.
+     */
+    public static CollectionConstraints of(int minSize, int maxSize, boolean unique) {
+
+        if (minSize < 0 || maxSize < minSize) {
+            throw new IllegalArgumentException(
+                "Invalid collection size range: min=" + minSize + ", max=" + maxSize);
+        }
+
+        return new CollectionConstraints(minSize, maxSize, unique);
+    }
+
+    boolean isUnique() {
+        return unique;
+    }
+
+    /**
+     * Check the constraints against a collection's running state.
+     *
+     * @param collection the collection being checked; reported as the violations' root bean
+     * @param size the collection's current size
+     * @param duplicates how many elements are duplicates of an earlier element
+     */
+    <T> Set<ConstraintViolation<T>> check(T collection, int size, long duplicates) {
+
+        boolean sizeOk = size >= minSize && size <= maxSize;
+        boolean uniqueOk = !unique || duplicates == 0;
+
+        if (sizeOk && uniqueOk) {
+            return Collections.emptySet();
+        }
+
+        Set<ConstraintViolation<T>> violations = new HashSet<>();
+
+        if (!sizeOk) {
+            violations.add(minSize == 1 && maxSize == Integer.MAX_VALUE
+                ? new CollectionViolation<>(collection, "must not be empty", "must not be empty")
+                : new CollectionViolation<>(
+                    collection,
+                    "size must be between " + minSize + " and " + maxSize,
+                    "size must be between {min} and {max}"));
+        }
+
+        if (!uniqueOk) {
+            violations.add(new CollectionViolation<>(
+                collection,
+                "must only contain unique elements",
+                "must only contain unique elements"));
+        }
+
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        return "CollectionConstraints[minSize=" + minSize + ", maxSize=" + maxSize + ", unique=" + unique + "]";
+    }
+}
@@ -0,0 +1,320 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.hibernate.validator.group.GroupSequenceProvider;
+import org.hibernate.validator.internal.metadata.descriptor.ConstraintDescriptorImpl;
+import org.hibernate.validator.internal.metadata.location.ConstraintLocation.ConstraintLocationKind;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.GroupSequence;
+import jakarta.validation.constraints.AssertFalse;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Negative;
+import jakarta.validation.constraints.NegativeOrZero;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+
+/**
+ * Helper class that validates objects with a validator compiled once per class. Used by {@link Valid}.
+ * <p>
+ * On first use, the class's constraint metadata is turned into a flat list of checks: a method handle
+ * that reads the field (or calls the getter) directly, plus an inlined predicate for each built-in
+ * constraint ({@code @NotNull}, {@code @Size}, {@code @Min}, {@code @ElementMin}, etc.).
+ * Properties with custom or otherwise unsupported constraints are handed to Hibernate one property at a time.
+ * <p>
+ * This is an accept fast path: if every compiled check passes, the object is valid.
+ * If any check fails, the whole object is re-validated by Hibernate, so violations (and their messages)
+ * are exactly what {@link Valid#checkObject(Object)} would return.
+ * Classes with class-level constraints, cascades, container element constraints,
+ * or a redefined default group sequence ({@link GroupSequence}, {@link GroupSequenceProvider}, or in XML)
+ * always go straight to Hibernate, since a sequence stops at its first failing group and property-at-a-time
+ * validation can't know that. Properties whose field hides a superclass field of the same name are
+ * handed to Hibernate too.
+ */
+final class CompiledValidation {
+
+    private static final ClassValue<CompiledValidator> VALIDATORS = new ClassValue<>() {
+        @Override
+        protected CompiledValidator computeValue(Class<?> type) {
+            return CompiledValidator.compile(type);
+        }
+    };
+
+    private CompiledValidation() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    static <T> Set<ConstraintViolation<T>> checkObject(T objectToValidate) {
+        return VALIDATORS.get(objectToValidate.getClass()).validate(objectToValidate);
+    }
+
+    /**
+     * The compiled checks for one class.
+     */
+    private static final class CompiledValidator {
+
+        // Used for classes we can't compile; everything goes to Hibernate.
+        private static final CompiledValidator UNSUPPORTED = new CompiledValidator(null, null);
+
+        @Nullable
+        private final PropertyCheck[] checks;
+
+        // Properties with constraints we can't compile, validated by Hibernate one at a time.
+        @Nullable
+        private final String[] delegatedProperties;
+
+        private CompiledValidator(@Nullable PropertyCheck[] checks, @Nullable String[] delegatedProperties) {
+            this.checks = checks;
+            this.delegatedProperties = delegatedProperties;
+        }
+
+        private <T> Set<ConstraintViolation<T>> validate(T bean) {
+
+            if (checks == null || delegatedProperties == null) {
+                return Valid.VALIDATOR.validate(bean);
+            }
+
+            for (PropertyCheck check : checks) {
+                if (!check.passes(bean)) {
+                    // Let Hibernate find and describe the violations.
+                    return Valid.VALIDATOR.validate(bean);
+                }
+            }
+
+            Set<ConstraintViolation<T>> violations = Collections.emptySet();
+
+            for (String property : delegatedProperties) {
+
+                Set<ConstraintViolation<T>> propertyViolations = Valid.VALIDATOR.validateProperty(bean, property);
+
+                if (!propertyViolations.isEmpty()) {
+                    if (violations.isEmpty()) {
+                        violations = new HashSet<>();
+                    }
+
+                    violations.addAll(propertyViolations);
+                }
+            }
+
+            return violations;
+        }
+
+        private static CompiledValidator compile(Class<?> beanClass) {
+
+            BeanDescriptor beanDescriptor = Valid.VALIDATOR.getConstraintsForClass(beanClass);
+
+            if (beanDescriptor.hasConstraints() || ValidUtils.redefinesDefaultGroup(beanClass, beanDescriptor)) {
+                return UNSUPPORTED;
+            }
+
+            List<PropertyCheck> checks = new ArrayList<>();
+            List<String> delegatedProperties = new ArrayList<>();
+
+            for (PropertyDescriptor property : beanDescriptor.getConstrainedProperties()) {
+
+                if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+                    return UNSUPPORTED;
+                }
+
+                Optional<List<PropertyCheck>> propertyChecks = compileProperty(beanClass, property);
+
+                if (propertyChecks.isPresent()) {
+                    checks.addAll(propertyChecks.get());
+                } else {
+                    delegatedProperties.add(property.getPropertyName());
+                }
+            }
+
+            return new CompiledValidator(
+                checks.toArray(new PropertyCheck[0]),
+                delegatedProperties.toArray(new String[0]));
+        }
+
+        /**
+         * Compile all the default-group constraints on one property, or empty if any can't be compiled.
+         */
+        private static Optional<List<PropertyCheck>> compileProperty(Class<?> beanClass, PropertyDescriptor property) {
+
+            List<PropertyCheck> checks = new ArrayList<>();
+            Set<ConstraintDescriptor<?>> defaultGroupConstraints = property.findConstraints()
+                .unorderedAndMatchingGroups(Default.class)
+                .getConstraintDescriptors();
+
+            for (ConstraintDescriptor<?> constraint : defaultGroupConstraints) {
+
+                if (!constraint.getComposingConstraints().isEmpty()
+                    || !(constraint instanceof ConstraintDescriptorImpl)) {
+                    return Optional.empty();
+                }
+
+                Optional<MethodHandle> reader = findReader(
+                    beanClass,
+                    property.getPropertyName(),
+                    ((ConstraintDescriptorImpl<?>) constraint).getConstraintLocationKind());
+
+                Optional<Predicate<Object>> predicate = compileConstraint(constraint.getAnnotation());
+
+                if (reader.isEmpty() || predicate.isEmpty()) {
+                    return Optional.empty();
+                }
+
+                checks.add(new PropertyCheck(reader.get(), predicate.get()));
+            }
+
+            return Optional.of(checks);
+        }
+
+        private static Optional<MethodHandle> findReader(
+            Class<?> beanClass,
+            String propertyName,
+            ConstraintLocationKind locationKind) {
+
+            switch (locationKind) {
+                case FIELD:
+                    return Reflections.findFieldHandle(beanClass, propertyName);
+                case GETTER:
+                    return Reflections.findGetterHandle(beanClass, propertyName);
+                default:
+                    return Optional.empty();
+            }
+        }
+
+        /**
+         * Inline a built-in constraint as a predicate, matching Hibernate's validator for it.
+         * Values of types we don't handle fail the predicate, which sends the object to Hibernate.
+         */
+        private static Optional<Predicate<Object>> compileConstraint(Annotation annotation) {
+
+            Class<? extends Annotation> type = annotation.annotationType();
+
+            if (type == NotNull.class) {
+                return Optional.of(value -> value != null);
+            }
+
+            if (type == Null.class) {
+                return Optional.of(value -> value == null);
+            }
+
+            if (type == AssertTrue.class) {
+                return Optional.of(value -> value == null || Boolean.TRUE.equals(value));
+            }
+
+            if (type == AssertFalse.class) {
+                return Optional.of(value -> value == null || Boolean.FALSE.equals(value));
+            }
+
+            if (type == NotBlank.class) {
+                return Optional.of(value -> value instanceof CharSequence
+                    && !value.toString().trim().isEmpty());
+            }
+
+            if (type == NotEmpty.class) {
+                return Optional.of(value -> value != null && ValidUtils.sizeOf(value) > 0);
+            }
+
+            if (type == Size.class) {
+                int min = ((Size) annotation).min();
+                int max = ((Size) annotation).max();
+                return Optional.of(value -> {
+                    if (value == null) {
+                        return true;
+                    }
+
+                    int size = ValidUtils.sizeOf(value);
+                    return size >= min && size <= max;
+                });
+            }
+
+            if (type == Min.class) {
+                long min = ((Min) annotation).value();
+                return Optional.of(value -> value == null || (isIntegral(value) && longValue(value) >= min));
+            }
+
+            if (type == Max.class) {
+                long max = ((Max) annotation).value();
+                return Optional.of(value -> value == null || (isIntegral(value) && longValue(value) <= max));
+            }
+
+            if (type == Positive.class) {
+                return Optional.of(value -> value == null || (isIntegral(value) && longValue(value) > 0));
+            }
+
+            if (type == PositiveOrZero.class) {
+                return Optional.of(value -> value == null || (isIntegral(value) && longValue(value) >= 0));
+            }
+
+            if (type == Negative.class) {
+                return Optional.of(value -> value == null || (isIntegral(value) && longValue(value) < 0));
+            }
+
+            if (type == NegativeOrZero.class) {
+                return Optional.of(value -> value == null || (isIntegral(value) && longValue(value) <= 0));
+            }
+
+            if (type == ElementMin.class || type == ElementMax.class
+                || type == ElementPositive.class || type == ElementRange.class) {
+                ElementBounds bounds = ElementBounds.of(annotation);
+                return Optional.of(value -> value == null || bounds.allInRange(value));
+            }
+
+            return Optional.empty();
+        }
+
+        private static long longValue(Object value) {
+            return ((Number) value).longValue();
+        }
+
+        /**
+         * Integral boxed types compare exactly as longs.
+         * Floating point and big number types are left to Hibernate.
+         */
+        private static boolean isIntegral(Object value) {
+            return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+        }
+    }
+
+    /**
+     * Reads one property and checks one constraint on it.
+     */
+    private static final class PropertyCheck {
+
+        private final MethodHandle reader;
+        private final Predicate<Object> predicate;
+
+        private PropertyCheck(MethodHandle reader, Predicate<Object> predicate) {
+            this.reader = reader;
+            this.predicate = predicate;
+        }
+
+        private boolean passes(Object bean) {
+            try {
+
+                return predicate.test((Object) reader.invokeExact(bean));
+
+            } catch (Throwable e) {
+                return ValidUtils.throwUnchecked(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.terheyden.valid;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+
+/**
+ * Helper class that validates an object one property at a time, cheapest property first,
+ * stopping at the first property that fails. Used by {@link Valid}.
+ * <p>
+ * How long each property takes to validate is measured as we go,
+ * so the order adapts to the actual cost of each property's constraints
+ * (e.g. a custom validator doing lookups sorts after a {@code @NotNull}).
+ * Until there are measurements, properties with built-in constraints go first.
+ * <p>
+ * If every property passes, a final pass validates the class-level constraints and cascaded properties,
+ * skipping the properties already checked. Cascaded properties are left to the final pass entirely
+ * (their own constraints too), so nothing is validated twice.
+ * <p>
+ * Classes that redefine their default group sequence are validated as a whole instead,
+ * since a sequence stops at its first failing group.
+ */
+final class CostOrderedValidation {
+
+    // Rough starting costs, in nanos, until real measurements replace them.
+    private static final long BUILT_IN_COST = 50;
+    private static final long REGEX_COST = 500;
+    private static final long CUSTOM_COST = 5_000;
+
+    // How many validations between measuring all of a class's properties and re-sorting them.
+    private static final int RESORT_INTERVAL = 128;
+
+    private static final ClassValue<CostProfile> PROFILES = new ClassValue<>() {
+        @Override
+        protected CostProfile computeValue(Class<?> type) {
+            return new CostProfile(type, Valid.VALIDATOR.getConstraintsForClass(type));
+        }
+    };
+
+    private CostOrderedValidation() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    static <T> Set<ConstraintViolation<T>> checkObject(T objectToValidate) {
+
+        CostProfile profile = PROFILES.get(objectToValidate.getClass());
+
+        if (profile.redefinesDefaultGroup) {
+            return Valid.VALIDATOR.validate(objectToValidate);
+        }
+
+        // Every so often, measure all the properties instead of stopping at the first failure,
+        // so the ones that usually sort after a failing property get re-measured too.
+        boolean measureAll = profile.nextValidation();
+        Set<ConstraintViolation<T>> firstViolations = null;
+
+        for (PropertyCost property : profile.cheapestFirst) {
+
+            long start = System.nanoTime();
+            Set<ConstraintViolation<T>> violations =
+                Valid.VALIDATOR.validateProperty(objectToValidate, property.propertyName);
+
+            // Building violations would make cheap constraints look expensive, so failing runs
+            // are only measured when measuring everything; otherwise an always-failing property would never be.
+            if (violations.isEmpty() || measureAll) {
+                property.record(System.nanoTime() - start);
+            }
+
+            if (!violations.isEmpty() && firstViolations == null) {
+                firstViolations = violations;
+            }
+
+            if (firstViolations != null && !measureAll) {
+                break;
+            }
+        }
+
+        if (measureAll) {
+            profile.resort();
+        }
+
+        if (firstViolations != null) {
+            return firstViolations;
+        }
+
+        if (!profile.needsFinalPass) {
+            return Collections.emptySet();
+        }
+
+        RootPropertiesTraversableResolver resolver = RootPropertiesTraversableResolver.skipProperties(
+            Valid.FACTORY.getTraversableResolver(), objectToValidate, profile.checkedProperties);
+
+        return Valid.FACTORY.usingContext()
+            .traversableResolver(resolver)
+            .getValidator()
+            .validate(objectToValidate);
+    }
+
+    /**
+     * Estimate the cost of a property from its constraint types.
+     */
+    private static long estimateCost(PropertyDescriptor property) {
+
+        long cost = 0;
+        for (ConstraintDescriptor<?> constraint : property.getConstraintDescriptors()) {
+            cost += estimateCost(constraint);
+        }
+
+        // Container element constraints (e.g. List<@NotBlank String>) run once per element.
+        return property.getConstrainedContainerElementTypes().isEmpty() ? cost : cost + CUSTOM_COST;
+    }
+
+    private static long estimateCost(ConstraintDescriptor<?> constraint) {
+
+        Class<? extends Annotation> type = constraint.getAnnotation().annotationType();
+        long cost;
+
+        if (type == Pattern.class || type == Email.class) {
+            cost = REGEX_COST;
+        } else if (type.getPackage() == NotNull.class.getPackage()) {
+            cost = BUILT_IN_COST;
+        } else {
+            cost = CUSTOM_COST;
+        }
+
+        for (ConstraintDescriptor<?> composingConstraint : constraint.getComposingConstraints()) {
+            cost += estimateCost(composingConstraint);
+        }
+
+        return cost;
+    }
+
+    /**
+     * The constrained properties of one class, and how expensive each one is.
+     */
+    private static final class CostProfile {
+
+        // Properties validated one at a time; cascaded properties are left to the final pass.
+        private final Set<String> checkedProperties;
+        private final boolean needsFinalPass;
+        private final boolean redefinesDefaultGroup;
+        private final PropertyCost[] properties;
+
+        // Re-sorted every so often as costs are measured.
+        private volatile PropertyCost[] cheapestFirst;
+        private int validationCount;
+
+        private CostProfile(Class<?> type, BeanDescriptor beanDescriptor) {
+
+            List<PropertyCost> propertyCosts = new ArrayList<>();
+            Set<String> checked = new HashSet<>();
+            boolean hasCascades = false;
+
+            for (PropertyDescriptor property : beanDescriptor.getConstrainedProperties()) {
+
+                if (isCascaded(property)) {
+                    hasCascades = true;
+                } else {
+                    propertyCosts.add(new PropertyCost(property.getPropertyName(), estimateCost(property)));
+                    checked.add(property.getPropertyName());
+                }
+            }
+
+            this.checkedProperties = Collections.unmodifiableSet(checked);
+            this.needsFinalPass = hasCascades || beanDescriptor.hasConstraints();
+            this.redefinesDefaultGroup = ValidUtils.redefinesDefaultGroup(type, beanDescriptor);
+            this.properties = propertyCosts.toArray(new PropertyCost[0]);
+            this.cheapestFirst = sortByCost(properties);
+        }
+
+        private static boolean isCascaded(PropertyDescriptor property) {
+            return property.isCascaded() || property.getConstrainedContainerElementTypes()
+                .stream()
+                .anyMatch(elementType -> elementType.isCascaded()
+                    || !elementType.getConstrainedContainerElementTypes().isEmpty());
+        }
+
+        /**
+         * Counts a validation. Races here are harmless — at worst we measure a little more or less often.
+         *
+         * @return true if this validation should measure every property, then re-sort them
+         */
+        private boolean nextValidation() {
+            return ++validationCount % RESORT_INTERVAL == 0;
+        }
+
+        private void resort() {
+            cheapestFirst = sortByCost(properties);
+        }
+
+        private static PropertyCost[] sortByCost(PropertyCost[] properties) {
+
+            // Snapshot the costs first, since other threads may update them while we sort.
+            Integer[] order = new Integer[properties.length];
+            long[] costs = new long[properties.length];
+
+            for (int i = 0; i < properties.length; i++) {
+                order[i] = i;
+                costs[i] = properties[i].averageNanos;
+            }
+
+            Arrays.sort(order, Comparator.comparingLong(i -> costs[i]));
+
+            PropertyCost[] sorted = new PropertyCost[properties.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = properties[order[i]];
+            }
+
+            return sorted;
+        }
+    }
+
+    /**
+     * A property and a moving average of how long it takes to validate.
+     */
+    private static final class PropertyCost {
+
+        private final String propertyName;
+
+        // Updated without locking; an occasional lost update doesn't matter for an estimate.
+        private volatile long averageNanos;
+
+        // The first run includes one-time setup (initializing constraint validators, etc.), so it's ignored.
+        private volatile boolean warmedUp;
+
+        // The first real sample, or -1 until there is one.
+        private volatile long firstSampleNanos = -1;
+
+        // Whether the average is a measurement yet, rather than the estimate.
+        private volatile boolean measured;
+
+        private PropertyCost(String propertyName, long estimatedNanos) {
+            this.propertyName = propertyName;
+            this.averageNanos = estimatedNanos;
+        }
+
+        private void record(long elapsedNanos) {
+
+            if (!warmedUp) {
+                warmedUp = true;
+                return;
+            }
+
+            // Two samples replace the estimate outright, however far off the estimate was. The faster one is used,
+            // since a busy CPU or a GC pause only ever adds time; one slow sample mustn't sort a cheap property last.
+            if (firstSampleNanos < 0) {
+                firstSampleNanos = elapsedNanos;
+                return;
+            }
+
+            if (!measured) {
+                measured = true;
+                averageNanos = Math.min(firstSampleNanos, elapsedNanos);
+                return;
+            }
+
+            // Limit how far one outlier (a GC pause, JIT compilation) can move the average.
+            long average = averageNanos;
+            long sample = Math.min(elapsedNanos, Math.max(average, 1) * 4);
+            averageNanos = average + (sample - average) / 8;
+        }
+    }
+}
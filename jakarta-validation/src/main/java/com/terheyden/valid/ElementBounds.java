@@ -0,0 +1,309 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.function.IntConsumer;
+
+/**
+ * The allowed range for the elements of a numeric array or collection,
+ * and the loops that check it. Used by the {@code @Element*} constraints and {@link CompiledValidation}.
+ * <p>
+ * Checking is done in two passes. The first pass is a tight, unboxed min / max reduction over the
+ * whole array, which the JIT can vectorize; if the smallest and largest elements are in range,
+ * every element is. Only if that fails does a second pass look for the offending indexes.
+ * <p>
+ * Integral, {@link BigInteger}, and {@link BigDecimal} elements are compared exactly, like Hibernate's {@code @Min}.
+ * Floating point elements are compared as doubles, and NaN is always out of range.
+ */
+final class ElementBounds {
+
+    /**
+     * Checks one kind of numeric container against the bounds.
+     */
+    interface Kernel<T> {
+
+        boolean allInRange(T values, ElementBounds bounds);
+
+        void forEachOutOfRange(T values, ElementBounds bounds, IntConsumer indexAction);
+    }
+
+    static final Kernel<int[]> INT_ARRAY = new Kernel<>() {
+        @Override
+        public boolean allInRange(int[] values, ElementBounds bounds) {
+            return bounds.allInRange(values);
+        }
+
+        @Override
+        public void forEachOutOfRange(int[] values, ElementBounds bounds, IntConsumer indexAction) {
+            for (int i = 0; i < values.length; i++) {
+                if (!bounds.inRange(values[i])) {
+                    indexAction.accept(i);
+                }
+            }
+        }
+    };
+
+    static final Kernel<long[]> LONG_ARRAY = new Kernel<>() {
+        @Override
+        public boolean allInRange(long[] values, ElementBounds bounds) {
+            return bounds.allInRange(values);
+        }
+
+        @Override
+        public void forEachOutOfRange(long[] values, ElementBounds bounds, IntConsumer indexAction) {
+            for (int i = 0; i < values.length; i++) {
+                if (!bounds.inRange(values[i])) {
+                    indexAction.accept(i);
+                }
+            }
+        }
+    };
+
+    static final Kernel<double[]> DOUBLE_ARRAY = new Kernel<>() {
+        @Override
+        public boolean allInRange(double[] values, ElementBounds bounds) {
+            return bounds.allInRange(values);
+        }
+
+        @Override
+        public void forEachOutOfRange(double[] values, ElementBounds bounds, IntConsumer indexAction) {
+            for (int i = 0; i < values.length; i++) {
+                if (!bounds.inRange(values[i])) {
+                    indexAction.accept(i);
+                }
+            }
+        }
+    };
+
+    static final Kernel<Collection<? extends Number>> NUMBER_COLLECTION = new Kernel<>() {
+        @Override
+        public boolean allInRange(Collection<? extends Number> values, ElementBounds bounds) {
+            return bounds.allInRange(values);
+        }
+
+        @Override
+        public void forEachOutOfRange(
+            Collection<? extends Number> values,
+            ElementBounds bounds,
+            IntConsumer indexAction) {
+
+            int index = 0;
+            for (Number value : values) {
+                if (!bounds.inRange(value)) {
+                    indexAction.accept(index);
+                }
+
+                index++;
+            }
+        }
+    };
+
+    private final long longMin;
+    private final long longMax;
+    private final double doubleMin;
+    private final double doubleMax;
+
+    // For big numbers; null means unbounded. The min is exclusive for @ElementPositive, so 0.5 is in range.
+    @Nullable
+    private final BigDecimal decimalMin;
+    @Nullable
+    private final BigDecimal decimalMax;
+    private final boolean decimalMinExclusive;
+
+    private ElementBounds(
+        long longMin,
+        long longMax,
+        double doubleMin,
+        double doubleMax,
+        @Nullable BigDecimal decimalMin,
+        @Nullable BigDecimal decimalMax,
+        boolean decimalMinExclusive) {
+
+        this.longMin = longMin;
+        this.longMax = longMax;
+        this.doubleMin = doubleMin;
+        this.doubleMax = doubleMax;
+        this.decimalMin = decimalMin;
+        this.decimalMax = decimalMax;
+        this.decimalMinExclusive = decimalMinExclusive;
+    }
+
+    /**
+     * Get the bounds described by one of the {@code @Element*} constraint annotations.
+     */
+    static ElementBounds of(Annotation annotation) {
+
+        if (annotation instanceof ElementMin) {
+            long min = ((ElementMin) annotation).value();
+            return new ElementBounds(
+                min, Long.MAX_VALUE, min, Double.POSITIVE_INFINITY, BigDecimal.valueOf(min), null, false);
+        }
+
+        if (annotation instanceof ElementMax) {
+            long max = ((ElementMax) annotation).value();
+            return new ElementBounds(
+                Long.MIN_VALUE, max, Double.NEGATIVE_INFINITY, max, null, BigDecimal.valueOf(max), false);
+        }
+
+        if (annotation instanceof ElementPositive) {
+            // For doubles, "at least the smallest positive double" is the same as "greater than zero".
+            return new ElementBounds(
+                1, Long.MAX_VALUE, Double.MIN_VALUE, Double.POSITIVE_INFINITY, BigDecimal.ZERO, null, true);
+        }
+
+        if (annotation instanceof ElementRange) {
+            long min = ((ElementRange) annotation).min();
+            long max = ((ElementRange) annotation).max();
+            return new ElementBounds(min, max, min, max, BigDecimal.valueOf(min), BigDecimal.valueOf(max), false);
+        }
+
+        throw new IllegalArgumentException("Not an element bounds constraint: " + annotation);
+    }
+
+    /**
+     * Check any supported container: {@code int[]}, {@code long[]}, {@code double[]}, or a collection of numbers.
+     * Anything else is reported as out of range.
+     */
+    @SuppressWarnings("unchecked")
+    boolean allInRange(Object values) {
+
+        if (values instanceof int[]) {
+            return allInRange((int[]) values);
+        }
+
+        if (values instanceof long[]) {
+            return allInRange((long[]) values);
+        }
+
+        if (values instanceof double[]) {
+            return allInRange((double[]) values);
+        }
+
+        if (values instanceof Collection) {
+            for (Object value : (Collection<?>) values) {
+                if (value != null && !(value instanceof Number)) {
+                    return false;
+                }
+            }
+
+            return allInRange((Collection<? extends Number>) values);
+        }
+
+        return false;
+    }
+
+    boolean allInRange(int[] values) {
+
+        if (values.length == 0) {
+            return true;
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+
+        for (int value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        return inRange(min) && inRange(max);
+    }
+
+    boolean allInRange(long[] values) {
+
+        if (values.length == 0) {
+            return true;
+        }
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+
+        for (long value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        return inRange(min) && inRange(max);
+    }
+
+    boolean allInRange(double[] values) {
+
+        if (values.length == 0) {
+            return true;
+        }
+
+        // Math.min() and max() return NaN if either argument is NaN, so one NaN fails the whole check.
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        for (double value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        return inRange(min) && inRange(max);
+    }
+
+    boolean allInRange(Collection<? extends Number> values) {
+
+        for (Number value : values) {
+            if (!inRange(value)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean inRange(long value) {
+        return value >= longMin && value <= longMax;
+    }
+
+    private boolean inRange(double value) {
+        // False for NaN.
+        return value >= doubleMin && value <= doubleMax;
+    }
+
+    /**
+     * Boxed elements; nulls are skipped, like {@code @Min} skips null values.
+     */
+    private boolean inRange(@Nullable Number value) {
+
+        if (value == null) {
+            return true;
+        }
+
+        if (isIntegral(value)) {
+            return inRange(value.longValue());
+        }
+
+        if (value instanceof BigDecimal) {
+            return inRange((BigDecimal) value);
+        }
+
+        if (value instanceof BigInteger) {
+            return inRange(new BigDecimal((BigInteger) value));
+        }
+
+        return inRange(value.doubleValue());
+    }
+
+    private boolean inRange(BigDecimal value) {
+
+        if (decimalMin != null) {
+            int comparison = value.compareTo(decimalMin);
+            if (comparison < 0 || (comparison == 0 && decimalMinExclusive)) {
+                return false;
+            }
+        }
+
+        return decimalMax == null || value.compareTo(decimalMax) <= 0;
+    }
+
+    private static boolean isIntegral(Number value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+}
@@ -0,0 +1,72 @@
+package com.terheyden.valid;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Collection;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+/**
+ * Every element of the annotated array or collection must be greater than zero.
+ * <p>
+ * Supported types are {@code int[]}, {@code long[]}, {@code double[]}, and collections of numbers.
+ * Much faster than container element constraints like {@code List<@Min(0) Integer>}:
+ * valid arrays are checked in a single unboxed loop, and violations are only created
+ * for the offending indexes. Null arrays and null collection elements are considered valid.
+ */
+@Documented
+@Target({ ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = {
+    ElementPositive.ForIntArray.class,
+    ElementPositive.ForLongArray.class,
+    ElementPositive.ForDoubleArray.class,
+    ElementPositive.ForCollection.class })
+public @interface ElementPositive {
+
+    String message() default "must be greater than 0";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    /**
+     * Validates {@code int[]}.
+     */
+    final class ForIntArray extends ElementBoundsValidator<ElementPositive, int[]> {
+        public ForIntArray() {
+            super(ElementBounds.INT_ARRAY);
+        }
+    }
+
+    /**
+     * Validates {@code long[]}.
+     */
+    final class ForLongArray extends ElementBoundsValidator<ElementPositive, long[]> {
+        public ForLongArray() {
+            super(ElementBounds.LONG_ARRAY);
+        }
+    }
+
+    /**
+     * Validates {@code double[]}.
+     */
+    final class ForDoubleArray extends ElementBoundsValidator<ElementPositive, double[]> {
+        public ForDoubleArray() {
+            super(ElementBounds.DOUBLE_ARRAY);
+        }
+    }
+
+    /**
+     * Validates collections of numbers.
+     */
+    final class ForCollection extends ElementBoundsValidator<ElementPositive, Collection<? extends Number>> {
+        public ForCollection() {
+            super(ElementBounds.NUMBER_COLLECTION);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.PatternSyntaxException;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
+import org.hibernate.validator.internal.engine.messageinterpolation.util.InterpolationHelper;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * A drop-in replacement for Hibernate's {@code @Pattern} validator that matches in linear time.
+ * Opt-in: {@link Valid#FACTORY} uses it in place of the default one if the {@value #PROPERTY} system property
+ * is true, e.g. {@code -Dvalid.pattern.linear=true}. See {@link Valid#LINEAR_PATTERN}.
+ * It replaces any other {@code @Pattern} validators, including ones mapped in {@code validation.xml}.
+ * <p>
+ * Each regex is compiled once. If it's regular (no backreferences, lookaround, flags, etc.)
+ * it's compiled to a DFA, which matches without backtracking — so it's immune to ReDoS —
+ * and without allocating. Otherwise, the compiled {@link java.util.regex.Pattern} is used,
+ * exactly like the default validator. Results and messages are the same either way.
+ */
+public final class LinearPatternValidator implements ConstraintValidator<Pattern, CharSequence> {
+
+    /**
+     * The system property that makes {@link Valid#FACTORY} use this validator for {@code @Pattern}.
+     */
+    public static final String PROPERTY = "valid.pattern.linear";
+
+    // Shared by every @Pattern with the same regex; there's a bounded number of these in any codebase.
+    private static final Map<String, Optional<RegexDfa>> DFAS = new ConcurrentHashMap<>();
+
+    private java.util.regex.Pattern pattern;
+    private String escapedRegexp;
+
+    @Nullable
+    private RegexDfa dfa;
+
+    @Override
+    public void initialize(Pattern annotation) {
+
+        int flags = 0;
+        for (Pattern.Flag flag : annotation.flags()) {
+            flags |= flag.getValue();
+        }
+
+        String regexp = annotation.regexp();
+
+        try {
+            // Always compiled, so invalid regexes fail here like they do with the default validator.
+            pattern = java.util.regex.Pattern.compile(regexp, flags);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid regular expression.", e);
+        }
+
+        dfa = flags == 0
+            ? DFAS.computeIfAbsent(regexp, RegexDfa::compile).orElse(null)
+            : null;
+
+        escapedRegexp = InterpolationHelper.escapeMessageParameter(regexp);
+    }
+
+    @Override
+    public boolean isValid(@Nullable CharSequence value, ConstraintValidatorContext context) {
+
+        if (value == null) {
+            return true;
+        }
+
+        if (context instanceof HibernateConstraintValidatorContext) {
+            context.unwrap(HibernateConstraintValidatorContext.class).addMessageParameter("regexp", escapedRegexp);
+        }
+
+        if (dfa != null) {
+            int result = dfa.match(value);
+
+            if (result != RegexDfa.UNKNOWN) {
+                return result == RegexDfa.MATCH;
+            }
+        }
+
+        return pattern.matcher(value).matches();
+    }
+}
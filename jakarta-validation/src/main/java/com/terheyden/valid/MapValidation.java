@@ -0,0 +1,481 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.metadata.ContainerElementTypeDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+
+/**
+ * Helper class that validates a parsed key / value tree (e.g. JSON read into maps and lists)
+ * against a bean class's constraints, without binding it to the bean. Used by {@link Valid}.
+ * <p>
+ * Each constrained property's value is taken from the map by name and checked with
+ * {@code Validator.validateValue()}. Values are first converted to the property's type the way
+ * a JSON binder would (e.g. {@code Integer} to {@code long}, lists to arrays, strings to enums);
+ * a value that can't be converted is a violation. Nested maps are validated against the class of
+ * {@code @Valid} properties, and lists and maps of nested maps against their cascaded element class,
+ * with violation paths like {@code items[2].sku}.
+ * <p>
+ * A nested map stands in for a bean, so constraints on a bean-typed property itself, other than
+ * {@code @NotNull}, can't be checked until the payload is bound (e.g. {@code @ValidAddress Address address}).
+ * Neither can class-level constraints, of the bean class or of nested classes. A nested map given for
+ * a bean-typed property that isn't {@code @Valid} isn't validated at all, just as a bound bean wouldn't be.
+ * Keys without a constrained property are ignored.
+ */
+final class MapValidation {
+
+    // Marks a value that can't be converted to its property's type.
+    private static final Object MISMATCH = new Object();
+
+    // Marks a nested map that stands in for a bean; it's checked by cascading instead.
+    private static final Object NESTED_BEAN = new Object();
+
+    private static final Map<Class<?>, Class<?>> BOXES = Map.of(
+        boolean.class, Boolean.class,
+        byte.class, Byte.class,
+        short.class, Short.class,
+        int.class, Integer.class,
+        long.class, Long.class,
+        float.class, Float.class,
+        double.class, Double.class,
+        char.class, Character.class);
+
+    private static final ClassValue<PropertyPlan[]> PLANS = new ClassValue<>() {
+        @Override
+        protected PropertyPlan[] computeValue(Class<?> type) {
+            return createPlans(type);
+        }
+    };
+
+    private MapValidation() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    static <T> Set<ConstraintViolation<T>> checkMap(Class<T> beanClass, Map<String, ?> payload) {
+
+        Set<ConstraintViolation<T>> violations = new HashSet<>();
+
+        for (PropertyPlan plan : PLANS.get(beanClass)) {
+
+            @Nullable Object value = payload.get(plan.name);
+            @Nullable Object converted = convert(value, plan.type);
+
+            if (converted == MISMATCH) {
+                violations.add(new RuleViolation<>(
+                    beanClass,
+                    null,
+                    ViolationInterner.path(plan.name),
+                    "must be of type " + plan.typeName,
+                    "must be of type {type}",
+                    value));
+                continue;
+            }
+
+            if (converted != NESTED_BEAN) {
+                violations.addAll(Valid.VALIDATOR.validateValue(beanClass, plan.name, converted));
+            }
+
+            if (plan.nestedClass != null) {
+                checkNested(beanClass, plan, value, violations);
+            }
+        }
+
+        return violations;
+    }
+
+    private static <T> void checkNested(
+        Class<T> beanClass,
+        PropertyPlan plan,
+        @Nullable Object value,
+        Set<ConstraintViolation<T>> violations) {
+
+        if (plan.nestedKind == NestedKind.BEAN && value instanceof Map) {
+            checkNestedMap(beanClass, plan, (Map<?, ?>) value, false, null, null, violations);
+            return;
+        }
+
+        if (plan.nestedKind == NestedKind.ELEMENTS && value instanceof Collection) {
+            int index = 0;
+            for (Object element : (Collection<?>) value) {
+                if (element instanceof Map) {
+                    checkNestedMap(beanClass, plan, (Map<?, ?>) element, true, index, null, violations);
+                }
+                index++;
+            }
+            return;
+        }
+
+        if (plan.nestedKind == NestedKind.MAP_VALUES && value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (entry.getValue() instanceof Map) {
+                    Map<?, ?> nestedPayload = (Map<?, ?>) entry.getValue();
+                    checkNestedMap(beanClass, plan, nestedPayload, true, null, entry.getKey(), violations);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void checkNestedMap(
+        Class<T> beanClass,
+        PropertyPlan plan,
+        Map<?, ?> nestedPayload,
+        boolean inIterable,
+        @Nullable Integer index,
+        @Nullable Object key,
+        Set<ConstraintViolation<T>> violations) {
+
+        Set<? extends ConstraintViolation<?>> nestedViolations =
+            checkMap(plan.nestedClass, (Map<String, ?>) nestedPayload);
+
+        for (ConstraintViolation<?> nestedViolation : nestedViolations) {
+
+            Path path = RelocatedViolation.nestedPath(
+                plan.name,
+                inIterable,
+                index,
+                key,
+                nestedViolation.getPropertyPath());
+
+            violations.add(new RelocatedViolation<>(beanClass, null, path, nestedViolation));
+        }
+    }
+
+    /**
+     * Convert a payload value to the given type, like a JSON binder would.
+     *
+     * @return the converted value, {@link #NESTED_BEAN} for a map standing in for a bean,
+     *     or {@link #MISMATCH} if the value can't be converted
+     */
+    @Nullable
+    private static Object convert(@Nullable Object value, Type type) {
+
+        if (value == null) {
+            return null;
+        }
+
+        Class<?> rawType = box(rawClass(type));
+
+        if (value instanceof Number && Number.class.isAssignableFrom(rawType)) {
+            return convertNumber((Number) value, rawType);
+        }
+
+        if (rawType.isEnum() && value instanceof String) {
+            return convertEnum((String) value, rawType);
+        }
+
+        if (rawType == Character.class && value instanceof String) {
+            String string = (String) value;
+            return string.length() == 1 ? string.charAt(0) : MISMATCH;
+        }
+
+        if (value instanceof Collection && (rawType.isArray() || Collection.class.isAssignableFrom(rawType))) {
+            return convertCollection((Collection<?>) value, type, rawType);
+        }
+
+        if (value instanceof Map && Map.class.isAssignableFrom(rawType)) {
+            return convertMap((Map<?, ?>) value, type);
+        }
+
+        if (rawType.isInstance(value)) {
+            return value;
+        }
+
+        return value instanceof Map ? NESTED_BEAN : MISMATCH;
+    }
+
+    /**
+     * Convert a list to a list, set, or array of the target type.
+     */
+    private static Object convertCollection(Collection<?> values, Type type, Class<?> rawType) {
+
+        Type elementType = rawType.isArray() ? rawType.getComponentType() : typeArgument(type, 0);
+        List<Object> converted = new ArrayList<>(values.size());
+
+        for (Object value : values) {
+
+            @Nullable Object convertedValue = convert(value, elementType);
+
+            if (convertedValue == MISMATCH) {
+                return MISMATCH;
+            }
+
+            // Nested beans are checked by cascading, so keep the map as the element.
+            converted.add(convertedValue == NESTED_BEAN ? value : convertedValue);
+        }
+
+        if (rawType.isArray()) {
+            return toArray(converted, rawType.getComponentType());
+        }
+
+        return Set.class.isAssignableFrom(rawType) ? new LinkedHashSet<>(converted) : converted;
+    }
+
+    private static Object toArray(List<Object> values, Class<?> componentType) {
+
+        if (componentType.isPrimitive() && values.contains(null)) {
+            return MISMATCH;
+        }
+
+        Object array = Array.newInstance(componentType, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            Array.set(array, i, values.get(i));
+        }
+
+        return array;
+    }
+
+    private static Object convertMap(Map<?, ?> values, Type type) {
+
+        Type valueType = typeArgument(type, 1);
+        Map<Object, Object> converted = new LinkedHashMap<>();
+
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+
+            @Nullable Object convertedValue = convert(entry.getValue(), valueType);
+
+            if (convertedValue == MISMATCH) {
+                return MISMATCH;
+            }
+
+            converted.put(entry.getKey(), convertedValue == NESTED_BEAN ? entry.getValue() : convertedValue);
+        }
+
+        return converted;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object convertEnum(String name, Class<?> enumType) {
+        try {
+
+            return Enum.valueOf((Class<? extends Enum>) enumType, name);
+
+        } catch (IllegalArgumentException e) {
+            return MISMATCH;
+        }
+    }
+
+    /**
+     * Convert a number to another number type, but only if no information is lost.
+     */
+    private static Object convertNumber(Number number, Class<?> numberType) {
+
+        if (numberType.isInstance(number)) {
+            return number;
+        }
+
+        if (numberType == Double.class || numberType == Float.class) {
+            return convertFloatingPoint(number, numberType);
+        }
+
+        if (numberType == BigDecimal.class) {
+            try {
+                return new BigDecimal(number.toString());
+            } catch (NumberFormatException e) {
+                // NaN or infinity.
+                return MISMATCH;
+            }
+        }
+
+        Optional<BigInteger> integer = toBigInteger(number);
+
+        if (integer.isEmpty()) {
+            return MISMATCH;
+        }
+
+        BigInteger value = integer.get();
+
+        if (numberType == BigInteger.class) {
+            return value;
+        }
+
+        if (value.bitLength() >= 64) {
+            return MISMATCH;
+        }
+
+        long longValue = value.longValue();
+
+        if (numberType == Long.class) {
+            return longValue;
+        }
+
+        if (numberType == Integer.class) {
+            return (int) longValue == longValue ? (Object) (int) longValue : MISMATCH;
+        }
+
+        if (numberType == Short.class) {
+            return (short) longValue == longValue ? (Object) (short) longValue : MISMATCH;
+        }
+
+        if (numberType == Byte.class) {
+            return (byte) longValue == longValue ? (Object) (byte) longValue : MISMATCH;
+        }
+
+        return MISMATCH;
+    }
+
+    /**
+     * Convert a number to a double or float the way a binder parsing its text would,
+     * but only if the result has exactly the number's value, so e.g. not 2^53 + 1.
+     */
+    private static Object convertFloatingPoint(Number number, Class<?> numberType) {
+
+        String text = number.toString();
+        Number converted;
+
+        try {
+
+            converted = numberType == Double.class ? (Number) Double.valueOf(text) : (Number) Float.valueOf(text);
+
+        } catch (NumberFormatException e) {
+            return MISMATCH;
+        }
+
+        if (!Double.isFinite(converted.doubleValue())) {
+            // NaN and infinity only stand for themselves, not for a finite number that overflowed.
+            boolean sourceNotFinite = (number instanceof Double || number instanceof Float)
+                && !Double.isFinite(number.doubleValue());
+            return sourceNotFinite ? converted : MISMATCH;
+        }
+
+        // A double's or float's shortest text reads back as the same value, so this is a round trip.
+        return new BigDecimal(converted.toString()).compareTo(new BigDecimal(text)) == 0 ? converted : MISMATCH;
+    }
+
+    /**
+     * The number as a whole number, or empty if it has a fraction (or isn't finite).
+     */
+    private static Optional<BigInteger> toBigInteger(Number number) {
+
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            return Optional.of(BigInteger.valueOf(number.longValue()));
+        }
+
+        if (number instanceof BigInteger) {
+            return Optional.of((BigInteger) number);
+        }
+
+        try {
+
+            return Optional.of(new BigDecimal(number.toString()).toBigIntegerExact());
+
+        } catch (ArithmeticException | NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Class<?> box(Class<?> type) {
+        return type.isPrimitive() ? BOXES.get(type) : type;
+    }
+
+    private static Class<?> rawClass(Type type) {
+
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+
+        if (type instanceof ParameterizedType) {
+            return rawClass(((ParameterizedType) type).getRawType());
+        }
+
+        // Type variables and wildcards; anything goes.
+        return Object.class;
+    }
+
+    private static Type typeArgument(Type type, int index) {
+
+        if (type instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (index < arguments.length) {
+                return arguments[index];
+            }
+        }
+
+        return Object.class;
+    }
+
+    private static PropertyPlan[] createPlans(Class<?> beanClass) {
+
+        List<PropertyPlan> plans = new ArrayList<>();
+
+        for (PropertyDescriptor property : Valid.VALIDATOR.getConstraintsForClass(beanClass).getConstrainedProperties()) {
+
+            String name = property.getPropertyName();
+            Type type = Reflections.findPropertyType(beanClass, name).orElse(property.getElementClass());
+            plans.add(new PropertyPlan(name, type, property));
+        }
+
+        return plans.toArray(new PropertyPlan[0]);
+    }
+
+    /**
+     * What a nested map in a property's value stands in for.
+     */
+    private enum NestedKind {
+        NONE,
+        // The property itself is a cascaded bean.
+        BEAN,
+        // The property is a collection or array of cascaded beans.
+        ELEMENTS,
+        // The property is a map with cascaded bean values.
+        MAP_VALUES
+    }
+
+    /**
+     * How to check one constrained property of a class.
+     */
+    private static final class PropertyPlan {
+
+        private final String name;
+        private final Type type;
+        private final String typeName;
+        private final NestedKind nestedKind;
+        @Nullable
+        private final Class<?> nestedClass;
+
+        private PropertyPlan(String name, Type type, PropertyDescriptor property) {
+
+            this.name = name;
+            this.type = type;
+            this.typeName = rawClass(type).getSimpleName();
+
+            Class<?> rawType = rawClass(type);
+            boolean elementsCascaded = property.isCascaded() || property.getConstrainedContainerElementTypes()
+                .stream()
+                .anyMatch(ContainerElementTypeDescriptor::isCascaded);
+
+            if (rawType.isArray() && elementsCascaded) {
+                nestedKind = NestedKind.ELEMENTS;
+                nestedClass = rawType.getComponentType();
+            } else if (Collection.class.isAssignableFrom(rawType) && elementsCascaded) {
+                nestedKind = NestedKind.ELEMENTS;
+                nestedClass = rawClass(typeArgument(type, 0));
+            } else if (Map.class.isAssignableFrom(rawType) && elementsCascaded) {
+                nestedKind = NestedKind.MAP_VALUES;
+                nestedClass = rawClass(typeArgument(type, 1));
+            } else if (property.isCascaded()) {
+                nestedKind = NestedKind.BEAN;
+                nestedClass = rawType;
+            } else {
+                nestedKind = NestedKind.NONE;
+                nestedClass = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.metadata.ContainerElementTypeDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+
+/**
+ * Helper class that validates huge object graphs using multiple threads.
+ * Used by {@link Valid}.
+ * <p>
+ * The root bean's own constraints are validated as usual, but large cascaded ({@code @Valid})
+ * collections, arrays, and maps held directly by the root are split into chunks,
+ * and the chunks are validated on a fork-join pool. Element violations are then merged back in
+ * with the same property paths the validator would have used, e.g. {@code items[4711].sku}.
+ * An element that appears several times in the graph is only validated once.
+ * <p>
+ * Elements are validated as roots of their own, so a container is only split if its element type
+ * can't cascade back into the root's class (e.g. through a {@code LineItem.order} back-reference);
+ * otherwise every element would revalidate the whole root. Those containers are left to the validator,
+ * which keeps track of cycles. The check goes by declared types, so it can't see cascades
+ * that only subclasses of them add.
+ */
+final class ParallelValidation {
+
+    static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    // Which of a class's properties hold cascaded containers that could be split up.
+    private static final ClassValue<List<CascadedContainer>> CASCADED_CONTAINERS = new ClassValue<>() {
+        @Override
+        protected List<CascadedContainer> computeValue(Class<?> type) {
+            return findCascadedContainers(type);
+        }
+    };
+
+    private ParallelValidation() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    static <T> Set<ConstraintViolation<T>> checkObject(T rootBean, ForkJoinPool pool, int chunkSize) {
+
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+
+        // Group elements by identity, so shared objects are validated once.
+        Map<Object, List<ElementPosition>> elementPositions = new IdentityHashMap<>();
+        Set<String> splitProperties = new HashSet<>();
+
+        for (CascadedContainer container : CASCADED_CONTAINERS.get(rootBean.getClass())) {
+            @Nullable Object containerValue = container.reader.apply(rootBean);
+            if (containerSize(containerValue) > chunkSize) {
+                splitProperties.add(container.propertyName);
+                collectElements(container.propertyName, containerValue, elementPositions);
+            }
+        }
+
+        if (splitProperties.isEmpty()) {
+            // Nothing big enough to be worth splitting.
+            return Valid.VALIDATOR.validate(rootBean);
+        }
+
+        List<Object> elements = new ArrayList<>(elementPositions.keySet());
+        List<ForkJoinTask<Map<Object, Set<ConstraintViolation<Object>>>>> chunks = new ArrayList<>();
+
+        for (int from = 0; from < elements.size(); from += chunkSize) {
+            List<Object> chunk = elements.subList(from, Math.min(from + chunkSize, elements.size()));
+            chunks.add(pool.submit(() -> validateChunk(chunk)));
+        }
+
+        // Validate the root on this thread while the chunks are running.
+        RootPropertiesTraversableResolver resolver = RootPropertiesTraversableResolver.skipCascade(
+            Valid.FACTORY.getTraversableResolver(), rootBean, splitProperties);
+
+        Set<ConstraintViolation<T>> violations = new HashSet<>(Valid.FACTORY.usingContext()
+            .traversableResolver(resolver)
+            .getValidator()
+            .validate(rootBean));
+
+        for (ForkJoinTask<Map<Object, Set<ConstraintViolation<Object>>>> chunk : chunks) {
+            chunk.join().forEach((element, elementViolations) ->
+                relocate(rootBean, elementPositions.get(element), elementViolations, violations));
+        }
+
+        return violations;
+    }
+
+    private static Map<Object, Set<ConstraintViolation<Object>>> validateChunk(List<Object> chunk) {
+
+        Map<Object, Set<ConstraintViolation<Object>>> chunkViolations = new IdentityHashMap<>();
+
+        for (Object element : chunk) {
+            Set<ConstraintViolation<Object>> elementViolations = Valid.VALIDATOR.validate(element);
+            if (!elementViolations.isEmpty()) {
+                chunkViolations.put(element, elementViolations);
+            }
+        }
+
+        return chunkViolations;
+    }
+
+    private static <T> void relocate(
+        T rootBean,
+        List<ElementPosition> positions,
+        Set<ConstraintViolation<Object>> elementViolations,
+        Set<ConstraintViolation<T>> violations) {
+
+        for (ElementPosition position : positions) {
+            for (ConstraintViolation<Object> elementViolation : elementViolations) {
+                violations.add(new RelocatedViolation<>(
+                    rootBean,
+                    RelocatedViolation.nestedPath(
+                        position.propertyName,
+                        true,
+                        position.index,
+                        position.key,
+                        elementViolation.getPropertyPath()),
+                    elementViolation));
+            }
+        }
+    }
+
+    private static int containerSize(@Nullable Object containerValue) {
+
+        if (containerValue instanceof Collection) {
+            return ((Collection<?>) containerValue).size();
+        }
+
+        if (containerValue instanceof Map) {
+            return ((Map<?, ?>) containerValue).size();
+        }
+
+        if (containerValue instanceof Object[]) {
+            return ((Object[]) containerValue).length;
+        }
+
+        return 0;
+    }
+
+    private static void collectElements(
+        String propertyName,
+        Object containerValue,
+        Map<Object, List<ElementPosition>> elementPositions) {
+
+        if (containerValue instanceof List) {
+            // Iterated rather than indexed, since get(i) is linear on a LinkedList.
+            int index = 0;
+            for (Object element : (List<?>) containerValue) {
+                addElement(elementPositions, element, new ElementPosition(propertyName, index, null));
+                index++;
+            }
+        } else if (containerValue instanceof Object[]) {
+            Object[] array = (Object[]) containerValue;
+            for (int i = 0; i < array.length; i++) {
+                addElement(elementPositions, array[i], new ElementPosition(propertyName, i, null));
+            }
+        } else if (containerValue instanceof Map) {
+            ((Map<?, ?>) containerValue).forEach((key, value) ->
+                addElement(elementPositions, value, new ElementPosition(propertyName, null, key)));
+        } else {
+            ElementPosition unindexed = new ElementPosition(propertyName, null, null);
+            ((Collection<?>) containerValue).forEach(element ->
+                addElement(elementPositions, element, unindexed));
+        }
+    }
+
+    private static void addElement(
+        Map<Object, List<ElementPosition>> elementPositions,
+        @Nullable Object element,
+        ElementPosition position) {
+
+        // Null elements aren't cascaded into.
+        if (element != null) {
+            elementPositions.computeIfAbsent(element, e -> new ArrayList<>(1)).add(position);
+        }
+    }
+
+    private static List<CascadedContainer> findCascadedContainers(Class<?> beanClass) {
+
+        List<CascadedContainer> containers = new ArrayList<>();
+
+        for (PropertyDescriptor property : Valid.VALIDATOR.getConstraintsForClass(beanClass).getConstrainedProperties()) {
+            if (isSplittable(property) && !canCascadeInto(cascadedTypes(beanClass, property), beanClass)) {
+                Optional<Function<Object, Object>> reader =
+                    Reflections.findPropertyReader(beanClass, property.getPropertyName());
+                reader.ifPresent(r -> containers.add(new CascadedContainer(property.getPropertyName(), r)));
+            }
+        }
+
+        return containers;
+    }
+
+    /**
+     * We only split simple cascades of the container's elements (or map values),
+     * with no group conversions and no nested containers. Anything fancier is left to the validator.
+     */
+    private static boolean isSplittable(PropertyDescriptor property) {
+
+        if (!property.getGroupConversions().isEmpty()) {
+            return false;
+        }
+
+        boolean cascaded = property.isCascaded();
+
+        for (ContainerElementTypeDescriptor elementType : property.getConstrainedContainerElementTypes()) {
+
+            if (!elementType.isCascaded()) {
+                continue;
+            }
+
+            boolean isMap = Map.class.isAssignableFrom(elementType.getContainerClass());
+            boolean isSimpleElement = elementType.getTypeArgumentIndex() == (isMap ? 1 : 0)
+                && (isMap || Iterable.class.isAssignableFrom(elementType.getContainerClass()))
+                && elementType.getGroupConversions().isEmpty()
+                && elementType.getConstrainedContainerElementTypes().isEmpty();
+
+            if (!isSimpleElement) {
+                return false;
+            }
+
+            cascaded = true;
+        }
+
+        return cascaded;
+    }
+
+    /**
+     * True if validating objects of the given types could cascade into an instance of the target class.
+     */
+    private static boolean canCascadeInto(Collection<Class<?>> types, Class<?> targetClass) {
+
+        Set<Class<?>> visited = new HashSet<>();
+        Deque<Class<?>> toVisit = new ArrayDeque<>(types);
+
+        while (!toVisit.isEmpty()) {
+
+            Class<?> type = toVisit.pop();
+
+            if (type.isAssignableFrom(targetClass)) {
+                return true;
+            }
+
+            if (visited.add(type) && !type.isPrimitive()) {
+                for (PropertyDescriptor property
+                    : Valid.VALIDATOR.getConstraintsForClass(type).getConstrainedProperties()) {
+                    toVisit.addAll(cascadedTypes(type, property));
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The declared types the validator can cascade into from the property:
+     * the property's own type if it's {@code @Valid}, and its {@code @Valid} container elements.
+     */
+    private static List<Class<?>> cascadedTypes(Class<?> beanClass, PropertyDescriptor property) {
+
+        List<Class<?>> types = new ArrayList<>();
+
+        if (property.isCascaded()) {
+            // Also covers a legacy @Valid List<Item>, which cascades into the elements.
+            Type propertyType = Reflections.findPropertyType(beanClass, property.getPropertyName()).orElse(Object.class);
+            addRawTypes(propertyType, types);
+        }
+
+        addCascadedElementTypes(property.getConstrainedContainerElementTypes(), types);
+        return types;
+    }
+
+    private static void addCascadedElementTypes(Set<ContainerElementTypeDescriptor> elementTypes, List<Class<?>> types) {
+        for (ContainerElementTypeDescriptor elementType : elementTypes) {
+            if (elementType.isCascaded()) {
+                types.add(elementType.getElementClass());
+            }
+            addCascadedElementTypes(elementType.getConstrainedContainerElementTypes(), types);
+        }
+    }
+
+    /**
+     * The classes making up a generic type, e.g. {@code Map}, {@code String} and {@code Item}.
+     * Type variables and wildcards could be anything, so they count as {@code Object}.
+     */
+    private static void addRawTypes(Type type, List<Class<?>> types) {
+
+        if (type instanceof Class && ((Class<?>) type).isArray()) {
+            addRawTypes(((Class<?>) type).getComponentType(), types);
+        } else if (type instanceof Class) {
+            types.add((Class<?>) type);
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            addRawTypes(parameterizedType.getRawType(), types);
+            for (Type typeArgument : parameterizedType.getActualTypeArguments()) {
+                addRawTypes(typeArgument, types);
+            }
+        } else if (type instanceof GenericArrayType) {
+            addRawTypes(((GenericArrayType) type).getGenericComponentType(), types);
+        } else {
+            types.add(Object.class);
+        }
+    }
+
+    /**
+     * A property holding a cascaded container, and how to read it.
+     */
+    private static final class CascadedContainer {
+
+        private final String propertyName;
+        private final Function<Object, Object> reader;
+
+        private CascadedContainer(String propertyName, Function<Object, Object> reader) {
+            this.propertyName = propertyName;
+            this.reader = reader;
+        }
+    }
+
+    /**
+     * Where an element sits in the root bean: the container property, plus its index or map key.
+     */
+    private static final class ElementPosition {
+
+        private final String propertyName;
+        @Nullable
+        private final Integer index;
+        @Nullable
+        private final Object key;
+
+        private ElementPosition(String propertyName, @Nullable Integer index, @Nullable Object key) {
+            this.propertyName = propertyName;
+            this.index = index;
+            this.key = key;
+        }
+    }
+}
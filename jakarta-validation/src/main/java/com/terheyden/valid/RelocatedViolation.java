@@ -0,0 +1,218 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+
+import org.hibernate.validator.internal.engine.path.PathImpl;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.metadata.ConstraintDescriptor;
+
+/**
+ * A violation found while validating a nested object on its own,
+ * moved so that it looks like it was found while validating the root object.
+ * Everything but the root bean and the property path comes from the original violation.
+ */
+final class RelocatedViolation<T> implements ConstraintViolation<T> {
+
+    private final Class<T> rootBeanClass;
+    @Nullable
+    private final T rootBean;
+    private final Path propertyPath;
+    private final ConstraintViolation<?> violation;
+
+    @SuppressWarnings("unchecked")
+    RelocatedViolation(T rootBean, Path propertyPath, ConstraintViolation<?> violation) {
+        this((Class<T>) rootBean.getClass(), rootBean, propertyPath, violation);
+    }
+
+    /**
+     * For violations without a root bean instance, like the ones from {@code Validator.validateValue()}.
+     */
+    RelocatedViolation(
+        Class<T> rootBeanClass,
+        @Nullable T rootBean,
+        Path propertyPath,
+        ConstraintViolation<?> violation) {
+
+        this.rootBeanClass = rootBeanClass;
+        this.rootBean = rootBean;
+        this.propertyPath = propertyPath;
+        this.violation = violation;
+    }
+
+    /**
+     * Build the path of a violation found in an object nested directly in the root bean,
+     * e.g. {@code items[4711].sku}.
+     * See {@link #nestedPath(Path, String, boolean, Integer, Object, Path)}.
+     */
+    static Path nestedPath(
+        String propertyName,
+        boolean inIterable,
+        @Nullable Integer index,
+        @Nullable Object key,
+        Path childPath) {
+
+        return buildNestedPath(null, propertyName, inIterable, index, key, childPath);
+    }
+
+    /**
+     * Build the path of a violation found in a nested object, e.g. {@code order.items[4711].sku}.
+     *
+     * @param parentPath path to the bean that holds the nested object
+     * @param propertyName the property holding the nested object, e.g. {@code items}
+     * @param inIterable true if the nested object is an element of a collection, array, or map
+     * @param index the element's list or array index, if it has one
+     * @param key the element's map key, if it has one
+     * @param childPath the violation's path relative to the nested object, e.g. {@code sku}
+     */
+    static Path nestedPath(
+        Path parentPath,
+        String propertyName,
+        boolean inIterable,
+        @Nullable Integer index,
+        @Nullable Object key,
+        Path childPath) {
+
+        return buildNestedPath(parentPath, propertyName, inIterable, index, key, childPath);
+    }
+
+    private static Path buildNestedPath(
+        @Nullable Path parentPath,
+        String propertyName,
+        boolean inIterable,
+        @Nullable Integer index,
+        @Nullable Object key,
+        Path childPath) {
+
+        PathImpl path = PathImpl.createRootPath();
+
+        if (parentPath != null) {
+            parentPath.forEach(node -> appendNode(path, node));
+        }
+
+        path.addPropertyNode(propertyName);
+
+        Iterator<Path.Node> childNodes = childPath.iterator();
+        Path.Node firstChild = childNodes.hasNext() ? childNodes.next() : null;
+
+        if (inIterable) {
+            markLeafIterable(path, index, key);
+        }
+
+        if (firstChild == null) {
+            if (inIterable) {
+                // Constraint on the element class itself, e.g. items[4711].
+                path.addBeanNode();
+            }
+            return path;
+        }
+
+        addNode(path, firstChild);
+        childNodes.forEachRemaining(node -> appendNode(path, node));
+        return path;
+    }
+
+    /**
+     * Append a copy of the node. In HV's paths the container node is marked iterable,
+     * and the node that follows it inherits the index or key.
+     */
+    private static void appendNode(PathImpl path, Path.Node node) {
+
+        if (node.isInIterable()) {
+            markLeafIterable(path, node.getIndex(), node.getKey());
+        }
+
+        addNode(path, node);
+    }
+
+    private static void addNode(PathImpl path, Path.Node node) {
+        switch (node.getKind()) {
+            case BEAN:
+                path.addBeanNode();
+                break;
+            case CONTAINER_ELEMENT:
+                path.addContainerElementNode(node.getName());
+                break;
+            default:
+                path.addPropertyNode(node.getName());
+                break;
+        }
+    }
+
+    private static void markLeafIterable(PathImpl path, @Nullable Integer index, @Nullable Object key) {
+
+        if (index != null) {
+            path.makeLeafNodeIterableAndSetIndex(index);
+        } else if (key != null) {
+            path.makeLeafNodeIterableAndSetMapKey(key);
+        } else {
+            path.makeLeafNodeIterable();
+        }
+    }
+
+    @Override
+    public String getMessage() {
+        return violation.getMessage();
+    }
+
+    @Override
+    public String getMessageTemplate() {
+        return violation.getMessageTemplate();
+    }
+
+    @Override
+    @Nullable
+    public T getRootBean() {
+        return rootBean;
+    }
+
+    @Override
+    public Class<T> getRootBeanClass() {
+        return rootBeanClass;
+    }
+
+    @Override
+    public Object getLeafBean() {
+        return violation.getLeafBean();
+    }
+
+    @Override
+    @Nullable
+    public Object[] getExecutableParameters() {
+        return violation.getExecutableParameters();
+    }
+
+    @Override
+    @Nullable
+    public Object getExecutableReturnValue() {
+        return violation.getExecutableReturnValue();
+    }
+
+    @Override
+    public Path getPropertyPath() {
+        return propertyPath;
+    }
+
+    @Override
+    @Nullable
+    public Object getInvalidValue() {
+        return violation.getInvalidValue();
+    }
+
+    @Override
+    public ConstraintDescriptor<?> getConstraintDescriptor() {
+        return violation.getConstraintDescriptor();
+    }
+
+    @Override
+    public <U> U unwrap(Class<U> type) {
+        return type.isInstance(this) ? type.cast(this) : violation.unwrap(type);
+    }
+
+    @Override
+    public String toString() {
+        return ValidUtils.violationToString(this);
+    }
+}
@@ -0,0 +1,67 @@
+package com.terheyden.valid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Defines the rules for a {@link CompiledRules}. Create with {@link Valid#rules(Class)}.
+ * <p>
+ * Not thread-safe; build the rules once and share the resulting {@link CompiledRules}.
+ *
+ * @param <T> the type the rules apply to
+ */
+public final class RuleBuilder<T> {
+
+    private final List<FieldRules<T, ?>> fields = new ArrayList<>();
+    private final List<CompiledRules.Rule<T>> objectRules = new ArrayList<>();
+
+    RuleBuilder() {
+        // Created by Valid.rules().
+    }
+
+    /**
+     * Start defining the rules for a field.
+     * Follow with rules like {@link FieldRules#notBlank()}.
+     *
+     * @param name the field name, used in violation property paths
+     * @param getter reads the field from the object, e.g. {@code User::getName}
+     */
+    public <V> FieldRules<T, V> field(String name, Function<? super T, ? extends V> getter) {
+
+        if (name == null || getter == null) {
+            throw new IllegalArgumentException("Field name and getter can't be null.");
+        }
+
+        FieldRules<T, V> fieldRules = new FieldRules<>(this, name, getter);
+        fields.add(fieldRules);
+        return fieldRules;
+    }
+
+    /**
+     * Add a rule for the whole object, e.g. a check that compares two fields.
+     * Like a class-level constraint, its violations have an empty property path.
+     *
+     * @param predicate true if the object is valid
+     * @param message the violation message if it isn't
+     */
+    public RuleBuilder<T> rule(Predicate<? super T> predicate, String message) {
+        objectRules.add(new CompiledRules.Rule<>(predicate, ValidUtils.EMPTY_STR, message, message));
+        return this;
+    }
+
+    /**
+     * Compile the rules.
+     */
+    public CompiledRules<T> build() {
+
+        List<CompiledRules.FieldCheck<T>> fieldChecks = new ArrayList<>(fields.size());
+
+        for (FieldRules<T, ?> field : fields) {
+            fieldChecks.add(field.toFieldCheck());
+        }
+
+        return new CompiledRules<>(fieldChecks, new ArrayList<>(objectRules));
+    }
+}
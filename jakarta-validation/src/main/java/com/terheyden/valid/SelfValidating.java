@@ -8,9 +8,53 @@ public interface SelfValidating {
     /**
      * Validate this object's state. Throws if the state is invalid.
      * Call this during construction after all fields are set, or after any setting change.
+     * Skipped while a {@link ValidatingBuilder} is creating this object, since the builder validates it.
      * Depends on: {@link Valid#validateObject(Object)}
      */
     default void validateSelf() {
-        Valid.validateObject(this);
+        if (!ValidatingBuilder.isBuilding(this)) {
+            Valid.validateObject(this);
+        }
+    }
+
+    /**
+     * Validate this object's state using only the given validation groups. Throws if the state is invalid.
+     * Useful when a lifecycle stage only needs some of the constraints, e.g. a cheap {@code Basic} group
+     * on ingest and a full check before persisting.
+     * Depends on: {@link Valid#validateObject(Object, Class[])}
+     *
+     * @param groups the validation groups to use; none means the default group
+     */
+    default void validateSelf(Class<?>... groups) {
+        Valid.validateObject(this, groups);
+    }
+
+    /**
+     * Validate this object's state, but only if {@code constructingClass} is this object's actual class.
+     * Throws if the state is invalid.
+     * <p>
+     * Use this instead of {@link #validateSelf()} in the constructors of a class hierarchy:
+     * <pre>{@code
+     * Animal(String name) {
+     *     this.name = name;
+     *     validateSelfOnce(Animal.class);
+     * }
+     *
+     * Cat(String name, int lives) {
+     *     super(name);
+     *     this.lives = lives;
+     *     validateSelfOnce(Cat.class);
+     * }
+     * }</pre>
+     * The object is then validated exactly once, by the last constructor to run, when it's fully initialized —
+     * instead of once per level, the first times while subclass fields are still unset.
+     * Depends on: {@link Valid#validateObject(Object)}
+     *
+     * @param constructingClass the class whose constructor is calling this
+     */
+    default void validateSelfOnce(Class<?> constructingClass) {
+        if (getClass() == constructingClass) {
+            validateSelf();
+        }
     }
 }
@@ -1,12 +1,17 @@
 package com.terheyden.valid;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
-import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
 import jakarta.validation.executable.ExecutableValidator;
@@ -18,10 +23,26 @@ import jakarta.validation.executable.ExecutableValidator;
 public final class Valid {
 
     /**
-     * The default validator factory.
+     * How the default validator decides whether properties are reachable and cascadable,
+     * set by the {@value TraversalMode#PROPERTY} system property.
+     */
+    public static final TraversalMode TRAVERSAL_MODE = ValidatorFactories.TRAVERSAL_MODE;
+
+    /**
+     * True if the default validator validates {@code @Pattern} with {@link LinearPatternValidator},
+     * set by the {@value LinearPatternValidator#PROPERTY} system property.
+     */
+    public static final boolean LINEAR_PATTERN = ValidatorFactories.LINEAR_PATTERN;
+
+    /**
+     * The default validator factory, configured by {@link #TRAVERSAL_MODE} and {@link #LINEAR_PATTERN}.
      * Immutable and thread-safe.
+     * <p>
+     * It keeps the metadata and constraint validators of every class it validates, for as long as it lives.
+     * In an app server, bundle this library with each app rather than sharing it, so a redeployed app's
+     * classes can be unloaded; or validate with factories the app closes, like {@link ValidatorRegistry}'s.
      */
-    public static final ValidatorFactory FACTORY = Validation.buildDefaultValidatorFactory();
+    public static final ValidatorFactory FACTORY = ValidatorFactories.createDefault();
 
     /**
      * The default validator.
@@ -36,7 +57,7 @@ public final class Valid {
     public static final ExecutableValidator EXECUTABLE_VALIDATOR = VALIDATOR.forExecutables();
 
     // Thrown when we try to validate a null object.
-    private static final NullOriginViolation NULL_ORIGIN_VIOLATION = new NullOriginViolation();
+    static final NullOriginViolation NULL_ORIGIN_VIOLATION = new NullOriginViolation();
 
     private Valid() {
         // Private since this class shouldn't be instantiated.
@@ -54,13 +75,198 @@ public final class Valid {
 
         return objectToValidate == null
             ? Collections.singleton(NULL_ORIGIN_VIOLATION)
-            : VALIDATOR.validate(objectToValidate);
+            : validator().validate(objectToValidate);
+    }
+
+    /**
+     * Perform Jakarta Bean Validation on the given object, using only the given validation groups.
+     * The groups are resolved once per (class, groups) combination and cached;
+     * if the class has nothing to validate in those groups, validation is skipped entirely.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @param groups the validation groups to use; none means the default group
+     * @return a set of constraint violations, or an empty set if no violations were found
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<ConstraintViolation<T>> checkObject(@Nullable T objectToValidate, Class<?>... groups) {
+
+        if (objectToValidate == null) {
+            return Collections.singleton(NULL_ORIGIN_VIOLATION);
+        }
+
+        ValidationGroups.GroupPlan plan = ValidationGroups.plan(objectToValidate.getClass(), groups);
+
+        return plan.hasConstraints()
+            ? validator().validate(objectToValidate, plan.getGroups())
+            : Collections.emptySet();
+    }
+
+    /**
+     * Perform Jakarta Bean Validation on the given object, but give up once the budget is spent.
+     * If the budget runs out, the violations found so far are returned along with
+     * a special "validation budget exceeded" violation.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @param budget the max time and / or traversed nodes this validation may use
+     * @return a set of constraint violations, or an empty set if no violations were found
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<ConstraintViolation<T>> checkObject(@Nullable T objectToValidate, ValidationBudget budget) {
+
+        if (objectToValidate == null) {
+            return Collections.singleton(NULL_ORIGIN_VIOLATION);
+        }
+
+        BudgetTraversableResolver resolver = new BudgetTraversableResolver(FACTORY.getTraversableResolver(), budget);
+
+        Set<ConstraintViolation<T>> violations = FACTORY.usingContext()
+            .traversableResolver(resolver)
+            .getValidator()
+            .validate(objectToValidate);
+
+        if (!resolver.isExceeded()) {
+            return violations;
+        }
+
+        Set<ConstraintViolation<T>> budgetViolations = new HashSet<>(violations);
+        budgetViolations.add(new BudgetExceededViolation<>(objectToValidate, budget));
+        return budgetViolations;
+    }
+
+    /**
+     * Perform Jakarta Bean Validation on the given object using multiple threads.
+     * Large cascaded collections, arrays, and maps held by the object are split into chunks
+     * and validated in parallel on the common fork-join pool.
+     * Meant for single huge objects — for small objects, {@link #checkObject(Object)} is faster.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @return a set of constraint violations, or an empty set if no violations were found
+     */
+    public static <T> Set<ConstraintViolation<T>> checkObjectParallel(@Nullable T objectToValidate) {
+        return checkObjectParallel(objectToValidate, ForkJoinPool.commonPool(), ParallelValidation.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Perform Jakarta Bean Validation on the given object using multiple threads.
+     * Cascaded collections, arrays, and maps held by the object that are larger than {@code chunkSize}
+     * are split into chunks of {@code chunkSize} elements and validated in parallel on the given pool.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @param pool the pool to validate chunks on
+     * @param chunkSize how many elements each parallel task validates
+     * @return a set of constraint violations, or an empty set if no violations were found
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<ConstraintViolation<T>> checkObjectParallel(
+        @Nullable T objectToValidate,
+        ForkJoinPool pool,
+        int chunkSize) {
+
+        return objectToValidate == null
+            ? Collections.singleton(NULL_ORIGIN_VIOLATION)
+            : ParallelValidation.checkObject(objectToValidate, pool, chunkSize);
+    }
+
+    /**
+     * Perform Jakarta Bean Validation on the given object one property at a time,
+     * cheapest property first, stopping at the first property with violations.
+     * How expensive each property is gets measured as objects of that class are validated.
+     * <p>
+     * Only the first failing property's violations are returned, so this is meant for
+     * paths where most objects are rejected and the cheap rejections should stay cheap.
+     * Class-level constraints and cascades are only checked if every property passes.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @return the violations of the cheapest failing property, or an empty set if there are none
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<ConstraintViolation<T>> checkObjectFailFast(@Nullable T objectToValidate) {
+
+        return objectToValidate == null
+            ? Collections.singleton(NULL_ORIGIN_VIOLATION)
+            : CostOrderedValidation.checkObject(objectToValidate);
+    }
+
+    /**
+     * Perform Jakarta Bean Validation on the given object using a validator compiled for its class.
+     * The first call for a class compiles its built-in constraints ({@code @NotNull}, {@code @Size}, {@code @Min},
+     * etc.) into direct field reads and inlined checks; custom constraints are still run by Hibernate.
+     * <p>
+     * Valid objects are accepted without Hibernate's metadata-driven traversal. If anything fails,
+     * the object is re-validated by Hibernate, so the violations are exactly what
+     * {@link #checkObject(Object)} returns. Classes with class-level constraints or cascades
+     * are always validated by Hibernate.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @return a set of constraint violations, or an empty set if no violations were found
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<ConstraintViolation<T>> checkObjectCompiled(@Nullable T objectToValidate) {
+
+        return objectToValidate == null
+            ? Collections.singleton(NULL_ORIGIN_VIOLATION)
+            : CompiledValidation.checkObject(objectToValidate);
+    }
+
+    /**
+     * Perform Jakarta Bean Validation on the given object, running its slow {@link AsyncConstraintValidator}
+     * constraints concurrently on a bounded pool, instead of one after another.
+     * The object's other constraints are validated on the calling thread in the meantime.
+     * The violations are the same as {@link #checkObject(Object)}'s.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @return the constraint violations, or an empty set if no violations were found, once all checks are done
+     */
+    public static <T> CompletableFuture<Set<ConstraintViolation<T>>> checkObjectAsync(@Nullable T objectToValidate) {
+        return checkObjectAsync(objectToValidate, AsyncValidation.defaultPool());
+    }
+
+    /**
+     * Perform Jakarta Bean Validation on the given object, running its slow {@link AsyncConstraintValidator}
+     * constraints concurrently on the given executor. See {@link #checkObjectAsync(Object)}.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @param executor runs the async constraints; they may block, so don't use a small pool
+     * @return the constraint violations, or an empty set if no violations were found, once all checks are done
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CompletableFuture<Set<ConstraintViolation<T>>> checkObjectAsync(
+        @Nullable T objectToValidate,
+        Executor executor) {
+
+        return objectToValidate == null
+            ? CompletableFuture.completedFuture(Collections.singleton(NULL_ORIGIN_VIOLATION))
+            : AsyncValidation.checkObject(objectToValidate, executor);
+    }
+
+    /**
+     * Build the validation metadata of every class in the build-time index up front, instead of on each class's
+     * first validation. Call it early in short-lived JVMs, ideally from a background thread during startup.
+     * The index is written by {@link NativeImageConfigProcessor}, which is opt-in: enable it with
+     * {@code -processor} or your build's {@code annotationProcessors} setting, as its docs show.
+     * Without the index, this preloads nothing. See {@link PreloadTraining} for dumping an AppCDS archive as well.
+     *
+     * @return the number of classes preloaded
+     */
+    public static int preload() {
+        ClassLoader classLoader = ValidationIndex.defaultClassLoader();
+        return ValidationIndex.preload(ValidationIndex.loadClasses(classLoader));
+    }
+
+    /**
+     * Build the validation metadata of the given classes up front, instead of on each class's first validation.
+     * See {@link #preload()}.
+     *
+     * @return the number of classes preloaded
+     */
+    public static int preload(Class<?>... classes) {
+        return ValidationIndex.preload(Arrays.asList(classes));
     }
 
     public static <T> Set<ConstraintViolation<T>> checkMethodArgs(T thisObj, Object... methodArgs) {
         try {
 
-            return ArgValidation.checkMethodArgs(thisObj, methodArgs);
+            return ArgValidation.checkMethodArgs(thisObj, methodArgs, ValidationGroups.DEFAULT_GROUPS);
 
         } catch (Exception e) {
             return ValidUtils.throwUnchecked(e);
@@ -70,13 +276,141 @@ public final class Valid {
     public static Set<ConstraintViolation<Object>> checkConstructorArgs(Object... constructorArgs) {
         try {
 
-            return ArgValidation.checkConstructorArgs(constructorArgs);
+            return ArgValidation.checkConstructorArgs(constructorArgs, ValidationGroups.DEFAULT_GROUPS);
+
+        } catch (Exception e) {
+            return ValidUtils.throwUnchecked(e);
+        }
+    }
+
+    /**
+     * Validate the args of the calling method, using only the given validation groups.
+     *
+     * @param groups the validation groups to use; empty means the default group
+     * @param thisObj the object whose method is calling this
+     * @param methodArgs the calling method's args, in order
+     * @return a set of constraint violations, or an empty set if no violations were found
+     */
+    public static <T> Set<ConstraintViolation<T>> checkMethodArgs(
+        Class<?>[] groups,
+        T thisObj,
+        Object... methodArgs) {
+
+        try {
+
+            return ArgValidation.checkMethodArgs(thisObj, methodArgs, groups);
+
+        } catch (Exception e) {
+            return ValidUtils.throwUnchecked(e);
+        }
+    }
+
+    /**
+     * Validate the args of the calling constructor, using only the given validation groups.
+     *
+     * @param groups the validation groups to use; empty means the default group
+     * @param constructorArgs the calling constructor's args, in order
+     * @return a set of constraint violations, or an empty set if no violations were found
+     */
+    public static Set<ConstraintViolation<Object>> checkConstructorArgs(Class<?>[] groups, Object... constructorArgs) {
+        try {
+
+            return ArgValidation.checkConstructorArgs(constructorArgs, groups);
 
         } catch (Exception e) {
             return ValidUtils.throwUnchecked(e);
         }
     }
 
+    /**
+     * Validate the args of a constructor of the given class.
+     * Unlike {@link #checkConstructorArgs(Object...)}, this doesn't inspect the call stack,
+     * so it's cheaper and can be called from anywhere — e.g. a record's compact constructor:
+     * <pre>{@code
+     * record Point(@Min(0) int x, @Min(0) int y) {
+     *     Point {
+     *         Valid.validateConstructorArgsFor(Point.class, x, y);
+     *     }
+     * }
+     * }</pre>
+     * For a record, the canonical constructor is validated, so constraints declared on the record components apply.
+     * For a class with only one constructor, that constructor is validated.
+     * Either way, it's found once and cached.
+     *
+     * @param constructingClass the class being constructed
+     * @param constructorArgs the constructor's args, in order
+     * @return a set of constraint violations, or an empty set if no violations were found
+     */
+    public static <T> Set<ConstraintViolation<T>> checkConstructorArgsFor(
+        Class<T> constructingClass,
+        Object... constructorArgs) {
+
+        return ArgValidation.checkConstructorArgs(constructingClass, constructorArgs, ValidationGroups.DEFAULT_GROUPS);
+    }
+
+    /**
+     * Validate a parsed key / value payload (e.g. JSON read into maps and lists) against a bean class's
+     * constraints, without binding it to the bean first. Nested maps and lists are validated against
+     * {@code @Valid} properties' classes. Useful for rejecting bad requests before paying to deserialize them.
+     * See {@link MapValidation} for how values are matched to property types.
+     * <p>
+     * Constraints that need the bound object aren't checked: class-level constraints, and constraints on a
+     * bean-typed property other than {@code @NotNull}. A nested map for a bean-typed property that isn't
+     * {@code @Valid} isn't validated at all. Validate the bound object too if you rely on those.
+     *
+     * @param beanClass the class whose constraints the payload must satisfy
+     * @param payload the property values, by property name; null is considered invalid
+     * @return a set of constraint violations, or an empty set if no violations were found
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<ConstraintViolation<T>> checkMap(Class<T> beanClass, @Nullable Map<String, ?> payload) {
+
+        return payload == null
+            ? Collections.singleton(NULL_ORIGIN_VIOLATION)
+            : MapValidation.checkMap(beanClass, payload);
+    }
+
+    /**
+     * Validate a parsed key / value payload against a bean class's constraints, throwing an exception
+     * if any violations are found. See {@link #checkMap(Class, Map)}.
+     *
+     * @param beanClass the class whose constraints the payload must satisfy
+     * @param payload the property values, by property name; null is considered invalid
+     * @throws NullPointerException if the payload is null
+     * @throws ConstraintViolationException if any violations are found
+     * @return {@code payload}, for chaining
+     */
+    public static <M extends Map<String, ?>> M validateMap(Class<?> beanClass, @Nullable M payload) {
+
+        if (payload == null) {
+            throw new NullPointerException("Object to validate is null.");
+        }
+
+        Set<? extends ConstraintViolation<?>> violations = MapValidation.checkMap(beanClass, payload);
+
+        if (violations.isEmpty()) {
+            return payload;
+        }
+
+        throw new ConstraintViolationException(violations);
+    }
+
+    /**
+     * Define validation rules for a class in code, instead of with annotations.
+     * The rules compile to plain getter and predicate calls; see {@link CompiledRules}.
+     *
+     * @param type the class the rules apply to
+     * @return a builder for the rules
+     */
+    public static <T> RuleBuilder<T> rules(Class<T> type) {
+
+        if (type == null) {
+            throw new IllegalArgumentException("Type can't be null.");
+        }
+
+        return new RuleBuilder<>();
+    }
+
     /**
      * Perform Jakarta Bean Validation on the given object, throwing an exception if any violations are found.
      * To get a list of violations (without throwing) instead, use {@link #checkObject(Object)} instead.
@@ -92,7 +426,7 @@ public final class Valid {
             throw new NullPointerException("Object to validate is null.");
         }
 
-        Set<ConstraintViolation<Object>> violations = VALIDATOR.validate(objectToValidate);
+        Set<ConstraintViolation<Object>> violations = validator().validate(objectToValidate);
 
         if (violations.isEmpty()) {
             // Looks good, return.
@@ -102,12 +436,138 @@ public final class Valid {
         throw new ConstraintViolationException(violations);
     }
 
+    /**
+     * Perform Jakarta Bean Validation on the given object using only the given validation groups,
+     * throwing an exception if any violations are found.
+     * See {@link #checkObject(Object, Class[])}.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @param groups the validation groups to use; none means the default group
+     * @throws NullPointerException if the object to validate is null
+     * @throws ConstraintViolationException if any violations are found
+     * @return {@code objectToValidate}, for chaining
+     */
+    public static <T> T validateObject(@Nullable T objectToValidate, Class<?>... groups) {
+
+        if (objectToValidate == null) {
+            throw new NullPointerException("Object to validate is null.");
+        }
+
+        Set<ConstraintViolation<T>> violations = checkObject(objectToValidate, groups);
+
+        if (violations.isEmpty()) {
+            return objectToValidate;
+        }
+
+        throw new ConstraintViolationException(violations);
+    }
+
+    /**
+     * Perform Jakarta Bean Validation on the given object, but give up once the budget is spent.
+     * Running out of budget counts as a violation.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @param budget the max time and / or traversed nodes this validation may use
+     * @throws NullPointerException if the object to validate is null
+     * @throws ConstraintViolationException if any violations are found, or the budget is exceeded
+     * @return {@code objectToValidate}, for chaining
+     */
+    public static <T> T validateObject(@Nullable T objectToValidate, ValidationBudget budget) {
+
+        if (objectToValidate == null) {
+            throw new NullPointerException("Object to validate is null.");
+        }
+
+        Set<ConstraintViolation<T>> violations = checkObject(objectToValidate, budget);
+
+        if (violations.isEmpty()) {
+            return objectToValidate;
+        }
+
+        throw new ConstraintViolationException(violations);
+    }
+
+    /**
+     * Perform Jakarta Bean Validation on the given object using multiple threads,
+     * throwing an exception if any violations are found.
+     * See {@link #checkObjectParallel(Object)}.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @throws NullPointerException if the object to validate is null
+     * @throws ConstraintViolationException if any violations are found
+     * @return {@code objectToValidate}, for chaining
+     */
+    public static <T> T validateObjectParallel(@Nullable T objectToValidate) {
+
+        if (objectToValidate == null) {
+            throw new NullPointerException("Object to validate is null.");
+        }
+
+        Set<ConstraintViolation<T>> violations = checkObjectParallel(objectToValidate);
+
+        if (violations.isEmpty()) {
+            return objectToValidate;
+        }
+
+        throw new ConstraintViolationException(violations);
+    }
+
+    /**
+     * Perform Jakarta Bean Validation on the given object one property at a time,
+     * cheapest property first, throwing an exception at the first property with violations.
+     * See {@link #checkObjectFailFast(Object)}.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @throws NullPointerException if the object to validate is null
+     * @throws ConstraintViolationException if any violations are found
+     * @return {@code objectToValidate}, for chaining
+     */
+    public static <T> T validateObjectFailFast(@Nullable T objectToValidate) {
+
+        if (objectToValidate == null) {
+            throw new NullPointerException("Object to validate is null.");
+        }
+
+        Set<ConstraintViolation<T>> violations = CostOrderedValidation.checkObject(objectToValidate);
+
+        if (violations.isEmpty()) {
+            return objectToValidate;
+        }
+
+        throw new ConstraintViolationException(violations);
+    }
+
+    /**
+     * Perform Jakarta Bean Validation on the given object using a validator compiled for its class,
+     * throwing an exception if any violations are found.
+     * See {@link #checkObjectCompiled(Object)}.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @throws NullPointerException if the object to validate is null
+     * @throws ConstraintViolationException if any violations are found
+     * @return {@code objectToValidate}, for chaining
+     */
+    public static <T> T validateObjectCompiled(@Nullable T objectToValidate) {
+
+        if (objectToValidate == null) {
+            throw new NullPointerException("Object to validate is null.");
+        }
+
+        Set<ConstraintViolation<T>> violations = CompiledValidation.checkObject(objectToValidate);
+
+        if (violations.isEmpty()) {
+            return objectToValidate;
+        }
+
+        throw new ConstraintViolationException(violations);
+    }
+
     public static void validateMethodArgs(Object thisObj, Object... methodArgs) {
 
         Set<ConstraintViolation<Object>> violations = null;
 
         try {
-            violations = ArgValidation.checkMethodArgs(thisObj, methodArgs);
+            violations = ArgValidation.checkMethodArgs(thisObj, methodArgs, ValidationGroups.DEFAULT_GROUPS);
         } catch (Exception e) {
             ValidUtils.throwUnchecked(e);
         }
@@ -122,7 +582,31 @@ public final class Valid {
         Set<ConstraintViolation<Object>> violations = null;
 
         try {
-            violations = ArgValidation.checkConstructorArgs(methodArgs);
+            violations = ArgValidation.checkConstructorArgs(methodArgs, ValidationGroups.DEFAULT_GROUPS);
+        } catch (Exception e) {
+            ValidUtils.throwUnchecked(e);
+        }
+
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    /**
+     * Validate the args of the calling method using only the given validation groups,
+     * throwing an exception if any violations are found.
+     *
+     * @param groups the validation groups to use; empty means the default group
+     * @param thisObj the object whose method is calling this
+     * @param methodArgs the calling method's args, in order
+     * @throws ConstraintViolationException if any violations are found
+     */
+    public static void validateMethodArgs(Class<?>[] groups, Object thisObj, Object... methodArgs) {
+
+        Set<ConstraintViolation<Object>> violations = null;
+
+        try {
+            violations = ArgValidation.checkMethodArgs(thisObj, methodArgs, groups);
         } catch (Exception e) {
             ValidUtils.throwUnchecked(e);
         }
@@ -131,6 +615,61 @@ public final class Valid {
             throw new ConstraintViolationException(violations);
         }
     }
+
+    /**
+     * Validate the args of the calling constructor using only the given validation groups,
+     * throwing an exception if any violations are found.
+     *
+     * @param groups the validation groups to use; empty means the default group
+     * @param constructorArgs the calling constructor's args, in order
+     * @throws ConstraintViolationException if any violations are found
+     */
+    public static void validateConstructorArgs(Class<?>[] groups, Object... constructorArgs) {
+
+        Set<ConstraintViolation<Object>> violations = null;
+
+        try {
+            violations = ArgValidation.checkConstructorArgs(constructorArgs, groups);
+        } catch (Exception e) {
+            ValidUtils.throwUnchecked(e);
+        }
+
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    /**
+     * Validate the args of a constructor of the given class, throwing an exception if any violations are found.
+     * See {@link #checkConstructorArgsFor(Class, Object...)}.
+     *
+     * @param constructingClass the class being constructed
+     * @param constructorArgs the constructor's args, in order
+     * @throws ConstraintViolationException if any violations are found
+     */
+    public static void validateConstructorArgsFor(Class<?> constructingClass, Object... constructorArgs) {
+
+        Set<? extends ConstraintViolation<?>> violations = checkConstructorArgsFor(constructingClass, constructorArgs);
+
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    /**
+     * The validator to use for one validation: {@link #VALIDATOR}, or in {@link TraversalMode#CACHING} mode,
+     * one with its own {@link CachingTraversableResolver}.
+     */
+    private static Validator validator() {
+
+        if (TRAVERSAL_MODE != TraversalMode.CACHING) {
+            return VALIDATOR;
+        }
+
+        return FACTORY.usingContext()
+            .traversableResolver(new CachingTraversableResolver(FACTORY.getTraversableResolver()))
+            .getValidator();
+    }
 }
 
 /*
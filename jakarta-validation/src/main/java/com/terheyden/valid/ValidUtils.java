@@ -1,10 +1,23 @@
 package com.terheyden.valid;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.hibernate.validator.group.GroupSequenceProvider;
+
 import jakarta.validation.ConstraintViolation;
+import jakarta.validation.GroupSequence;
+import jakarta.validation.groups.Default;
+import jakarta.validation.metadata.BeanDescriptor;
 
 import static java.lang.String.format;
 
@@ -52,6 +65,173 @@ public final class ValidUtils {
             .collect(Collectors.joining("; "));
     }
 
+    /**
+     * Swap each violation for a copy with a canonical, shared property path and messages,
+     * and without the validator's per-violation bookkeeping.
+     * Use this when holding on to lots of violations, e.g. from a big batch, since there are usually
+     * only a few distinct (class, path, message) combinations among them.
+     * Interned violations can't be unwrapped to the validator's own violation class.
+     *
+     * @return a new set of interned violations, or an empty set if there were none
+     */
+    public static <T> Set<ConstraintViolation<T>> internViolations(@Nullable Set<ConstraintViolation<T>> violations) {
+
+        if (violations == null || violations.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<ConstraintViolation<T>> interned = new HashSet<>(violations.size() * 4 / 3 + 1);
+
+        for (ConstraintViolation<T> violation : violations) {
+            interned.add(ViolationInterner.violation(violation));
+        }
+
+        return interned;
+    }
+
+    /**
+     * Write the violations as a JSON array, straight to the output (e.g. a {@code Writer} or {@code StringBuilder}).
+     * Each violation is an object with {@code rootBeanClass}, {@code propertyPath}, {@code message},
+     * {@code messageTemplate}, and {@code invalidValue} fields. Booleans and finite numbers are written
+     * as JSON literals; any other invalid value is written as its {@code toString()}.
+     * For a more compact format, see {@link ViolationEncoder}.
+     */
+    public static void writeViolationsJson(
+        @Nullable Collection<? extends ConstraintViolation<?>> violations,
+        Appendable out) throws IOException {
+
+        out.append('[');
+
+        if (violations != null) {
+            boolean first = true;
+            for (ConstraintViolation<?> violation : violations) {
+                if (!first) {
+                    out.append(',');
+                }
+                writeViolationJson(violation, out);
+                first = false;
+            }
+        }
+
+        out.append(']');
+    }
+
+    /**
+     * Write one violation as a JSON object, straight to the output.
+     * See {@link #writeViolationsJson(Collection, Appendable)}.
+     */
+    public static void writeViolationJson(ConstraintViolation<?> violation, Appendable out) throws IOException {
+
+        Class<?> rootBeanClass = violation.getRootBeanClass();
+
+        out.append("{\"rootBeanClass\":");
+        writeJsonString(rootBeanClass == null ? null : rootBeanClass.getName(), out);
+        out.append(",\"propertyPath\":");
+        writeJsonString(String.valueOf(violation.getPropertyPath()), out);
+        out.append(",\"message\":");
+        writeJsonString(violation.getMessage(), out);
+        out.append(",\"messageTemplate\":");
+        writeJsonString(violation.getMessageTemplate(), out);
+        out.append(",\"invalidValue\":");
+        writeJsonValue(violation.getInvalidValue(), out);
+        out.append('}');
+    }
+
+    private static void writeJsonValue(@Nullable Object value, Appendable out) throws IOException {
+
+        boolean isJsonNumber = value instanceof Integer || value instanceof Long
+            || value instanceof Short || value instanceof Byte
+            || value instanceof BigInteger || value instanceof BigDecimal
+            || ((value instanceof Double || value instanceof Float) && Double.isFinite(((Number) value).doubleValue()));
+
+        if (value instanceof Boolean || isJsonNumber) {
+            out.append(value.toString());
+        } else {
+            writeJsonString(value == null ? null : value.toString(), out);
+        }
+    }
+
+    private static void writeJsonString(@Nullable String string, Appendable out) throws IOException {
+
+        if (string == null) {
+            out.append("null");
+            return;
+        }
+
+        out.append('"');
+
+        for (int i = 0; i < string.length(); i++) {
+
+            char c = string.charAt(i);
+
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+
+        out.append('"');
+    }
+
+    /**
+     * The size of a string, collection, map, or array, or -1 for anything else.
+     */
+    static int sizeOf(Object value) {
+
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).size();
+        }
+
+        return value.getClass().isArray() ? Array.getLength(value) : -1;
+    }
+
+    /**
+     * True if the class redefines its default group sequence, with {@link GroupSequence},
+     * {@link GroupSequenceProvider}, or in XML (where the default group then reaches constraints
+     * declared in other groups). A sequence stops at its first failing group, so these classes
+     * can't be validated one property at a time.
+     */
+    static boolean redefinesDefaultGroup(Class<?> type, BeanDescriptor beanDescriptor) {
+
+        if (type.isAnnotationPresent(GroupSequence.class) || type.isAnnotationPresent(GroupSequenceProvider.class)) {
+            return true;
+        }
+
+        return beanDescriptor.getConstrainedProperties().stream()
+            .flatMap(property -> property.findConstraints()
+                .unorderedAndMatchingGroups(Default.class)
+                .getConstraintDescriptors()
+                .stream())
+            .anyMatch(constraint -> !constraint.getGroups().contains(Default.class));
+    }
+
     /**
      * Throw any exception unchecked.
      */
@@ -0,0 +1,200 @@
+package com.terheyden.valid;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+
+/**
+ * A list that validates every element as it's added, and keeps running state for its
+ * {@link CollectionConstraints}. Checking the whole list is O(1), no matter how large it gets —
+ * the elements were already validated on the way in, and the size and duplicate count are kept up to date.
+ * <p>
+ * Useful for {@link SelfValidating} objects that hold large, growing lists:
+ * leave {@code @Valid} off the field, and call {@link #checkCollection()} instead of re-validating every element.
+ * <p>
+ * Elements are validated when they're added, not when they change afterwards —
+ * mutable elements that are modified later need to be re-validated by the caller.
+ * Not thread-safe. For concurrent use, see {@link ValidatedSet#concurrent(CollectionConstraints)}
+ * and {@link ValidatedMap#concurrent(CollectionConstraints)}.
+ *
+ * @param <E> the element type
+ */
+public final class ValidatedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<E> elements = new ArrayList<>();
+    private final CollectionConstraints constraints;
+
+    // Only tracked when the list must be unique: how many times each element appears,
+    // and how many elements are duplicates of an earlier one.
+    private final Map<E, Integer> counts = new HashMap<>();
+    private long duplicates;
+
+    // Set when an element's hash code changed after it was added, so the counts no longer match it;
+    // they're rebuilt from the elements on the next check.
+    private boolean countsStale;
+
+    /**
+     * Create an empty list with no collection-level constraints; elements are still validated.
+     */
+    public ValidatedList() {
+        this(CollectionConstraints.none());
+    }
+
+    /**
+     * Create an empty list with the given collection-level constraints.
+     */
+    public ValidatedList(CollectionConstraints constraints) {
+        this.constraints = constraints;
+    }
+
+    /**
+     * Check the collection-level constraints, returning any violations. O(1),
+     * unless an element's hash code changed since it was added, which makes this check recount the duplicates.
+     * Elements are always valid, since invalid elements are rejected when they're added.
+     */
+    public Set<ConstraintViolation<ValidatedList<E>>> checkCollection() {
+
+        if (countsStale) {
+            recount();
+        }
+
+        return constraints.check(this, elements.size(), duplicates);
+    }
+
+    /**
+     * Check the collection-level constraints, throwing if there are any violations. O(1).
+     *
+     * @throws ConstraintViolationException if the list violates its constraints
+     */
+    public ValidatedList<E> validateCollection() {
+        ValidatedCollections.throwIfAny(checkCollection());
+        return this;
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * Validate and add the element at the given index.
+     *
+     * @throws ConstraintViolationException if the element is invalid
+     */
+    @Override
+    public void add(int index, E element) {
+
+        ValidatedCollections.checkElement(element);
+        elements.add(index, element);
+        track(element);
+        modCount++;
+    }
+
+    /**
+     * Validate all the elements, then add them. If any element is invalid, none are added.
+     *
+     * @throws ConstraintViolationException if any element is invalid
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> newElements) {
+        return addAll(elements.size(), newElements);
+    }
+
+    /**
+     * Validate all the elements, then add them at the given index. If any element is invalid, none are added.
+     *
+     * @throws ConstraintViolationException if any element is invalid
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> newElements) {
+
+        List<E> validated = new ArrayList<>(newElements);
+        validated.forEach(ValidatedCollections::checkElement);
+
+        elements.addAll(index, validated);
+        validated.forEach(this::track);
+        modCount++;
+        return !validated.isEmpty();
+    }
+
+    /**
+     * Validate and replace the element at the given index.
+     *
+     * @throws ConstraintViolationException if the element is invalid
+     */
+    @Override
+    public E set(int index, E element) {
+
+        ValidatedCollections.checkElement(element);
+        E previous = elements.set(index, element);
+        untrack(previous);
+        track(element);
+        return previous;
+    }
+
+    @Override
+    public E remove(int index) {
+
+        E removed = elements.remove(index);
+        untrack(removed);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+
+        elements.clear();
+        counts.clear();
+        duplicates = 0;
+        countsStale = false;
+        modCount++;
+    }
+
+    private void track(E element) {
+
+        if (constraints.isUnique() && !countsStale && counts.merge(element, 1, Integer::sum) > 1) {
+            duplicates++;
+        }
+    }
+
+    private void untrack(E element) {
+
+        if (!constraints.isUnique() || countsStale) {
+            return;
+        }
+
+        int count = counts.getOrDefault(element, 0);
+
+        if (count == 0) {
+            // Its hash code changed since it was added, so we can't find it.
+            countsStale = true;
+        } else if (count == 1) {
+            counts.remove(element);
+        } else {
+            counts.put(element, count - 1);
+            duplicates--;
+        }
+    }
+
+    private void recount() {
+
+        counts.clear();
+        duplicates = 0;
+        countsStale = false;
+        elements.forEach(this::track);
+    }
+}
@@ -0,0 +1,123 @@
+package com.terheyden.valid;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+
+/**
+ * A set that validates every element as it's added, and keeps running state for its
+ * {@link CollectionConstraints}. Checking the whole set is O(1), no matter how large it gets.
+ * See {@link ValidatedList} for details.
+ * <p>
+ * Not thread-safe, unless created with {@link #concurrent(CollectionConstraints)}.
+ *
+ * @param <E> the element type
+ */
+public final class ValidatedSet<E> extends AbstractSet<E> {
+
+    private final Set<E> elements;
+    private final CollectionConstraints constraints;
+
+    private ValidatedSet(Set<E> elements, CollectionConstraints constraints) {
+        this.elements = elements;
+        this.constraints = constraints;
+    }
+
+    /**
+     * Create an empty set with no collection-level constraints; elements are still validated.
+     */
+    public ValidatedSet() {
+        this(CollectionConstraints.none());
+    }
+
+    /**
+     * Create an empty set with the given collection-level constraints.
+     */
+    public ValidatedSet(CollectionConstraints constraints) {
+        this(new HashSet<>(), constraints);
+    }
+
+    /**
+     * Create an empty, thread-safe set with the given collection-level constraints.
+     * Backed by a {@link ConcurrentHashMap}, so reads are lock-free and writes only lock
+     * the hash bin they touch. Elements are validated before any lock is taken.
+     */
+    public static <E> ValidatedSet<E> concurrent(CollectionConstraints constraints) {
+        return new ValidatedSet<>(ConcurrentHashMap.newKeySet(), constraints);
+    }
+
+    /**
+     * Check the collection-level constraints, returning any violations. O(1).
+     * Elements are always valid, since invalid elements are rejected when they're added.
+     */
+    public Set<ConstraintViolation<ValidatedSet<E>>> checkCollection() {
+        // A set has no duplicates.
+        return constraints.check(this, elements.size(), 0);
+    }
+
+    /**
+     * Check the collection-level constraints, throwing if there are any violations. O(1).
+     *
+     * @throws ConstraintViolationException if the set violates its constraints
+     */
+    public ValidatedSet<E> validateCollection() {
+        ValidatedCollections.throwIfAny(checkCollection());
+        return this;
+    }
+
+    /**
+     * Validate and add the element.
+     *
+     * @throws ConstraintViolationException if the element is invalid
+     */
+    @Override
+    public boolean add(E element) {
+        return elements.add(ValidatedCollections.checkElement(element));
+    }
+
+    /**
+     * Validate all the elements, then add them. If any element is invalid, none are added.
+     *
+     * @throws ConstraintViolationException if any element is invalid
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> newElements) {
+
+        List<E> validated = new ArrayList<>(newElements);
+        validated.forEach(ValidatedCollections::checkElement);
+        return elements.addAll(validated);
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return elements.contains(element);
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        return elements.remove(element);
+    }
+
+    @Override
+    public void clear() {
+        elements.clear();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return elements.iterator();
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+}
@@ -0,0 +1,242 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.metadata.PropertyDescriptor;
+
+/**
+ * Base class for builders that validate each property as it's set, instead of validating
+ * the whole object after it's built.
+ * <p>
+ * Each setter passes its value through {@link #check(String, Object)}, which validates it against
+ * the built class's constraints for that property, and throws right away if it's invalid.
+ * {@link #build()} then only has to validate what the setters couldn't: class-level (cross-field) constraints,
+ * cascaded properties, and properties that were never set.
+ * <pre>{@code
+ * public static final class Builder extends ValidatingBuilder<Message> {
+ *
+ *     private String text;
+ *
+ *     public Builder() {
+ *         super(Message.class);
+ *     }
+ *
+ *     public Builder text(String text) {
+ *         this.text = check("text", text);
+ *         return this;
+ *     }
+ *
+ *     @Override
+ *     protected Message create() {
+ *         return new Message(text);
+ *     }
+ * }
+ * }</pre>
+ * If the built class is {@link SelfValidating}, its constructor's {@link SelfValidating#validateSelf()}
+ * call is skipped while the builder is creating it, since {@link #build()} validates the object anyway.
+ * Only the first object of the built class to validate itself during {@link #create()} is skipped;
+ * if that turns out not to be the object {@code create()} returns, it's validated right after.
+ * <p>
+ * The values passed to {@link #check(String, Object)} must be the values the object ends up with —
+ * if the constructor changes a value (e.g. trims it), don't check that property in the builder.
+ * Each {@link #build()} starts over, so values need to be checked again before the next one.
+ * Builders aren't thread-safe.
+ *
+ * @param <T> the type being built
+ */
+public abstract class ValidatingBuilder<T> {
+
+    // How many builders are creating objects right now, on any thread.
+    // While there are none, SelfValidating doesn't need to look at the thread local.
+    private static final AtomicInteger CREATING = new AtomicInteger();
+
+    // The object creation in progress on this thread, if any.
+    private static final ThreadLocal<Creation> CREATION = new ThreadLocal<>();
+
+    // Properties whose constraints are fully checked by validateValue(), so build() can skip them once set.
+    private static final ClassValue<Set<String>> SKIPPABLE_PROPERTIES = new ClassValue<>() {
+        @Override
+        protected Set<String> computeValue(Class<?> type) {
+            return findSkippableProperties(type);
+        }
+    };
+
+    private final Class<T> builtClass;
+    private final Set<String> checkedProperties = new HashSet<>();
+
+    /**
+     * @param builtClass the class this builder builds
+     */
+    protected ValidatingBuilder(Class<T> builtClass) {
+        this.builtClass = builtClass;
+    }
+
+    /**
+     * Validate a property value for the built class, throwing an exception if it's invalid.
+     * Call this from each setter.
+     *
+     * @param propertyName the name of the property in the built class
+     * @param value the property value; may be null
+     * @return {@code value}, for chaining
+     * @throws ConstraintViolationException if the value violates any of the property's constraints
+     * @throws IllegalArgumentException if the built class doesn't have this property
+     */
+    protected final <V> V check(String propertyName, @Nullable V value) {
+
+        Set<ConstraintViolation<T>> violations = Valid.VALIDATOR.validateValue(builtClass, propertyName, value);
+
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        checkedProperties.add(propertyName);
+        return value;
+    }
+
+    /**
+     * Create the object from the builder's values, usually by calling its constructor.
+     * The object doesn't need to validate itself; {@link #build()} does that.
+     */
+    protected abstract T create();
+
+    /**
+     * Create the object and validate whatever the setters haven't already validated.
+     *
+     * @return the new, valid object
+     * @throws ConstraintViolationException if the object is invalid
+     */
+    public final T build() {
+
+        try {
+
+            T builtObject = createWithoutSelfValidation(builtClass, this::create);
+            Set<ConstraintViolation<T>> violations = checkBuilt(builtObject, checkedProperties);
+
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+
+            return builtObject;
+
+        } finally {
+            checkedProperties.clear();
+        }
+    }
+
+    /**
+     * True if the object's builder is creating it on this thread, so it doesn't need to validate itself.
+     * Used by {@link SelfValidating}.
+     */
+    static boolean isBuilding(Object builtObject) {
+
+        if (CREATING.get() == 0) {
+            return false;
+        }
+
+        Creation creation = CREATION.get();
+        return creation != null && creation.skipSelfValidation(builtObject);
+    }
+
+    private static <T> T createWithoutSelfValidation(Class<T> builtClass, Supplier<T> creator) {
+
+        // Restore afterwards, in case this build is nested in another one.
+        Creation outerCreation = CREATION.get();
+        Creation creation = new Creation(builtClass);
+        CREATION.set(creation);
+        CREATING.incrementAndGet();
+        T builtObject;
+
+        try {
+
+            builtObject = creator.get();
+
+        } finally {
+            CREATING.decrementAndGet();
+            if (outerCreation == null) {
+                CREATION.remove();
+            } else {
+                CREATION.set(outerCreation);
+            }
+        }
+
+        // Some other object of the built class skipped validating itself, so validate it now.
+        if (creation.skippedObject != null && creation.skippedObject != builtObject) {
+            Valid.validateObject(creation.skippedObject);
+        }
+
+        return builtObject;
+    }
+
+    private static <T> Set<ConstraintViolation<T>> checkBuilt(T builtObject, Set<String> checkedProperties) {
+
+        Set<String> skippedProperties = new HashSet<>(SKIPPABLE_PROPERTIES.get(builtObject.getClass()));
+        skippedProperties.retainAll(checkedProperties);
+
+        if (skippedProperties.isEmpty()) {
+            return Valid.VALIDATOR.validate(builtObject);
+        }
+
+        RootPropertiesTraversableResolver resolver = RootPropertiesTraversableResolver.skipProperties(
+            Valid.FACTORY.getTraversableResolver(), builtObject, skippedProperties);
+
+        return Valid.FACTORY.usingContext()
+            .traversableResolver(resolver)
+            .getValidator()
+            .validate(builtObject);
+    }
+
+    /**
+     * {@code validateValue()} doesn't cascade, so cascaded properties (including container elements,
+     * which may be cascaded) still have to be validated at build time.
+     */
+    private static Set<String> findSkippableProperties(Class<?> builtClass) {
+
+        Set<String> skippableProperties = new HashSet<>();
+
+        for (PropertyDescriptor property : Valid.VALIDATOR.getConstraintsForClass(builtClass).getConstrainedProperties()) {
+            if (!property.isCascaded() && property.getConstrainedContainerElementTypes().isEmpty()) {
+                skippableProperties.add(property.getPropertyName());
+            }
+        }
+
+        return Collections.unmodifiableSet(skippableProperties);
+    }
+
+    /**
+     * One builder's call to {@link #create()}, and the object whose self-validation it skipped.
+     */
+    private static final class Creation {
+
+        private final Class<?> builtClass;
+
+        @Nullable
+        private Object skippedObject;
+
+        private Creation(Class<?> builtClass) {
+            this.builtClass = builtClass;
+        }
+
+        /**
+         * Skip the first object of the built class, which should be the one being built.
+         */
+        private boolean skipSelfValidation(Object object) {
+
+            if (object.getClass() != builtClass) {
+                return false;
+            }
+
+            if (skippedObject == null) {
+                skippedObject = object;
+            }
+
+            return skippedObject == object;
+        }
+    }
+}
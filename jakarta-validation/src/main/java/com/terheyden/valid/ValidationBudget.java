@@ -0,0 +1,82 @@
+package com.terheyden.valid;
+
+import java.time.Duration;
+
+/**
+ * Limits how much work a single validation is allowed to do.
+ * Useful for protecting latency from deeply cascaded (or adversarial) object graphs.
+ * <p>
+ * A budget is a deadline, a max number of traversed nodes, or both.
+ * When the budget runs out, validation stops and a "validation budget exceeded"
+ * violation is reported. See {@link Valid#checkObject(Object, ValidationBudget)}.
+ * <p>
+ * Immutable and thread-safe; one budget can be shared by any number of validations.
+ */
+public final class ValidationBudget {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final long NO_NODE_LIMIT = Long.MAX_VALUE;
+
+    private final long maxNanos;
+    private final long maxNodes;
+
+    private ValidationBudget(long maxNanos, long maxNodes) {
+        this.maxNanos = maxNanos;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Limit validation to the given amount of wall-clock time.
+     */
+    public static ValidationBudget ofDeadline(Duration maxDuration) {
+        return of(maxDuration, NO_NODE_LIMIT);
+    }
+
+    /**
+     * Limit validation to the given number of traversed nodes (properties visited).
+     */
+    public static ValidationBudget ofMaxNodes(long maxNodes) {
+        return new ValidationBudget(NO_DEADLINE, requirePositive(maxNodes));
+    }
+
+    /**
+     * Limit validation by time and traversed nodes; whichever runs out first stops validation.
+     */
+    public static ValidationBudget of(Duration maxDuration, long maxNodes) {
+
+        if (maxDuration.isNegative() || maxDuration.isZero()) {
+            throw new IllegalArgumentException("Budget duration must be positive: " + maxDuration);
+        }
+
+        return new ValidationBudget(maxDuration.toNanos(), requirePositive(maxNodes));
+    }
+
+    long getMaxNanos() {
+        return maxNanos;
+    }
+
+    long getMaxNodes() {
+        return maxNodes;
+    }
+
+    boolean hasDeadline() {
+        return maxNanos != NO_DEADLINE;
+    }
+
+    private static long requirePositive(long maxNodes) {
+
+        if (maxNodes <= 0) {
+            throw new IllegalArgumentException("Budget node count must be positive: " + maxNodes);
+        }
+
+        return maxNodes;
+    }
+
+    @Override
+    public String toString() {
+
+        String deadline = hasDeadline() ? Duration.ofNanos(maxNanos).toString() : "none";
+        String nodes = maxNodes == NO_NODE_LIMIT ? "none" : String.valueOf(maxNodes);
+        return "ValidationBudget[deadline=" + deadline + ", maxNodes=" + nodes + "]";
+    }
+}
@@ -0,0 +1,188 @@
+package com.terheyden.valid;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.validation.GroupSequence;
+import jakarta.validation.groups.Default;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+
+/**
+ * Resolves validation groups once per (class, groups) combination, and caches the result.
+ * Used by {@link Valid}.
+ * <p>
+ * Besides checking the groups, the cached plan records whether the class has anything to validate
+ * in those groups at all — if it doesn't, validation can be skipped entirely.
+ */
+final class ValidationGroups {
+
+    static final Class<?>[] DEFAULT_GROUPS = new Class<?>[0];
+
+    private static final GroupPlan DEFAULT_PLAN = new GroupPlan(DEFAULT_GROUPS, true);
+
+    private static final ClassValue<Map<List<Class<?>>, GroupPlan>> PLANS = new ClassValue<>() {
+        @Override
+        protected Map<List<Class<?>>, GroupPlan> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private ValidationGroups() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    /**
+     * Get the cached plan for validating the given class with the given groups.
+     */
+    static GroupPlan plan(Class<?> beanClass, Class<?>[] groups) {
+
+        if (isDefault(groups)) {
+            return DEFAULT_PLAN;
+        }
+
+        Map<List<Class<?>>, GroupPlan> plans = PLANS.get(beanClass);
+        GroupPlan plan = plans.get(Arrays.asList(groups));
+
+        if (plan != null) {
+            return plan;
+        }
+
+        // Copy the groups, since the caller's array could change later.
+        Class<?>[] groupsCopy = copyGroups(groups);
+        return plans.computeIfAbsent(List.of(groupsCopy), key -> createPlan(beanClass, groupsCopy));
+    }
+
+    /**
+     * True if the groups are just the default group — written either as nothing or as {@link Default}.
+     */
+    static boolean isDefault(Class<?>[] groups) {
+        return groups.length == 0 || (groups.length == 1 && groups[0] == Default.class);
+    }
+
+    /**
+     * Check the groups without planning for a class, e.g. for method and constructor args,
+     * which a class's plan doesn't cover.
+     *
+     * @return the groups to pass to the validator
+     */
+    static Class<?>[] checkGroups(Class<?>[] groups) {
+
+        if (isDefault(groups)) {
+            return DEFAULT_GROUPS;
+        }
+
+        checkNotNull(groups);
+        return groups;
+    }
+
+    private static Class<?>[] copyGroups(Class<?>[] groups) {
+
+        Class<?>[] groupsCopy = groups.clone();
+        checkNotNull(groupsCopy);
+        return groupsCopy;
+    }
+
+    private static void checkNotNull(Class<?>[] groups) {
+        for (Class<?> group : groups) {
+            if (group == null) {
+                throw new IllegalArgumentException("Validation groups can't be null.");
+            }
+        }
+    }
+
+    private static GroupPlan createPlan(Class<?> beanClass, Class<?>[] groups) {
+
+        BeanDescriptor beanDescriptor = Valid.VALIDATOR.getConstraintsForClass(beanClass);
+        return new GroupPlan(groups, hasConstraints(beanDescriptor, expandSequences(groups)));
+    }
+
+    /**
+     * Replace any group sequences with the groups they contain, since the metadata API
+     * only matches constraints against plain groups.
+     */
+    private static Class<?>[] expandSequences(Class<?>[] groups) {
+
+        Set<Class<?>> expanded = new LinkedHashSet<>();
+        for (Class<?> group : groups) {
+            expandSequence(group, expanded);
+        }
+
+        return expanded.toArray(new Class<?>[0]);
+    }
+
+    private static void expandSequence(Class<?> group, Set<Class<?>> expanded) {
+
+        GroupSequence sequence = group.getAnnotation(GroupSequence.class);
+
+        if (sequence == null) {
+            expanded.add(group);
+            return;
+        }
+
+        for (Class<?> sequenceGroup : sequence.value()) {
+            // A sequence can't contain itself, but guard against cycles anyway.
+            if (sequenceGroup != group && !expanded.contains(sequenceGroup)) {
+                expandSequence(sequenceGroup, expanded);
+            }
+        }
+    }
+
+    /**
+     * True if anything in the class could be validated in the given groups.
+     * Group inheritance and default group redefinition are taken into account by the metadata API.
+     */
+    private static boolean hasConstraints(BeanDescriptor beanDescriptor, Class<?>[] groups) {
+
+        if (beanDescriptor.findConstraints().unorderedAndMatchingGroups(groups).hasConstraints()) {
+            return true;
+        }
+
+        for (PropertyDescriptor property : beanDescriptor.getConstrainedProperties()) {
+
+            // Cascades and container elements could have constraints in any group; assume they do.
+            if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+                return true;
+            }
+
+            if (property.findConstraints().unorderedAndMatchingGroups(groups).hasConstraints()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * How to validate a class with certain groups.
+     */
+    static final class GroupPlan {
+
+        private final Class<?>[] groups;
+        private final boolean hasConstraints;
+
+        private GroupPlan(Class<?>[] groups, boolean hasConstraints) {
+            this.groups = groups;
+            this.hasConstraints = hasConstraints;
+        }
+
+        /**
+         * The groups to pass to the validator. Empty means the default group.
+         * Shared — don't modify.
+         */
+        Class<?>[] getGroups() {
+            return groups;
+        }
+
+        /**
+         * False if nothing in the class is validated in these groups, so validation can be skipped.
+         */
+        boolean hasConstraints() {
+            return hasConstraints;
+        }
+    }
+}
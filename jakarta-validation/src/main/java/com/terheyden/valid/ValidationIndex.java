@@ -0,0 +1,122 @@
+package com.terheyden.valid;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Helper class that reads the index of validated classes written at build time by {@link NativeImageConfigProcessor},
+ * and builds their validation metadata up front.
+ * Used by {@link Valid}.
+ * <p>
+ * The index is a plain list of binary class names, one per line, at {@value #RESOURCE} in each jar.
+ */
+final class ValidationIndex {
+
+    static final String RESOURCE = "META-INF/com.terheyden.valid/validated-classes";
+
+    private static final Logger LOG = getLogger(ValidationIndex.class);
+
+    private ValidationIndex() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    /**
+     * The thread's context class loader, which sees the app's classes, or else ours.
+     */
+    static ClassLoader defaultClassLoader() {
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader == null ? ValidationIndex.class.getClassLoader() : contextClassLoader;
+    }
+
+    /**
+     * Load every indexed class visible to the class loader. Classes that can't be loaded are skipped.
+     */
+    static List<Class<?>> loadClasses(ClassLoader classLoader) {
+
+        List<Class<?>> classes = new ArrayList<>();
+
+        for (String className : readClassNames(classLoader)) {
+            try {
+
+                // Don't initialize; validation metadata doesn't need the class's statics.
+                classes.add(Class.forName(className, false, classLoader));
+
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOG.warn("Skipping indexed class that can't be loaded: {}", className, e);
+            }
+        }
+
+        return classes;
+    }
+
+    /**
+     * Build the validation metadata of the classes: constrained properties and getters, cascades,
+     * method and constructor parameter constraints, and group sequences.
+     * Also finds the constructors that constructor arg validation uses.
+     *
+     * @return the number of classes preloaded
+     */
+    static int preload(Iterable<Class<?>> classes) {
+
+        int count = 0;
+
+        for (Class<?> type : classes) {
+            Valid.VALIDATOR.getConstraintsForClass(type);
+            ArgValidation.preload(type);
+            count++;
+        }
+
+        return count;
+    }
+
+    private static Set<String> readClassNames(ClassLoader classLoader) {
+
+        // Several jars may have an index; a class is listed once.
+        Set<String> classNames = new LinkedHashSet<>();
+
+        try {
+
+            Enumeration<URL> indexes = classLoader.getResources(RESOURCE);
+
+            while (indexes.hasMoreElements()) {
+                readClassNames(indexes.nextElement(), classNames);
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read validation index: " + RESOURCE, e);
+        }
+
+        return classNames;
+    }
+
+    private static void readClassNames(URL index, Set<String> classNames) throws IOException {
+
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+
+                String className = line.trim();
+
+                if (!className.isEmpty() && !className.startsWith("#")) {
+                    classNames.add(className);
+                }
+            }
+        }
+    }
+}
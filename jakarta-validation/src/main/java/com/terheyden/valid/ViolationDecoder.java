@@ -0,0 +1,270 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads violations written by a {@link ViolationEncoder}, in the same order they were written.
+ * Keeps the same table of interned strings as the encoder, so use one decoder per encoder.
+ * <p>
+ * Not thread-safe.
+ */
+public final class ViolationDecoder {
+
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * Read the next violation from the buffer.
+     * If the buffer ends partway through a violation, the buffer's position and this decoder are left as they were,
+     * so it can be read again once the rest arrives.
+     *
+     * @return the violation, or null if the buffer has nothing left to read
+     * @throws BufferUnderflowException if the buffer ends partway through a violation
+     * @throws IllegalArgumentException if the data is corrupt
+     */
+    @Nullable
+    public DecodedViolation decode(ByteBuffer buffer) {
+
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+
+        int startPosition = buffer.position();
+        int startStrings = strings.size();
+
+        try {
+
+            return read(new BufferInput(buffer));
+
+        } catch (BufferUnderflowException e) {
+            buffer.position(startPosition);
+            strings.subList(startStrings, strings.size()).clear();
+            throw e;
+
+        } catch (IOException e) {
+            // Buffers don't throw IOExceptions.
+            return ValidUtils.throwUnchecked(e);
+        }
+    }
+
+    /**
+     * Read the next violation from the stream. Reads a byte at a time, so use a buffered stream.
+     *
+     * @return the violation, or null if the stream has ended
+     * @throws EOFException if the stream ends partway through a violation
+     * @throws IllegalArgumentException if the data is corrupt
+     */
+    @Nullable
+    public DecodedViolation decode(InputStream in) throws IOException {
+
+        int first = in.read();
+
+        if (first < 0) {
+            return null;
+        }
+
+        return read(new StreamInput(in, (byte) first));
+    }
+
+    private DecodedViolation read(ByteInput in) throws IOException {
+        String rootBeanClassName = readRef(in);
+        String propertyPath = readRef(in);
+        String messageTemplate = readRef(in);
+        String message = readRef(in);
+        Object invalidValue = readValue(in);
+        return new DecodedViolation(rootBeanClassName, propertyPath, messageTemplate, message, invalidValue);
+    }
+
+    private String readRef(ByteInput in) throws IOException {
+
+        long ref = readVarint(in);
+
+        if (ref == ViolationEncoder.REF_INLINE) {
+            return readString(in);
+        }
+
+        if (ref == ViolationEncoder.REF_NEW) {
+            String string = readString(in);
+            strings.add(string);
+            return string;
+        }
+
+        long id = ref - ViolationEncoder.REF_FIRST_ID;
+
+        if (id >= strings.size()) {
+            throw new IllegalArgumentException("Corrupt violation data, unknown string ID: " + id);
+        }
+
+        return strings.get((int) id);
+    }
+
+    @Nullable
+    private static Object readValue(ByteInput in) throws IOException {
+
+        byte type = in.read();
+
+        switch (type) {
+            case ViolationEncoder.VALUE_NULL:
+                return null;
+            case ViolationEncoder.VALUE_TRUE:
+                return Boolean.TRUE;
+            case ViolationEncoder.VALUE_FALSE:
+                return Boolean.FALSE;
+            case ViolationEncoder.VALUE_WHOLE:
+                long zigzag = readVarint(in);
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            case ViolationEncoder.VALUE_FLOATING:
+                long bits = 0;
+                for (int i = 0; i < 8; i++) {
+                    bits = (bits << 8) | (in.read() & 0xFF);
+                }
+                return Double.longBitsToDouble(bits);
+            case ViolationEncoder.VALUE_STRING:
+                return readString(in);
+            default:
+                throw new IllegalArgumentException("Corrupt violation data, unknown value type: " + type);
+        }
+    }
+
+    private static String readString(ByteInput in) throws IOException {
+
+        long length = readVarint(in);
+
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Corrupt violation data, string too long: " + length);
+        }
+
+        return new String(in.readBytes((int) length), StandardCharsets.UTF_8);
+    }
+
+    private static long readVarint(ByteInput in) throws IOException {
+
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+
+            byte b = in.read();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Corrupt violation data, varint too long.");
+    }
+
+    /**
+     * Where the bytes come from: a buffer or a stream.
+     */
+    private interface ByteInput {
+
+        byte read() throws IOException;
+
+        /**
+         * Read the given number of bytes. The length comes from the data, so it's checked
+         * against what's actually there before it's allocated.
+         */
+        byte[] readBytes(int length) throws IOException;
+    }
+
+    /**
+     * Reads from a buffer.
+     */
+    private static final class BufferInput implements ByteInput {
+
+        private final ByteBuffer buffer;
+
+        private BufferInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public byte read() {
+            return buffer.get();
+        }
+
+        @Override
+        public byte[] readBytes(int length) {
+
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * Reads from a stream, starting with a byte that was already read to check for the end of the stream.
+     */
+    private static final class StreamInput implements ByteInput {
+
+        // Strings are read a chunk at a time, so a corrupt length fails at the end of the stream, not with an OOM.
+        private static final int CHUNK_SIZE = 8192;
+
+        private final InputStream in;
+        private final byte first;
+        private boolean firstRead;
+
+        private StreamInput(InputStream in, byte first) {
+            this.in = in;
+            this.first = first;
+        }
+
+        @Override
+        public byte read() throws IOException {
+
+            if (!firstRead) {
+                firstRead = true;
+                return first;
+            }
+
+            int next = in.read();
+
+            if (next < 0) {
+                throw new EOFException("Stream ended partway through a violation.");
+            }
+
+            return (byte) next;
+        }
+
+        @Override
+        public byte[] readBytes(int length) throws IOException {
+
+            byte[] bytes = new byte[Math.min(length, CHUNK_SIZE)];
+            int count = 0;
+
+            if (!firstRead && length > 0) {
+                bytes[count++] = read();
+            }
+
+            while (count < length) {
+
+                if (count == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+                }
+
+                int read = in.read(bytes, count, bytes.length - count);
+
+                if (read < 0) {
+                    throw new EOFException("Stream ended partway through a violation.");
+                }
+
+                count += read;
+            }
+
+            return bytes;
+        }
+    }
+}
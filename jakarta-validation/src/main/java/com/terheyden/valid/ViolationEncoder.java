@@ -0,0 +1,226 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+
+/**
+ * Writes violations in a compact binary format, for shipping lots of them (e.g. to clients or an audit log)
+ * without formatting strings. Read them back with {@link ViolationDecoder}.
+ * For JSON, see {@link ValidUtils#writeViolationsJson(Collection, Appendable)}.
+ * <p>
+ * Root bean class names, property paths, message templates, and messages are interned: the first time
+ * the encoder sees one, it's written in full and assigned an ID, and after that only the ID is written.
+ * So an encoder and its decoder must see the same violations in the same order —
+ * use one pair per stream or connection. Once the table is full, new strings are written in full every time.
+ * <p>
+ * Each violation is written as:
+ * <pre>
+ * rootBeanClass, propertyPath, messageTemplate, message   (string refs)
+ * invalidValue                                             (value)
+ *
+ * string ref: varint 0, then the string         — not interned
+ *             varint 1, then the string         — interned, gets the next ID (starting at 0)
+ *             varint (ID + 2)                   — previously interned string
+ * string:     varint byte length, then UTF-8 bytes
+ * value:      byte type: 0 null, 1 true, 2 false, 3 whole number (zigzag varint),
+ *             4 floating point (8 bytes), 5 anything else (its toString(), as a string)
+ * </pre>
+ * Not thread-safe.
+ */
+public final class ViolationEncoder {
+
+    /**
+     * How many distinct strings are interned, by default.
+     */
+    public static final int DEFAULT_MAX_INTERNED = 4096;
+
+    static final int REF_INLINE = 0;
+    static final int REF_NEW = 1;
+    static final int REF_FIRST_ID = 2;
+
+    static final byte VALUE_NULL = 0;
+    static final byte VALUE_TRUE = 1;
+    static final byte VALUE_FALSE = 2;
+    static final byte VALUE_WHOLE = 3;
+    static final byte VALUE_FLOATING = 4;
+    static final byte VALUE_STRING = 5;
+
+    // Keyed by the original classes and strings, so we only call getName() on new classes.
+    // Paths are keyed by their string, since their nodes can hold on to validated values.
+    private final Map<Object, Integer> ids = new HashMap<>();
+    private final List<Object> newKeys = new ArrayList<>();
+    private final int maxInterned;
+
+    public ViolationEncoder() {
+        this(DEFAULT_MAX_INTERNED);
+    }
+
+    /**
+     * @param maxInterned how many distinct strings to intern; keep this bounded,
+     *     since messages can contain the invalid value
+     */
+    public ViolationEncoder(int maxInterned) {
+
+        if (maxInterned < 0) {
+            throw new IllegalArgumentException("Max interned strings can't be negative: " + maxInterned);
+        }
+
+        this.maxInterned = maxInterned;
+    }
+
+    /**
+     * Write one violation into the buffer.
+     * If it doesn't fit, the buffer's position and this encoder are left as they were.
+     *
+     * @throws BufferOverflowException if the buffer doesn't have room for the violation
+     */
+    public void encode(ConstraintViolation<?> violation, ByteBuffer buffer) {
+
+        int startPosition = buffer.position();
+        newKeys.clear();
+
+        try {
+
+            write(violation, b -> buffer.put((byte) b));
+
+        } catch (BufferOverflowException e) {
+            buffer.position(startPosition);
+            forgetNewKeys();
+            throw e;
+
+        } catch (IOException e) {
+            // Buffers don't throw IOExceptions.
+            ValidUtils.throwUnchecked(e);
+        }
+    }
+
+    /**
+     * Write one violation to the stream. Writes a byte at a time, so use a buffered stream.
+     * If the stream throws, the strings this violation would have interned are forgotten, as with a full buffer.
+     */
+    public void encode(ConstraintViolation<?> violation, OutputStream out) throws IOException {
+
+        newKeys.clear();
+
+        try {
+
+            write(violation, out::write);
+
+        } catch (IOException e) {
+            forgetNewKeys();
+            throw e;
+        }
+    }
+
+    /**
+     * Write the violations to the stream, one after another. Writes a byte at a time, so use a buffered stream.
+     */
+    public void encodeAll(Collection<? extends ConstraintViolation<?>> violations, OutputStream out)
+        throws IOException {
+
+        for (ConstraintViolation<?> violation : violations) {
+            encode(violation, out);
+        }
+    }
+
+    private void forgetNewKeys() {
+        for (Object key : newKeys) {
+            ids.remove(key);
+        }
+        newKeys.clear();
+    }
+
+    private void write(ConstraintViolation<?> violation, ByteOutput out) throws IOException {
+        writeRef(violation.getRootBeanClass(), out);
+        writeRef(violation.getPropertyPath(), out);
+        writeRef(violation.getMessageTemplate(), out);
+        writeRef(violation.getMessage(), out);
+        writeValue(violation.getInvalidValue(), out);
+    }
+
+    private void writeRef(@Nullable Object value, ByteOutput out) throws IOException {
+
+        Object key = value == null ? ValidUtils.EMPTY_STR : value instanceof Path ? value.toString() : value;
+        Integer id = ids.get(key);
+
+        if (id != null) {
+            writeVarint(id + REF_FIRST_ID, out);
+            return;
+        }
+
+        if (ids.size() < maxInterned) {
+            ids.put(key, ids.size());
+            newKeys.add(key);
+            writeVarint(REF_NEW, out);
+        } else {
+            writeVarint(REF_INLINE, out);
+        }
+
+        writeString(key instanceof Class ? ((Class<?>) key).getName() : key.toString(), out);
+    }
+
+    private static void writeValue(@Nullable Object value, ByteOutput out) throws IOException {
+
+        if (value == null) {
+            out.write(VALUE_NULL);
+        } else if (value instanceof Boolean) {
+            out.write((Boolean) value ? VALUE_TRUE : VALUE_FALSE);
+        } else if (value instanceof Long || value instanceof Integer
+            || value instanceof Short || value instanceof Byte) {
+            out.write(VALUE_WHOLE);
+            long number = ((Number) value).longValue();
+            writeVarint((number << 1) ^ (number >> 63), out);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.write(VALUE_FLOATING);
+            long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (bits >>> shift));
+            }
+        } else {
+            out.write(VALUE_STRING);
+            writeString(value.toString(), out);
+        }
+    }
+
+    private static void writeString(String string, ByteOutput out) throws IOException {
+
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length, out);
+
+        for (byte b : bytes) {
+            out.write(b);
+        }
+    }
+
+    private static void writeVarint(long value, ByteOutput out) throws IOException {
+
+        long remaining = value;
+
+        while ((remaining & ~0x7FL) != 0) {
+            out.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+
+        out.write((int) remaining);
+    }
+
+    /**
+     * Where the bytes go: a buffer or a stream.
+     */
+    @FunctionalInterface
+    private interface ByteOutput {
+        void write(int b) throws IOException;
+    }
+}
@@ -0,0 +1,144 @@
+package com.terheyden.valid;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.hibernate.validator.internal.engine.path.PathImpl;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ElementKind;
+import jakarta.validation.Path;
+
+/**
+ * Canonical, shared property paths and messages, so lots of violations with the same
+ * (class, path, message) don't each carry their own copies.
+ * Used by {@link Valid} and {@link ValidUtils#internViolations(java.util.Set)}.
+ * <p>
+ * Messages are only interned when their template has no expressions ({@code ${...}}), since an expression
+ * can put the invalid value into the message. Each table is still bounded, since paths can contain
+ * indexes and map keys: once a table is full, it's cleared and starts over, so it keeps up with
+ * what's being validated now and doesn't hold on to old values.
+ */
+final class ViolationInterner {
+
+    /**
+     * Max entries per table.
+     */
+    static final int MAX_ENTRIES = 16_384;
+
+    /**
+     * The path of a violation on the root object itself.
+     */
+    static final Path EMPTY_PATH = PathImpl.createPathFromString(ValidUtils.EMPTY_STR);
+
+    // Keyed by the path's string, so we don't hold on to HV's paths — their nodes reference the validated values.
+    // Empty if the path string can't be parsed.
+    private static final Map<String, Optional<Path>> PATHS = new ConcurrentHashMap<>();
+    private static final Map<String, String> STRINGS = new ConcurrentHashMap<>();
+
+    private ViolationInterner() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    /**
+     * The canonical path for the given path string, e.g. {@code items[4].sku}.
+     * Canonical paths are parsed from their string, like {@link PathImpl#createPathFromString(String)}.
+     */
+    static Path path(String propertyPath) {
+        return canonicalPath(propertyPath).orElseGet(() -> PathImpl.createPathFromString(propertyPath));
+    }
+
+    /**
+     * The canonical version of the given path, or the path itself if it can't be interned.
+     * Only paths of property nodes (or the root bean's path) are interned, since the other kinds of node
+     * (parameters, return values, container elements, nested beans) can't be parsed back from a string.
+     */
+    static Path path(Path propertyPath) {
+        return isParsedBack(propertyPath)
+            ? canonicalPath(propertyPath.toString()).orElse(propertyPath)
+            : propertyPath;
+    }
+
+    /**
+     * Whether parsing the path's string gives back the same kinds of node.
+     */
+    private static boolean isParsedBack(Path propertyPath) {
+
+        boolean first = true;
+
+        for (Path.Node node : propertyPath) {
+
+            // The root bean's path is a single, nameless bean node, like the empty path parses to.
+            boolean rootBean = first && node.getKind() == ElementKind.BEAN && node.getName() == null;
+
+            if (node.getKind() != ElementKind.PROPERTY && !rootBean) {
+                return false;
+            }
+
+            first = false;
+        }
+
+        return true;
+    }
+
+    private static Optional<Path> canonicalPath(String propertyPath) {
+
+        if (propertyPath.isEmpty()) {
+            return Optional.of(EMPTY_PATH);
+        }
+
+        return intern(PATHS, propertyPath, ViolationInterner::parsePath);
+    }
+
+    private static Optional<Path> parsePath(String propertyPath) {
+        try {
+            return Optional.of(PathImpl.createPathFromString(propertyPath));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The canonical copy of the given message or message template.
+     */
+    static String string(String string) {
+        return intern(STRINGS, string, Function.identity());
+    }
+
+    private static <V> V intern(Map<String, V> table, String key, Function<String, V> canonicalValue) {
+
+        V canonical = table.get(key);
+
+        if (canonical != null) {
+            return canonical;
+        }
+
+        if (table.size() >= MAX_ENTRIES) {
+            table.clear();
+        }
+
+        return table.computeIfAbsent(key, canonicalValue);
+    }
+
+    /**
+     * A copy of the violation that shares its path and messages with every other interned violation,
+     * and drops the validator's per-violation bookkeeping.
+     */
+    static <T> ConstraintViolation<T> violation(ConstraintViolation<T> violation) {
+
+        if (violation instanceof InternedViolation || violation instanceof NullOriginViolation) {
+            return violation;
+        }
+
+        String messageTemplate = violation.getMessageTemplate();
+        String message = messageTemplate.contains("${") ? violation.getMessage() : string(violation.getMessage());
+
+        return new InternedViolation<>(
+            violation,
+            path(violation.getPropertyPath()),
+            message,
+            string(messageTemplate));
+    }
+}
@@ -0,0 +1,144 @@
+package com.terheyden.valid;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import com.sun.management.ThreadMXBean;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Fails the build when a change makes the happy path allocate more, or get much slower.
+ * Allocation is measured per thread, so it isn't affected by other tests running in parallel.
+ * The ceilings leave some headroom over what's measured today; lower them when you make things leaner.
+ * The latency ceilings are coarse, since timing varies by machine.
+ */
+class AllocationRegressionTest {
+
+    private static final Logger LOG = getLogger(AllocationRegressionTest.class);
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 10_000;
+    private static final int TIMED_BATCHES = 5;
+
+    private static final Customer VALID_CUSTOMER = new Customer("Cora", "cora@example.com", 3);
+
+    @BeforeAll
+    static void checkSupported() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported());
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void checkObject_validObject() {
+
+        Runnable check = () -> {
+            if (!Valid.checkObject(VALID_CUSTOMER).isEmpty()) {
+                throw new IllegalStateException("Customer should be valid.");
+            }
+        };
+
+        assertCeilings("Valid.checkObject()", check, 5_200, 100_000);
+    }
+
+    @Test
+    void validateMethodArgs_validArgs() {
+
+        Customer customer = new Customer("Cora", "cora@example.com", 3);
+        Runnable rename = () -> customer.rename("Luna");
+
+        assertCeilings("Valid.validateMethodArgs()", rename, 3_500, 50_000);
+    }
+
+    @Test
+    void violationsToString() {
+
+        Set<ConstraintViolation<Customer>> violations = Valid.checkObject(new Customer(" ", "not-an-email", 0));
+        assertEquals(3, violations.size());
+
+        Runnable toString = () -> ValidUtils.violationsToString(violations);
+
+        assertCeilings("ValidUtils.violationsToString()", toString, 3_200, 25_000);
+    }
+
+    /**
+     * Asserts the op's bytes allocated per op, and its best ns per op, after warm-up.
+     */
+    private static void assertCeilings(String op, Runnable runnable, long maxBytesPerOp, long maxNanosPerOp) {
+
+        for (int i = 0; i < WARMUP; i++) {
+            runnable.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long startBytes = THREADS.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            runnable.run();
+        }
+
+        long bytesPerOp = (THREADS.getThreadAllocatedBytes(threadId) - startBytes) / ITERATIONS;
+
+        // The best batch, so a GC pause or a busy machine doesn't fail the build.
+        long bestNanosPerOp = Long.MAX_VALUE;
+
+        for (int batch = 0; batch < TIMED_BATCHES; batch++) {
+
+            long start = System.nanoTime();
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                runnable.run();
+            }
+
+            bestNanosPerOp = Math.min(bestNanosPerOp, (System.nanoTime() - start) / ITERATIONS);
+        }
+
+        LOG.info("{}: {} bytes/op, {} ns/op", op, bytesPerOp, bestNanosPerOp);
+        assertTrue(bytesPerOp <= maxBytesPerOp,
+            op + " allocates " + bytesPerOp + " bytes/op; the ceiling is " + maxBytesPerOp);
+        assertTrue(bestNanosPerOp <= maxNanosPerOp,
+            op + " takes " + bestNanosPerOp + " ns/op; the ceiling is " + maxNanosPerOp);
+    }
+
+    /**
+     * A typical bean, with a method that validates its args.
+     */
+    private static final class Customer {
+
+        @NotBlank
+        private String name;
+
+        @NotNull
+        @Email
+        private final String email;
+
+        @Min(1)
+        private final int visits;
+
+        private Customer(String name, String email, int visits) {
+            this.name = name;
+            this.email = email;
+            this.visits = visits;
+        }
+
+        private void rename(@NotBlank String newName) {
+            Valid.validateMethodArgs(this, newName);
+            name = newName;
+        }
+    }
+}
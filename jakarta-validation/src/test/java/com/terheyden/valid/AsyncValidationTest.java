@@ -0,0 +1,257 @@
+package com.terheyden.valid;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidator;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorInitializationContext;
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Payload;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.metadata.ConstraintDescriptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AsyncValidationTest unit tests.
+ */
+class AsyncValidationTest {
+
+    private static final long LOOKUP_MILLIS = 100;
+
+    @Test
+    void asyncConstraints_runConcurrently() throws Exception {
+
+        Address address = new Address("US", "WA", "Seattle", "98101", "1 Main St");
+
+        long start = System.nanoTime();
+        Set<ConstraintViolation<Address>> violations = Valid.checkObjectAsync(address).get();
+        long asyncMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(violations.isEmpty(), violations.toString());
+        // Four lookups, but they overlap.
+        assertTrue(asyncMillis < 3 * LOOKUP_MILLIS, "Took " + asyncMillis + " ms");
+    }
+
+    @Test
+    void violations_matchSyncValidation() throws Exception {
+
+        Address address = new Address("US", "XX", "Nowhere", "00000", " ");
+
+        Set<ConstraintViolation<Address>> asyncViolations = Valid.checkObjectAsync(address).get();
+        Set<ConstraintViolation<Address>> syncViolations = Valid.checkObject(address);
+
+        assertEquals(4, asyncViolations.size());
+        assertEquals(describe(syncViolations), describe(asyncViolations));
+        assertTrue(describe(asyncViolations).contains("state: not found in states"));
+
+        for (ConstraintViolation<Address> asyncViolation : asyncViolations) {
+
+            ConstraintViolation<Address> syncViolation = syncViolations.stream()
+                .filter(violation -> violation.getPropertyPath().equals(asyncViolation.getPropertyPath()))
+                .findFirst()
+                .orElseThrow();
+
+            assertEquals(
+                syncViolation.getConstraintDescriptor().getAnnotation(),
+                asyncViolation.getConstraintDescriptor().getAnnotation());
+            assertSame(address, asyncViolation.getLeafBean());
+        }
+    }
+
+    @Test
+    void givenExecutor_isUsed() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+
+        try {
+
+            Address address = new Address("US", "WA", "Seattle", "98101", null);
+            CompletableFuture<Set<ConstraintViolation<Address>>> violations = Valid.checkObjectAsync(address, executor);
+            assertEquals(1, violations.get().size());
+
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, Valid.checkObjectAsync(null).get().size());
+    }
+
+    @Test
+    void cacheableAsyncValidators_areCheckedThroughTheCache() throws Exception {
+
+        int lookupsBefore = MemberValidator.LOOKUPS.get();
+
+        Member member = new Member("vip-cora");
+        assertTrue(Valid.checkObjectAsync(member).get().isEmpty());
+        assertTrue(Valid.checkObjectAsync(member).get().isEmpty());
+        assertEquals(lookupsBefore + 1, MemberValidator.LOOKUPS.get());
+
+        // Deferring to the concurrent check mustn't cache the value as valid.
+        Member stranger = new Member("stranger-cora");
+        assertEquals(1, Valid.checkObjectAsync(stranger).get().size());
+        assertEquals(1, Valid.checkObject(stranger).size());
+        assertEquals(lookupsBefore + 2, MemberValidator.LOOKUPS.get());
+    }
+
+    private static Set<String> describe(Set<ConstraintViolation<Address>> violations) {
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Stands in for a slow reference store, like a local database of known values.
+     */
+    private static final class ReferenceStore {
+
+        private static final Map<String, Set<String>> TABLES = Map.of(
+            "countries", Set.of("US", "CA"),
+            "states", Set.of("WA", "OR"),
+            "cities", Set.of("Seattle", "Portland"),
+            "zips", Set.of("98101", "97201"));
+
+        private static boolean contains(String table, String value) {
+
+            try {
+                Thread.sleep(LOOKUP_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return TABLES.get(table).contains(value);
+        }
+    }
+
+    /**
+     * Has four async constraints and a sync one.
+     */
+    private static final class Address {
+
+        @InStore("countries")
+        private final String country;
+
+        @InStore("states")
+        private final String state;
+
+        @InStore("cities")
+        private final String city;
+
+        @InStore("zips")
+        @NotBlank
+        private final String zip;
+
+        @NotBlank
+        private final String street;
+
+        private Address(String country, String state, String city, String zip, String street) {
+            this.country = country;
+            this.state = state;
+            this.city = city;
+            this.zip = zip;
+            this.street = street;
+        }
+    }
+
+    /**
+     * Must be in the given reference store table.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = InStoreValidator.class)
+    @interface InStore {
+
+        String value();
+
+        String message() default "not found in {value}";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Looks the value up in the store, blocking.
+     */
+    public static final class InStoreValidator implements AsyncConstraintValidator<InStore, String> {
+
+        private String table;
+
+        @Override
+        public void initialize(InStore constraint) {
+            table = constraint.value();
+        }
+
+        @Override
+        public CompletionStage<Boolean> isValidAsync(String value) {
+            return CompletableFuture.completedFuture(ReferenceStore.contains(table, value));
+        }
+    }
+
+    /**
+     * Has a cacheable async constraint.
+     */
+    private static final class Member {
+
+        @KnownMember(prefix = "vip-")
+        private final String name;
+
+        private Member(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Must be a known member, which is cached.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = MemberValidator.class)
+    @interface KnownMember {
+
+        String prefix();
+
+        String message() default "not a member";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Cacheable, and reads its prefix from the Hibernate-specific initialization.
+     */
+    @CacheableConstraint
+    public static final class MemberValidator
+        implements AsyncConstraintValidator<KnownMember, String>, HibernateConstraintValidator<KnownMember, String> {
+
+        private static final AtomicInteger LOOKUPS = new AtomicInteger();
+
+        private String prefix;
+
+        @Override
+        public void initialize(
+            ConstraintDescriptor<KnownMember> constraintDescriptor,
+            HibernateConstraintValidatorInitializationContext initializationContext) {
+
+            prefix = constraintDescriptor.getAnnotation().prefix();
+        }
+
+        @Override
+        public CompletionStage<Boolean> isValidAsync(String value) {
+            LOOKUPS.incrementAndGet();
+            return CompletableFuture.completedFuture(value == null || value.startsWith(prefix));
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.terheyden.valid;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.GroupSequence;
+import jakarta.validation.Payload;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import static com.terheyden.valid.Valid.checkObject;
+import static com.terheyden.valid.Valid.checkObjectCompiled;
+import static com.terheyden.valid.Valid.validateObjectCompiled;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CompiledValidationTest unit tests.
+ */
+class CompiledValidationTest {
+
+    @Test
+    void matchesHibernate() {
+
+        List<Customer> customers = List.of(
+            new Customer("Cora", 3, 10L, List.of("a"), new int[] { 1 }, true, "cat"),
+            new Customer(null, 3, 10L, List.of("a"), new int[] { 1 }, true, "cat"),
+            new Customer(" ", -1, 10L, List.of("a"), new int[] { 1 }, true, "cat"),
+            new Customer("Cora", 200, null, List.of(), new int[0], false, "cat"),
+            new Customer("Cora", 3, 0L, List.of("a", "b", "c", "d"), new int[] { 1 }, true, "cat"),
+            new Customer("Cora", 3, 10L, List.of("a"), new int[] { 1 }, true, "dog"),
+            new Customer("Cora", 3, 10L, List.of("a"), new int[] { 1 }, true, null));
+
+        for (Customer customer : customers) {
+            assertEquals(describe(checkObject(customer)), describe(checkObjectCompiled(customer)));
+        }
+    }
+
+    @Test
+    void validObject_isAccepted() {
+
+        Customer customer = new Customer("Cora", 3, 10L, List.of("a"), new int[] { 1 }, true, "cat");
+        assertTrue(checkObjectCompiled(customer).isEmpty());
+        assertEquals(customer, validateObjectCompiled(customer));
+
+        Customer badCustomer = new Customer("Cora", 3, 10L, List.of("a"), new int[] { 1 }, false, "cat");
+        assertThrows(ConstraintViolationException.class, () -> validateObjectCompiled(badCustomer));
+        assertThrows(NullPointerException.class, () -> validateObjectCompiled(null));
+        assertEquals(1, checkObjectCompiled(null).size());
+    }
+
+    @Test
+    void cascadedClass_usesHibernate() {
+
+        Household household = new Household(new Customer(null, 3, 10L, List.of("a"), new int[] { 1 }, true, "cat"));
+        Set<String> violations = describe(checkObjectCompiled(household));
+
+        assertEquals(describe(checkObject(household)), violations);
+        assertEquals(1, violations.size());
+    }
+
+    @Test
+    void redefinedDefaultGroup_matchesHibernate() {
+
+        Ticket ticket = new Ticket(null, 0);
+        assertEquals(describe(checkObject(ticket)), describe(checkObjectCompiled(ticket)));
+
+        ticket = new Ticket("T-1", 0);
+        assertEquals(describe(checkObject(ticket)), describe(checkObjectCompiled(ticket)));
+        assertEquals(1, checkObjectCompiled(ticket).size());
+    }
+
+    @Test
+    void groupSequence_stopsAtFirstFailingGroup() {
+
+        Booking booking = new Booking("dog", "dog");
+        Set<String> violations = describe(checkObjectCompiled(booking));
+
+        assertEquals(describe(checkObject(booking)), violations);
+        assertEquals(Set.of("guest: must be a cat"), violations);
+    }
+
+    @Test
+    void hiddenField_matchesHibernate() {
+
+        Pet pet = new Pet("Cora");
+        Set<String> violations = describe(checkObjectCompiled(pet));
+
+        assertEquals(describe(checkObject(pet)), violations);
+        assertEquals(1, violations.size());
+    }
+
+    private static Set<String> describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * A mix of built-in and custom constraints, on fields and getters.
+     */
+    private static final class Customer {
+
+        @NotBlank
+        private final String name;
+
+        @Min(1)
+        @Max(100)
+        private final int visits;
+
+        @NotNull
+        @Positive
+        private final Long accountId;
+
+        @Size(max = 3)
+        private final List<String> tags;
+
+        @NotEmpty
+        private final int[] scores;
+
+        private final boolean active;
+
+        @Feline
+        private final String pet;
+
+        private Customer(
+            String name,
+            int visits,
+            Long accountId,
+            List<String> tags,
+            int[] scores,
+            boolean active,
+            String pet) {
+
+            this.name = name;
+            this.visits = visits;
+            this.accountId = accountId;
+            this.tags = tags;
+            this.scores = scores;
+            this.active = active;
+            this.pet = pet;
+        }
+
+        @AssertTrue
+        public boolean isActive() {
+            return active;
+        }
+    }
+
+    /**
+     * Cascades, so it can't be compiled.
+     */
+    private static final class Household {
+
+        @Valid
+        private final Customer owner;
+
+        private Household(Customer owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * Redefines its default group sequence, so the {@code Details} constraints only count once the rest pass.
+     */
+    @GroupSequence({ Ticket.class, Ticket.Details.class })
+    private static final class Ticket {
+
+        @NotNull
+        private final String id;
+
+        @Positive(groups = Details.class)
+        private final int seats;
+
+        private Ticket(String id, int seats) {
+            this.id = id;
+            this.seats = seats;
+        }
+
+        /**
+         * Checked after the default group.
+         */
+        private interface Details {
+        }
+    }
+
+    /**
+     * Custom constraints in a redefined default group sequence, which Hibernate validates.
+     */
+    @GroupSequence({ Booking.class, Booking.Second.class })
+    private static final class Booking {
+
+        @Feline
+        private final String guest;
+
+        @Feline(groups = Second.class)
+        private final String plusOne;
+
+        private Booking(String guest, String plusOne) {
+            this.guest = guest;
+            this.plusOne = plusOne;
+        }
+
+        /**
+         * Checked after the default group.
+         */
+        private interface Second {
+        }
+    }
+
+    /**
+     * Has a constrained field.
+     */
+    private static class Animal {
+
+        @NotNull
+        private final String name = null;
+    }
+
+    /**
+     * Hides its superclass's constrained field with one of its own.
+     */
+    private static final class Pet extends Animal {
+
+        private final String name;
+
+        private Pet(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * A custom constraint, which Hibernate validates.
+     */
+    @Target({ ElementType.FIELD, ElementType.METHOD })
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = FelineValidator.class)
+    @interface Feline {
+        String message() default "must be a cat";
+        Class<?>[] groups() default {};
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Only cats allowed.
+     */
+    public static final class FelineValidator implements ConstraintValidator<Feline, String> {
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+            return value == null || value.equals("cat");
+        }
+    }
+}
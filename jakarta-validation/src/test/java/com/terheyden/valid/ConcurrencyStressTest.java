@@ -0,0 +1,214 @@
+package com.terheyden.valid;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Hammers {@link Valid}'s shared state from many threads at once: mixed classes, overloaded methods and constructors,
+ * and classes that are loaded fresh each round, so their cached metadata is computed under contention.
+ * Fails on a wrong result, an exception, or a deadlock.
+ */
+class ConcurrencyStressTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 10;
+    private static final int ITERATIONS = 500;
+    private static final long TIMEOUT_SECONDS = 60;
+
+    @Test
+    void sharedState_underContention() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        AtomicReference<Class<?>> freshClass = new AtomicReference<>();
+
+        try {
+
+            for (int round = 0; round < ROUNDS; round++) {
+
+                // A new copy of Parcel each round, in a class loader that's dropped afterwards.
+                ChildFirstClassLoader classLoader = new ChildFirstClassLoader(
+                    getClass().getClassLoader(), name -> name.startsWith(ConcurrencyStressTest.class.getName()));
+                freshClass.set(classLoader.loadClass(Parcel.class.getName()));
+
+                List<Future<?>> workers = new ArrayList<>();
+
+                for (int thread = 0; thread < THREADS; thread++) {
+                    int seed = thread;
+                    workers.add(executor.submit(() -> {
+                        // All start at once, so the fresh class is validated for the first time concurrently.
+                        barrier.await();
+                        hammer(seed, freshClass.get());
+                        return null;
+                    }));
+                }
+
+                awaitAll(workers);
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void hammer(int seed, Class<?> freshClass) throws ReflectiveOperationException {
+
+        for (int i = 0; i < ITERATIONS; i++) {
+
+            boolean valid = (i + seed) % 2 == 0;
+
+            switch ((i + seed) % 6) {
+
+                case 0:
+                    assertEquals(valid ? 0 : 1, Valid.checkObject(new Cat(valid ? "Cora" : " ")).size());
+                    break;
+
+                case 1:
+                    assertEquals(valid ? 0 : 2, Valid.checkObject(new Order(valid ? "A-1" : null, valid ? 1 : 0)).size());
+                    break;
+
+                case 2:
+                    assertValidated(valid, () -> new Order(valid ? "A-1" : ""));
+                    assertValidated(valid, () -> new Order(valid ? "A-1" : "", 1, "web"));
+                    break;
+
+                case 3:
+                    Service service = new Service();
+                    assertValidated(valid, () -> service.process(valid ? "job" : ""));
+                    assertValidated(valid, () -> service.process("job", valid ? 1 : -1));
+                    break;
+
+                case 4:
+                    assertValidated(valid, () -> new Cat(valid ? "Luna" : "").validateSelf());
+                    break;
+
+                default:
+                    Object parcel = freshClass.getDeclaredConstructor(String.class).newInstance(valid ? "box" : "");
+                    assertEquals(valid ? 0 : 1, Valid.checkObject(parcel).size());
+                    break;
+            }
+        }
+    }
+
+    private static void assertValidated(boolean valid, Runnable runnable) {
+
+        try {
+
+            runnable.run();
+
+            if (!valid) {
+                fail("Expected a ConstraintViolationException.");
+            }
+
+        } catch (ConstraintViolationException e) {
+            if (valid) {
+                throw e;
+            }
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> workers) throws Exception {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+        for (Future<?> worker : workers) {
+            try {
+
+                worker.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+            } catch (TimeoutException e) {
+                assertNull(ManagementFactory.getThreadMXBean().findDeadlockedThreads(), "Deadlocked.");
+                fail("Workers didn't finish in " + TIMEOUT_SECONDS + " seconds.");
+            }
+        }
+    }
+
+    /**
+     * Validates itself.
+     */
+    private static final class Cat implements SelfValidating {
+
+        @NotBlank
+        private final String name;
+
+        private Cat(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Has overloaded constructors that validate their args.
+     */
+    private static final class Order {
+
+        @NotNull
+        private final String id;
+
+        @Min(1)
+        private final int quantity;
+
+        private Order(String id, int quantity) {
+            this.id = id;
+            this.quantity = quantity;
+        }
+
+        private Order(@NotBlank String id) {
+            Valid.validateConstructorArgs(id);
+            this.id = id;
+            this.quantity = 1;
+        }
+
+        private Order(@NotBlank String id, @Positive int quantity, @NotBlank String source) {
+            Valid.validateConstructorArgs(id, quantity, source);
+            this.id = id;
+            this.quantity = quantity;
+        }
+    }
+
+    /**
+     * Has overloaded methods that validate their args.
+     */
+    private static final class Service {
+
+        private void process(@NotBlank String job) {
+            Valid.validateMethodArgs(this, job);
+        }
+
+        private void process(@NotBlank String job, @Positive int priority) {
+            Valid.validateMethodArgs(this, job, priority);
+        }
+    }
+
+    /**
+     * Loaded fresh each round.
+     */
+    public static final class Parcel {
+
+        @NotBlank
+        private final String label;
+
+        public Parcel(String label) {
+            this.label = label;
+        }
+    }
+}
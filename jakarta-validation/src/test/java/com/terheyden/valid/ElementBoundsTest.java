@@ -0,0 +1,152 @@
+package com.terheyden.valid;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.ConstraintViolation;
+
+import static com.terheyden.valid.Valid.checkObject;
+import static com.terheyden.valid.Valid.checkObjectCompiled;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ElementBoundsTest unit tests.
+ */
+class ElementBoundsTest {
+
+    @Test
+    void validSamples_haveNoViolations() {
+
+        Telemetry telemetry = new Telemetry(
+            new int[] { 0, 50, 100 },
+            new long[] { 1, Long.MAX_VALUE },
+            new double[] { 0.5, 1e9 },
+            List.of(-5, 5L, 4.5));
+
+        assertTrue(checkObject(telemetry).isEmpty());
+        assertTrue(checkObjectCompiled(telemetry).isEmpty());
+        assertTrue(checkObject(new Telemetry(null, null, null, null)).isEmpty());
+    }
+
+    @Test
+    void onlyOffendingIndexes_areReported() {
+
+        int[] percents = new int[10_000];
+        Arrays.fill(percents, 42);
+        percents[17] = -1;
+        percents[9_999] = 101;
+
+        Telemetry telemetry = new Telemetry(
+            percents,
+            new long[] { 1, 0, 2 },
+            new double[] { 0.0, Double.NaN, 3.0, -0.1 },
+            Arrays.asList(1, null, 11, 10.5));
+
+        Set<String> expected = Set.of(
+            "percents[17]: must be between 0 and 100",
+            "percents[9999]: must be between 0 and 100",
+            "counts[1]: must be greater than 0",
+            "readings[0]: must be greater than 0",
+            "readings[1]: must be greater than 0",
+            "readings[3]: must be greater than 0",
+            "deltas[2]: must be less than or equal to 10",
+            "deltas[3]: must be less than or equal to 10");
+
+        assertEquals(expected, describe(checkObject(telemetry)));
+        assertEquals(expected, describe(checkObjectCompiled(telemetry)));
+    }
+
+    @Test
+    void elementMin() {
+        Set<String> violations = describe(checkObject(new Floor(new long[] { 3, 2 })));
+        assertEquals(Set.of("levels[1]: must be greater than or equal to 3"), violations);
+    }
+
+    @Test
+    void bigNumbers_areComparedExactly() {
+
+        // 2^53 + 1 and 2^53 are the same double.
+        Ledger ledger = new Ledger(
+            List.of(
+                BigInteger.TWO.pow(53),
+                BigInteger.TWO.pow(53).add(BigInteger.ONE),
+                new BigDecimal("9007199254740992.5")),
+            List.of(new BigDecimal("0.5"), new BigDecimal("1e-400"), BigDecimal.ZERO));
+
+        Set<String> expected = Set.of(
+            "amounts[1]: must be less than or equal to 9007199254740992",
+            "amounts[2]: must be less than or equal to 9007199254740992",
+            "rates[2]: must be greater than 0");
+
+        assertEquals(expected, describe(checkObject(ledger)));
+        assertEquals(expected, describe(checkObjectCompiled(ledger)));
+    }
+
+    private static Set<String> describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Arrays of samples.
+     */
+    private static final class Telemetry {
+
+        @ElementRange(min = 0, max = 100)
+        private final int[] percents;
+
+        @ElementPositive
+        private final long[] counts;
+
+        @ElementPositive
+        private final double[] readings;
+
+        @ElementMax(10)
+        private final List<Number> deltas;
+
+        private Telemetry(int[] percents, long[] counts, double[] readings, List<Number> deltas) {
+            this.percents = percents;
+            this.counts = counts;
+            this.readings = readings;
+            this.deltas = deltas;
+        }
+    }
+
+    /**
+     * Has a minimum.
+     */
+    private static final class Floor {
+
+        @ElementMin(3)
+        private final long[] levels;
+
+        private Floor(long[] levels) {
+            this.levels = levels;
+        }
+    }
+
+    /**
+     * Big numbers, which doubles can't represent exactly.
+     */
+    private static final class Ledger {
+
+        @ElementMax(9_007_199_254_740_992L)
+        private final List<Number> amounts;
+
+        @ElementPositive
+        private final List<BigDecimal> rates;
+
+        private Ledger(List<Number> amounts, List<BigDecimal> rates) {
+            this.amounts = amounts;
+            this.rates = rates;
+        }
+    }
+}
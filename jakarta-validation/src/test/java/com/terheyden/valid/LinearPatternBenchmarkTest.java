@@ -0,0 +1,82 @@
+package com.terheyden.valid;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Compares {@link LinearPatternValidator} against Hibernate's default {@code @Pattern} validator.
+ * Tagged as an integration test since it's slow, and timing results vary by machine.
+ */
+@Tag("integration")
+class LinearPatternBenchmarkTest {
+
+    private static final Logger LOG = getLogger(LinearPatternBenchmarkTest.class);
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 500_000;
+
+    @Test
+    void compareWithDefaultValidator() {
+
+        Contact contact = new Contact("cora.terheyden@example.com", "AB-1234", "555-867-5309");
+
+        try (ValidatorFactory defaultFactory = Validation.buildDefaultValidatorFactory();
+             ValidatorFactory linearFactory = ValidatorFactories.configure(TraversalMode.DEFAULT, true)
+                 .buildValidatorFactory()) {
+
+            long defaultNanos = time(defaultFactory.getValidator(), contact);
+            long linearNanos = time(linearFactory.getValidator(), contact);
+
+            LOG.info("@Pattern validation, {} iterations: default {} ns/op, linear {} ns/op",
+                ITERATIONS, defaultNanos / ITERATIONS, linearNanos / ITERATIONS);
+
+            assertTrue(linearNanos > 0 && defaultNanos > 0);
+        }
+    }
+
+    private static long time(Validator validator, Contact contact) {
+
+        for (int i = 0; i < WARMUP; i++) {
+            validator.validate(contact);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (!validator.validate(contact).isEmpty()) {
+                throw new IllegalStateException("Contact should be valid.");
+            }
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Typical regex-heavy bean.
+     */
+    private static final class Contact {
+
+        @Pattern(regexp = "[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}")
+        private final String email;
+
+        @Pattern(regexp = "[A-Z]{2}-\\d{4}")
+        private final String accountCode;
+
+        @Pattern(regexp = "\\d{3}-\\d{3}-\\d{4}")
+        private final String phone;
+
+        private Contact(String email, String accountCode, String phone) {
+            this.email = email;
+            this.accountCode = accountCode;
+            this.phone = phone;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.terheyden.valid;
+
+import java.lang.annotation.ElementType;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.Path;
+import jakarta.validation.TraversableResolver;
+import jakarta.validation.Valid;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.NotBlank;
+
+import static com.terheyden.valid.Valid.FACTORY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link TraversalMode}, {@link AlwaysTraversableResolver}, and {@link CachingTraversableResolver}.
+ */
+class TraversableResolversTest {
+
+    @Test
+    void alwaysMode_usesAlwaysResolver() {
+
+        try (ValidatorFactory factory = ValidatorFactories.configure(TraversalMode.ALWAYS).buildValidatorFactory()) {
+
+            assertTrue(factory.getTraversableResolver() instanceof AlwaysTraversableResolver);
+            assertEquals(1, factory.getValidator().validate(new Shelter(new Cat(" "), new Cat("cora"))).size());
+        }
+    }
+
+    @Test
+    void cachingResolver_asksOncePerClassAndProperty() {
+
+        CountingResolver counting = new CountingResolver();
+        Shelter shelter = new Shelter(new Cat(" "), new Cat("cora"), new Cat(""), new Cat("luna"));
+
+        int violations = FACTORY.usingContext()
+            .traversableResolver(new CachingTraversableResolver(counting))
+            .getValidator()
+            .validate(shelter)
+            .size();
+
+        assertEquals(2, violations);
+        // Shelter.cats and Cat.name, not once per cat.
+        assertEquals(2, counting.reachableCalls.get());
+        assertEquals(1, counting.cascadableCalls.get());
+    }
+
+    @Test
+    void modes_parseIgnoringCase() {
+        assertEquals(TraversalMode.DEFAULT, TraversalMode.parse(null));
+        assertEquals(TraversalMode.DEFAULT, TraversalMode.parse(" "));
+        assertEquals(TraversalMode.ALWAYS, TraversalMode.parse("always"));
+        assertEquals(TraversalMode.CACHING, TraversalMode.parse(" Caching "));
+        assertThrows(IllegalArgumentException.class, () -> TraversalMode.parse("sometimes"));
+    }
+
+    /**
+     * Counts how often it's asked.
+     */
+    private static final class CountingResolver implements TraversableResolver {
+
+        private final AtomicInteger reachableCalls = new AtomicInteger();
+        private final AtomicInteger cascadableCalls = new AtomicInteger();
+
+        @Override
+        public boolean isReachable(
+            Object traversableObject,
+            Path.Node traversableProperty,
+            Class<?> rootBeanType,
+            Path pathToTraversableObject,
+            ElementType elementType) {
+
+            reachableCalls.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public boolean isCascadable(
+            Object traversableObject,
+            Path.Node traversableProperty,
+            Class<?> rootBeanType,
+            Path pathToTraversableObject,
+            ElementType elementType) {
+
+            cascadableCalls.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Cascades into its cats.
+     */
+    private static final class Shelter {
+
+        @Valid
+        private final List<Cat> cats;
+
+        private Shelter(Cat... cats) {
+            this.cats = List.of(cats);
+        }
+    }
+
+    /**
+     * Has a simple constraint.
+     */
+    private static final class Cat {
+
+        @NotBlank
+        private final String name;
+
+        private Cat(String name) {
+            this.name = name;
+        }
+    }
+}
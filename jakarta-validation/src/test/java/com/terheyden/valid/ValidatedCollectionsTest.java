@@ -0,0 +1,203 @@
+package com.terheyden.valid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ValidatedCollectionsTest unit tests.
+ */
+class ValidatedCollectionsTest {
+
+    @Test
+    void list_rejectsInvalidElements() {
+
+        ValidatedList<Tag> tags = new ValidatedList<>();
+        tags.add(new Tag("meow"));
+
+        assertThrows(ConstraintViolationException.class, () -> tags.add(new Tag(" ")));
+        assertThrows(ConstraintViolationException.class, () -> tags.add(null));
+        assertThrows(ConstraintViolationException.class, () -> tags.set(0, new Tag(null)));
+
+        // All or nothing.
+        assertThrows(ConstraintViolationException.class, () -> tags.addAll(List.of(new Tag("a"), new Tag(""))));
+        assertEquals(List.of(new Tag("meow")), tags);
+    }
+
+    @Test
+    void list_tracksSizeAndUniqueness() {
+
+        ValidatedList<Tag> tags = new ValidatedList<>(CollectionConstraints.of(1, 3, true));
+        assertEquals("size must be between 1 and 3", single(tags.checkCollection()).getMessage());
+
+        tags.add(new Tag("a"));
+        tags.add(new Tag("b"));
+        assertTrue(tags.checkCollection().isEmpty());
+
+        tags.add(new Tag("a"));
+        assertEquals("must only contain unique elements", single(tags.checkCollection()).getMessage());
+
+        tags.set(2, new Tag("c"));
+        assertTrue(tags.checkCollection().isEmpty());
+
+        tags.add(new Tag("c"));
+        assertEquals(2, tags.checkCollection().size());
+
+        tags.remove(new Tag("c"));
+        tags.validateCollection();
+
+        tags.removeIf(tag -> true);
+        assertThrows(ConstraintViolationException.class, tags::validateCollection);
+    }
+
+    @Test
+    void list_elementWhoseHashCodeChanged_canBeRemoved() {
+
+        ValidatedList<List<String>> lists = new ValidatedList<>(CollectionConstraints.of(0, 10, true));
+        List<String> changed = new ArrayList<>(List.of("a"));
+        lists.add(changed);
+        lists.add(new ArrayList<>(List.of("b")));
+
+        changed.add("c");
+        lists.remove(changed);
+        assertTrue(lists.checkCollection().isEmpty());
+
+        lists.add(new ArrayList<>(List.of("b")));
+        assertEquals("must only contain unique elements", single(lists.checkCollection()).getMessage());
+    }
+
+    @Test
+    void checkCollection_doesNotRevalidateElements() {
+
+        ValidatedList<Counted> list = new ValidatedList<>(CollectionConstraints.notEmpty());
+        for (int i = 0; i < 1_000; i++) {
+            list.add(new Counted());
+        }
+
+        int validationsBefore = Counted.VALIDATIONS.get();
+        for (int i = 0; i < 1_000; i++) {
+            list.validateCollection();
+        }
+
+        assertEquals(validationsBefore, Counted.VALIDATIONS.get());
+    }
+
+    @Test
+    void set_validatesAndTracksSize() {
+
+        ValidatedSet<Tag> tags = new ValidatedSet<>(CollectionConstraints.size(1, 2));
+        assertThrows(ConstraintViolationException.class, tags::validateCollection);
+
+        tags.add(new Tag("a"));
+        tags.add(new Tag("a"));
+        tags.validateCollection();
+
+        assertThrows(ConstraintViolationException.class, () -> tags.add(new Tag("")));
+        tags.add(new Tag("b"));
+        tags.add(new Tag("c"));
+        assertEquals("size must be between 1 and 2", single(tags.checkCollection()).getMessage());
+    }
+
+    @Test
+    void map_validatesKeysAndValues() {
+
+        ValidatedMap<String, Tag> tags = new ValidatedMap<>();
+        tags.put("a", new Tag("a"));
+
+        assertThrows(ConstraintViolationException.class, () -> tags.put("b", new Tag("")));
+        assertThrows(ConstraintViolationException.class, () -> tags.put(null, new Tag("b")));
+        assertThrows(ConstraintViolationException.class, () -> tags.computeIfAbsent("b", key -> new Tag(" ")));
+        assertThrows(ConstraintViolationException.class, () -> tags.merge("a", new Tag("b"), (a, b) -> new Tag("")));
+
+        Map.Entry<String, Tag> entry = tags.entrySet().iterator().next();
+        assertThrows(ConstraintViolationException.class, () -> entry.setValue(new Tag(null)));
+        entry.setValue(new Tag("z"));
+
+        assertEquals(Map.of("a", new Tag("z")), tags);
+        tags.compute("a", (key, value) -> null);
+        assertTrue(tags.isEmpty());
+    }
+
+    @Test
+    void concurrentSetAndMap() throws InterruptedException {
+
+        ValidatedSet<Tag> set = ValidatedSet.concurrent(CollectionConstraints.size(0, 10_000));
+        ValidatedMap<Integer, Tag> map = ValidatedMap.concurrent(CollectionConstraints.size(0, 10_000));
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        for (int thread = 0; thread < 4; thread++) {
+            int offset = thread * 1_000;
+            pool.execute(() -> {
+                for (int i = offset; i < offset + 1_000; i++) {
+                    set.add(new Tag("tag" + i));
+                    map.put(i, new Tag("tag" + i));
+                }
+            });
+        }
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(4_000, set.size());
+        assertEquals(4_000, map.size());
+        set.validateCollection();
+        map.validateCollection();
+    }
+
+    private static <T> ConstraintViolation<T> single(Set<ConstraintViolation<T>> violations) {
+        assertEquals(1, violations.size());
+        return violations.iterator().next();
+    }
+
+    /**
+     * A simple constrained element.
+     */
+    private static final class Tag {
+
+        @NotBlank
+        private final String name;
+
+        private Tag(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Tag && String.valueOf(name).equals(String.valueOf(((Tag) other).name));
+        }
+
+        @Override
+        public int hashCode() {
+            return String.valueOf(name).hashCode();
+        }
+    }
+
+    /**
+     * Counts how many times it's been validated.
+     */
+    private static final class Counted {
+
+        private static final AtomicInteger VALIDATIONS = new AtomicInteger();
+
+        @AssertTrue
+        public boolean isCounted() {
+            VALIDATIONS.incrementAndGet();
+            return true;
+        }
+    }
+}
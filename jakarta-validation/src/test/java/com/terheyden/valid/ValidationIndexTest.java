@@ -0,0 +1,108 @@
+package com.terheyden.valid;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ValidationIndexTest unit tests.
+ */
+class ValidationIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void indexedClasses_areLoaded() throws IOException {
+
+        try (URLClassLoader classLoader = indexClassLoader(
+            "# Validated classes",
+            Cat.class.getName(),
+            "",
+            "com.example.Missing",
+            Order.class.getName(),
+            Cat.class.getName())) {
+
+            List<Class<?>> classes = ValidationIndex.loadClasses(classLoader);
+
+            assertEquals(List.of(Cat.class, Order.class), classes);
+            assertEquals(2, ValidationIndex.preload(classes));
+        }
+    }
+
+    @Test
+    void preload_usesContextClassLoader() throws IOException {
+
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+
+        try (URLClassLoader classLoader = indexClassLoader(Cat.class.getName())) {
+
+            thread.setContextClassLoader(classLoader);
+            assertEquals(1, Valid.preload());
+
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    @Test
+    void preloadedClasses_validateAsUsual() {
+
+        assertEquals(2, Valid.preload(Cat.class, Order.class));
+        assertEquals(1, Valid.checkObject(new Cat(" ")).size());
+        assertTrue(Valid.checkObject(new Order(1)).isEmpty());
+    }
+
+    @Test
+    void training_preloadsGivenClasses() throws ClassNotFoundException {
+        PreloadTraining.main(new String[] { Order.class.getName() });
+    }
+
+    private URLClassLoader indexClassLoader(String... lines) throws IOException {
+
+        Path index = tempDir.resolve(ValidationIndex.RESOURCE);
+        Files.createDirectories(index.getParent());
+        Files.write(index, List.of(lines), StandardCharsets.UTF_8);
+
+        return new URLClassLoader(new URL[] { tempDir.toUri().toURL() }, getClass().getClassLoader());
+    }
+
+    /**
+     * Has a property constraint.
+     */
+    private static final class Cat {
+
+        @NotBlank
+        private final String name;
+
+        private Cat(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Has a constructor parameter constraint.
+     */
+    private static final class Order {
+
+        private final int quantity;
+
+        private Order(@Positive int quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.terheyden.valid;
 
 import javax.annotation.Nullable;
 import java.lang.StackWalker.StackFrame;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -24,41 +25,90 @@ final class ArgValidation {
 
     private static final Logger LOG = getLogger(ArgValidation.class);
 
+    /**
+     * The constructor to validate for each class, when that doesn't depend on the args:
+     * a record's canonical constructor, or a class's only constructor.
+     * Empty if the constructor has to be matched against the args every time.
+     */
+    private static final ClassValue<Optional<Constructor<Object>>> KNOWN_CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Optional<Constructor<Object>> computeValue(Class<?> type) {
+            return findCanonicalConstructor(type).or(() -> findSingularMatchingConstructor(type));
+        }
+    };
+
     private ArgValidation() {
         // Private since this class shouldn't be instantiated.
     }
 
-    static <T> Set<ConstraintViolation<T>> checkMethodArgs(T thisObj, Object[] methodArgs) {
+    /**
+     * Find the class's constructor to validate ahead of time, so the first constructor arg validation is fast.
+     */
+    static void preload(Class<?> type) {
+        knownConstructor(type);
+    }
+
+    /**
+     * The constructor to validate for the class when that doesn't depend on the args, found once per class.
+     */
+    static Optional<Constructor<Object>> knownConstructor(Class<?> type) {
+        return KNOWN_CONSTRUCTORS.get(type);
+    }
+
+    /**
+     * Validate the args of the method that called {@link Valid}.
+     * Must be called directly from {@link Valid}, since it uses the call stack to find the method.
+     *
+     * @param groups the validation groups to use; empty means the default group
+     */
+    static <T> Set<ConstraintViolation<T>> checkMethodArgs(T thisObj, Object[] methodArgs, Class<?>[] groups) {
         StackFrame stackFrame = Reflections.getStackFrame(3);
         String methodName = stackFrame.getMethodName();
-        return checkMethodArgsInternal(thisObj, methodName, methodArgs);
+        return checkMethodArgsInternal(thisObj, methodName, methodArgs, groups);
     }
 
     private static <T> Set<ConstraintViolation<T>> checkMethodArgsInternal(
         T thisObj,
         String currentMethodName,
-        Object[] methodArgs) {
+        Object[] methodArgs,
+        Class<?>[] groups) {
 
         Class<?> thisObjClass = thisObj.getClass();
         Method currentMethod = findMatchingMethod(thisObjClass, currentMethodName, methodArgs);
-        return Valid.EXECUTABLE_VALIDATOR.validateParameters(thisObj, currentMethod, methodArgs);
+        Class<?>[] resolvedGroups = ValidationGroups.checkGroups(groups);
+        return Valid.EXECUTABLE_VALIDATOR.validateParameters(thisObj, currentMethod, methodArgs, resolvedGroups);
     }
 
-    static Set<ConstraintViolation<Object>> checkConstructorArgs(Object[] argValues) throws Exception {
+    /**
+     * Validate the args of the constructor that called {@link Valid}.
+     * Must be called directly from {@link Valid}, since it uses the call stack to find the constructor.
+     *
+     * @param groups the validation groups to use; empty means the default group
+     */
+    static Set<ConstraintViolation<Object>> checkConstructorArgs(Object[] argValues, Class<?>[] groups) {
 
         StackFrame stackFrame = Reflections.getStackFrame(3);
-        String thisClassName = stackFrame.getClassName();
-        Class<?> thisObjClass = Class.forName(thisClassName);
+        @SuppressWarnings("unchecked")
+        Class<Object> thisObjClass = (Class<Object>) stackFrame.getDeclaringClass();
 
-        return checkConstructorArgsInternal(thisObjClass, argValues);
+        return checkConstructorArgs(thisObjClass, argValues, groups);
     }
 
-    private static Set<ConstraintViolation<Object>> checkConstructorArgsInternal(
-        Class<?> thisObjClass,
-        Object[] constructorArgs) {
-
-        Constructor<Object> constructor = findMatchingConstructor(thisObjClass, constructorArgs);
-        return Valid.EXECUTABLE_VALIDATOR.validateConstructorParameters(constructor, constructorArgs);
+    /**
+     * Validate the args of a constructor of the given class.
+     * Doesn't look at the call stack, so it can be called from anywhere.
+     *
+     * @param groups the validation groups to use; empty means the default group
+     */
+    static <T> Set<ConstraintViolation<T>> checkConstructorArgs(
+        Class<T> thisObjClass,
+        Object[] constructorArgs,
+        Class<?>[] groups) {
+
+        @SuppressWarnings("unchecked")
+        Constructor<T> constructor = (Constructor<T>) findMatchingConstructor(thisObjClass, constructorArgs);
+        Class<?>[] resolvedGroups = ValidationGroups.checkGroups(groups);
+        return Valid.EXECUTABLE_VALIDATOR.validateConstructorParameters(constructor, constructorArgs, resolvedGroups);
     }
 
     private static Method findMatchingMethod(Class<?> methodClass, String methodName, Object[] argValues) {
@@ -69,7 +119,9 @@ final class ArgValidation {
     }
 
     private static Constructor<Object> findMatchingConstructor(Class<?> constructorClass, Object[] argValues) {
-        return findSingularMatchingConstructor(constructorClass)
+        return knownConstructor(constructorClass)
+            // A record can have other constructors, which delegate to the canonical one, even with the same arity.
+            .filter(constructor -> isSimilarConstructor(constructor, argValues))
             .or(() -> findSimilarMatchingConstructor(constructorClass, argValues))
             .or(() -> findConstructorByArgCount(constructorClass, argValues.length))
             .orElseThrow(() -> new IllegalArgumentException("No matching constructor found."));
@@ -90,12 +142,29 @@ final class ArgValidation {
             : Optional.empty();
     }
 
+    /**
+     * If the class is a record, return its canonical constructor — the one that takes every component, in order.
+     * Its parameters carry the constraints declared on the record components.
+     */
+    @SuppressWarnings("unchecked")
+    private static Optional<Constructor<Object>> findCanonicalConstructor(Class<?> recordClass) {
+        return Reflections.getRecordComponentTypes(recordClass).map(componentTypes -> {
+            try {
+
+                return (Constructor<Object>) recordClass.getDeclaredConstructor(componentTypes);
+
+            } catch (NoSuchMethodException e) {
+                return ValidUtils.throwUnchecked(e);
+            }
+        });
+    }
+
     /**
      * If there is a single constructor, return it.
      */
     @SuppressWarnings("unchecked")
     private static Optional<Constructor<Object>> findSingularMatchingConstructor(Class<?> constructorClass) {
-        Constructor[] constructors = constructorClass.getDeclaredConstructors();
+        Constructor<?>[] constructors = constructorClass.getDeclaredConstructors();
         return constructors.length == 1
             ? Optional.of((Constructor<Object>) constructors[0])
             : Optional.empty();
@@ -169,7 +238,7 @@ final class ArgValidation {
     /**
      * Performs a more lenient check than {@link Class#getDeclaredMethod(String, Class[])}.
      * If a param is null, keep going and check the others.
-     * If a param is not null, do an instanceof check instead of exact class match.
+     * If a param is not null, do an instanceof check (of the boxed type, for primitives) instead of exact class match.
      */
     private static boolean isSimilarConstructor(Constructor<?> constructor, Object[] argValues) {
 
@@ -190,7 +259,7 @@ final class ArgValidation {
             }
 
             // Here we do a more lenient check than findExactMatchingMethod.
-            if (paramType.isAssignableFrom(paramValue.getClass())) {
+            if (!MethodType.methodType(paramType).wrap().returnType().isInstance(paramValue)) {
                 // Not a match.
                 return false;
             }
@@ -0,0 +1,347 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidator;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorInitializationContext;
+import org.hibernate.validator.group.GroupSequenceProvider;
+import org.hibernate.validator.internal.engine.constraintvalidation.HibernateConstraintValidatorInitializationContextImpl;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.ConstraintViolation;
+import javax.validation.GroupSequence;
+import javax.validation.MessageInterpolator;
+import javax.validation.ValidationException;
+import javax.validation.groups.Default;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+
+/**
+ * Helper class that runs an object's {@link AsyncConstraintValidator}s concurrently.
+ * Used by {@link Valid}.
+ * <p>
+ * The root bean's eligible async constraints are started on the executor. Meanwhile, the rest of the object
+ * is validated as usual on the calling thread: first everything but the properties with async constraints,
+ * then those properties, with their async validators deferring to the concurrent checks.
+ */
+final class AsyncValidation {
+
+    static final int DEFAULT_POOL_SIZE = 64;
+
+    // Set while validating properties whose async constraints are being checked concurrently.
+    private static final ThreadLocal<Boolean> DEFERRING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private static final ClassValue<List<AsyncProperty>> ASYNC_PROPERTIES = new ClassValue<>() {
+        @Override
+        protected List<AsyncProperty> computeValue(Class<?> type) {
+            return findAsyncProperties(type);
+        }
+    };
+
+    private AsyncValidation() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    /**
+     * True if async validators should leave the checking to {@link #checkObject(Object, Executor)}.
+     */
+    static boolean isDeferring() {
+        return DEFERRING.get();
+    }
+
+    /**
+     * The bounded pool used when no executor is given.
+     * Created on first use, so apps that never validate asynchronously don't start it.
+     */
+    static Executor defaultPool() {
+        return DefaultPool.POOL;
+    }
+
+    static <T> CompletableFuture<Set<ConstraintViolation<T>>> checkObject(T rootBean, Executor executor) {
+
+        List<AsyncProperty> asyncProperties = ASYNC_PROPERTIES.get(rootBean.getClass());
+
+        if (asyncProperties.isEmpty()) {
+            return CompletableFuture.completedFuture(Valid.checkObject(rootBean));
+        }
+
+        List<CompletableFuture<Optional<ConstraintViolation<T>>>> asyncChecks = new ArrayList<>();
+        Set<String> asyncPropertyNames = new HashSet<>();
+
+        for (AsyncProperty property : asyncProperties) {
+
+            asyncPropertyNames.add(property.name);
+            @Nullable Object value = property.reader.apply(rootBean);
+
+            for (AsyncCheck check : property.checks) {
+                asyncChecks.add(CompletableFuture
+                    .supplyAsync(() -> check.isValidAsync(value), executor)
+                    .thenCompose(Function.identity())
+                    .thenApply(valid -> valid
+                        ? Optional.empty()
+                        : Optional.of(check.createViolation(rootBean, property.name, value))));
+            }
+        }
+
+        // Validate everything else on this thread while the async checks are running.
+        RootPropertiesTraversableResolver resolver = RootPropertiesTraversableResolver.skipProperties(
+            Valid.FACTORY.getTraversableResolver(), rootBean, asyncPropertyNames);
+
+        Set<ConstraintViolation<T>> violations = new HashSet<>(Valid.FACTORY.usingContext()
+            .traversableResolver(resolver)
+            .getValidator()
+            .validate(rootBean));
+
+        DEFERRING.set(Boolean.TRUE);
+        try {
+            for (String propertyName : asyncPropertyNames) {
+                violations.addAll(Valid.VALIDATOR.validateProperty(rootBean, propertyName));
+            }
+        } finally {
+            DEFERRING.remove();
+        }
+
+        return CompletableFuture
+            .allOf(asyncChecks.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                asyncChecks.forEach(check -> check.join().ifPresent(violations::add));
+                return violations;
+            });
+    }
+
+    private static List<AsyncProperty> findAsyncProperties(Class<?> type) {
+
+        if (type.isAnnotationPresent(GroupSequence.class) || type.isAnnotationPresent(GroupSequenceProvider.class)) {
+            // The default group is redefined; leave it all to the validator.
+            return Collections.emptyList();
+        }
+
+        List<AsyncProperty> asyncProperties = new ArrayList<>();
+
+        for (PropertyDescriptor property : Valid.VALIDATOR.getConstraintsForClass(type).getConstrainedProperties()) {
+
+            if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+                continue;
+            }
+
+            Optional<Function<Object, Object>> reader = Reflections.findPropertyReader(type, property.getPropertyName());
+            Optional<List<AsyncCheck>> checks = findAsyncChecks(property);
+
+            if (reader.isPresent() && checks.isPresent() && !checks.get().isEmpty()) {
+                asyncProperties.add(new AsyncProperty(property.getPropertyName(), reader.get(), checks.get()));
+            }
+        }
+
+        return asyncProperties;
+    }
+
+    /**
+     * The property's async checks, or empty if it has async constraints that can't be checked concurrently.
+     */
+    private static Optional<List<AsyncCheck>> findAsyncChecks(PropertyDescriptor property) {
+
+        List<AsyncCheck> checks = new ArrayList<>();
+
+        for (ConstraintDescriptor<?> constraint : property.getConstraintDescriptors()) {
+
+            if (!hasAsyncValidator(constraint)) {
+                continue;
+            }
+
+            List<? extends Class<?>> validatorClasses = constraint.getConstraintValidatorClasses();
+
+            if (validatorClasses.size() != 1 || !constraint.getComposingConstraints().isEmpty()) {
+                return Optional.empty();
+            }
+
+            if (constraint.getGroups().contains(Default.class)) {
+                checks.add(new AsyncCheck(constraint, validatorClasses.get(0)));
+            }
+        }
+
+        return Optional.of(checks);
+    }
+
+    private static boolean hasAsyncValidator(ConstraintDescriptor<?> constraint) {
+
+        for (Class<?> validatorClass : constraint.getConstraintValidatorClasses()) {
+            if (AsyncConstraintValidator.class.isAssignableFrom(validatorClass)) {
+                return true;
+            }
+        }
+
+        for (ConstraintDescriptor<?> composingConstraint : constraint.getComposingConstraints()) {
+            if (hasAsyncValidator(composingConstraint)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * A root bean property with async constraints.
+     */
+    private static final class AsyncProperty {
+
+        private final String name;
+        private final Function<Object, Object> reader;
+        private final List<AsyncCheck> checks;
+
+        private AsyncProperty(String name, Function<Object, Object> reader, List<AsyncCheck> checks) {
+            this.name = name;
+            this.reader = reader;
+            this.checks = checks;
+        }
+    }
+
+    /**
+     * One async constraint, with its own initialized validator.
+     */
+    private static final class AsyncCheck {
+
+        private final ConstraintDescriptor<?> constraint;
+        // The async validator, or its caching wrapper if it's a CacheableConstraint.
+        private final ConstraintValidator<?, Object> validator;
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private AsyncCheck(ConstraintDescriptor<?> constraint, Class<?> validatorClass) {
+
+            ConstraintValidatorFactory validatorFactory = Valid.FACTORY.getConstraintValidatorFactory();
+            ConstraintValidator instance = validatorFactory.getInstance((Class) validatorClass);
+
+            // Initialized like Hibernate does it: the Hibernate-specific call first, then the standard one.
+            if (instance instanceof HibernateConstraintValidator) {
+                ((HibernateConstraintValidator) instance).initialize(constraint, initializationContext());
+            }
+
+            instance.initialize(constraint.getAnnotation());
+
+            this.constraint = constraint;
+            this.validator = instance;
+        }
+
+        @SuppressWarnings("unchecked")
+        private CompletionStage<Boolean> isValidAsync(@Nullable Object value) {
+
+            if (validator instanceof CachingConstraintValidator) {
+                return ((CachingConstraintValidator<?, Object>) validator).isValidAsync(value);
+            }
+
+            return ((AsyncConstraintValidator<?, Object>) validator).isValidAsync(value);
+        }
+
+        private static HibernateConstraintValidatorInitializationContext initializationContext() {
+
+            HibernateValidatorFactory factory = Valid.FACTORY.unwrap(HibernateValidatorFactory.class);
+
+            return new HibernateConstraintValidatorInitializationContextImpl(
+                factory.getScriptEvaluatorFactory(),
+                factory.getClockProvider(),
+                factory.getTemporalValidationTolerance());
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> ConstraintViolation<T> createViolation(T rootBean, String propertyName, @Nullable Object value) {
+
+            String messageTemplate = constraint.getMessageTemplate();
+            String message = Valid.FACTORY.getMessageInterpolator()
+                .interpolate(messageTemplate, new InterpolatorContext(constraint, value));
+
+            // The property is the root bean's own, so the root bean is also the leaf bean.
+            return new RuleViolation<>(
+                (Class<T>) rootBean.getClass(),
+                rootBean,
+                ViolationInterner.path(propertyName),
+                message,
+                messageTemplate,
+                value,
+                constraint);
+        }
+    }
+
+    /**
+     * What the message interpolator needs to fill in a constraint's message.
+     */
+    private static final class InterpolatorContext implements MessageInterpolator.Context {
+
+        private final ConstraintDescriptor<?> constraint;
+        @Nullable
+        private final Object value;
+
+        private InterpolatorContext(ConstraintDescriptor<?> constraint, @Nullable Object value) {
+            this.constraint = constraint;
+            this.value = value;
+        }
+
+        @Override
+        public ConstraintDescriptor<?> getConstraintDescriptor() {
+            return constraint;
+        }
+
+        @Override
+        @Nullable
+        public Object getValidatedValue() {
+            return value;
+        }
+
+        @Override
+        public <U> U unwrap(Class<U> type) {
+
+            if (type.isInstance(this)) {
+                return type.cast(this);
+            }
+
+            throw new ValidationException("Can't unwrap to: " + type.getName());
+        }
+    }
+
+    /**
+     * Holds the default pool, so it's only created when it's first used.
+     */
+    private static final class DefaultPool {
+
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+        private static final ExecutorService POOL = createPool();
+
+        private static ExecutorService createPool() {
+
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                DEFAULT_POOL_SIZE,
+                DEFAULT_POOL_SIZE,
+                60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "valid-async-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    // Not the context class loader of whichever app thread happened to start it,
+                    // so a redeployed app isn't kept loaded by our threads.
+                    thread.setContextClassLoader(AsyncValidation.class.getClassLoader());
+                    return thread;
+                });
+
+            // Idle threads go away, so the pool costs nothing between bursts.
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.terheyden.valid;
+
+import java.lang.annotation.ElementType;
+
+import javax.validation.Path;
+import javax.validation.TraversableResolver;
+
+/**
+ * Enforces a {@link ValidationBudget} for a single validation call.
+ * Every reachability check counts as one traversed node; once the budget is spent,
+ * nothing else is reachable and the validator unwinds quickly.
+ * <p>
+ * Stateful — create a new one for every validation.
+ */
+final class BudgetTraversableResolver implements TraversableResolver {
+
+    private final TraversableResolver delegate;
+    private final long maxNodes;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+
+    private long nodeCount;
+    private boolean exceeded;
+
+    BudgetTraversableResolver(TraversableResolver delegate, ValidationBudget budget) {
+        this.delegate = delegate;
+        this.maxNodes = budget.getMaxNodes();
+        this.hasDeadline = budget.hasDeadline();
+        this.deadlineNanos = hasDeadline ? System.nanoTime() + budget.getMaxNanos() : 0L;
+    }
+
+    /**
+     * True if validation was cut short because the budget ran out.
+     */
+    boolean isExceeded() {
+        return exceeded;
+    }
+
+    @Override
+    public boolean isReachable(
+        Object traversableObject,
+        Path.Node traversableProperty,
+        Class<?> rootBeanType,
+        Path pathToTraversableObject,
+        ElementType elementType) {
+
+        return spendNode() && delegate.isReachable(
+            traversableObject, traversableProperty, rootBeanType, pathToTraversableObject, elementType);
+    }
+
+    @Override
+    public boolean isCascadable(
+        Object traversableObject,
+        Path.Node traversableProperty,
+        Class<?> rootBeanType,
+        Path pathToTraversableObject,
+        ElementType elementType) {
+
+        return !exceeded && delegate.isCascadable(
+            traversableObject, traversableProperty, rootBeanType, pathToTraversableObject, elementType);
+    }
+
+    private boolean spendNode() {
+
+        if (exceeded) {
+            return false;
+        }
+
+        if (++nodeCount > maxNodes || (hasDeadline && System.nanoTime() - deadlineNanos > 0)) {
+            exceeded = true;
+            return false;
+        }
+
+        return true;
+    }
+}
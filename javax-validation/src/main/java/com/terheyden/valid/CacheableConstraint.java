@@ -0,0 +1,41 @@
+package com.terheyden.valid;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Put this on an expensive {@code ConstraintValidator} (e.g. one that checks a large reference set,
+ * or computes a checksum) to cache its results, for validators built by {@link Valid#FACTORY}
+ * and {@link ValidatorRegistry}.
+ * <p>
+ * Results are cached per constraint (the annotation, with all its attributes) and value,
+ * and shared by every factory. Only use this when:
+ * <ul>
+ *     <li>the result only depends on the constraint and the value, for at least the TTL</li>
+ *     <li>the validated values have proper {@code equals()} and {@code hashCode()}, and aren't changed</li>
+ *     <li>the validator doesn't build its own violations with the {@code ConstraintValidatorContext},
+ *     since only the result is cached</li>
+ * </ul>
+ * When the cache fills up, expired results are dropped, then arbitrary ones, until it's three quarters full.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheableConstraint {
+
+    /**
+     * How long a result is cached for, in {@link #unit()}s.
+     */
+    long ttl() default 60;
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    /**
+     * The max number of cached results for this validator.
+     */
+    int maxSize() default 10_000;
+}
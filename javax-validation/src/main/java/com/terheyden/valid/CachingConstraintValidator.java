@@ -0,0 +1,221 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidator;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorInitializationContext;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.metadata.ConstraintDescriptor;
+
+/**
+ * Wraps a validator marked with {@link CacheableConstraint}, and caches its results.
+ * Created by {@link SharedConstraintValidatorFactory}.
+ * <p>
+ * Both of Hibernate Validator's initialization calls are forwarded, so a wrapped
+ * {@link HibernateConstraintValidator} is initialized like it would be unwrapped.
+ * A wrapped {@link AsyncConstraintValidator} is checked through the cache by {@link #isValidAsync(Object)},
+ * and isn't cached at all while it's deferring to those concurrent checks.
+ * <p>
+ * Thread-safe, if the wrapped validator is.
+ */
+final class CachingConstraintValidator<A extends Annotation, T> implements HibernateConstraintValidator<A, T> {
+
+    // One cache per validator class, shared by every factory.
+    private static final ClassValue<ResultCache> CACHES = new ClassValue<>() {
+        @Override
+        protected ResultCache computeValue(Class<?> validatorClass) {
+            return new ResultCache(validatorClass.getAnnotation(CacheableConstraint.class));
+        }
+    };
+
+    private final ConstraintValidator<A, T> delegate;
+    private final ResultCache cache;
+    private A constraint;
+    // Annotations compute their hash codes reflectively, so we only do it once.
+    private int constraintHash;
+
+    CachingConstraintValidator(ConstraintValidator<A, T> delegate) {
+        this.delegate = delegate;
+        this.cache = CACHES.get(delegate.getClass());
+    }
+
+    ConstraintValidator<A, T> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void initialize(
+        ConstraintDescriptor<A> constraintDescriptor,
+        HibernateConstraintValidatorInitializationContext initializationContext) {
+
+        if (delegate instanceof HibernateConstraintValidator) {
+            ((HibernateConstraintValidator<A, T>) delegate).initialize(constraintDescriptor, initializationContext);
+        }
+    }
+
+    @Override
+    public void initialize(A constraintAnnotation) {
+        constraint = constraintAnnotation;
+        constraintHash = constraintAnnotation.hashCode();
+        delegate.initialize(constraintAnnotation);
+    }
+
+    @Override
+    public boolean isValid(@Nullable T value, ConstraintValidatorContext context) {
+
+        if (AsyncValidation.isDeferring() && delegate instanceof AsyncConstraintValidator) {
+            // Not a real result; the value is being checked concurrently.
+            return delegate.isValid(value, context);
+        }
+
+        ResultKey key = new ResultKey(constraint, constraintHash, value);
+        Boolean cached = cache.get(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean valid = delegate.isValid(value, context);
+        cache.put(key, valid);
+        return valid;
+    }
+
+    /**
+     * Check the value with the wrapped {@link AsyncConstraintValidator}, through the cache.
+     * Used by {@link AsyncValidation}.
+     */
+    CompletionStage<Boolean> isValidAsync(@Nullable T value) {
+
+        ResultKey key = new ResultKey(constraint, constraintHash, value);
+        Boolean cached = cache.get(key);
+
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return ((AsyncConstraintValidator<A, T>) delegate).isValidAsync(value).thenApply(valid -> {
+            cache.put(key, valid);
+            return valid;
+        });
+    }
+
+    /**
+     * Bounded results with a TTL.
+     * A full cache is swept at most once per quarter of its size in new results, rather than on every miss.
+     */
+    private static final class ResultCache {
+
+        private final long ttlNanos;
+        private final int maxSize;
+        private final Map<ResultKey, Result> results = new ConcurrentHashMap<>();
+
+        private ResultCache(CacheableConstraint settings) {
+            this.ttlNanos = settings.unit().toNanos(settings.ttl());
+            this.maxSize = settings.maxSize();
+        }
+
+        @Nullable
+        private Boolean get(ResultKey key) {
+
+            Result result = results.get(key);
+
+            if (result == null) {
+                return null;
+            }
+
+            if (System.nanoTime() - result.expiresAtNanos >= 0) {
+                results.remove(key, result);
+                return null;
+            }
+
+            return result.valid;
+        }
+
+        private void put(ResultKey key, boolean valid) {
+
+            if (maxSize <= 0) {
+                return;
+            }
+
+            long now = System.nanoTime();
+
+            if (results.size() >= maxSize) {
+                evict(now);
+            }
+
+            results.put(key, new Result(valid, now + ttlNanos));
+        }
+
+        /**
+         * Drop expired results, then arbitrary ones until the cache is three quarters full.
+         */
+        private void evict(long now) {
+
+            results.values().removeIf(result -> now - result.expiresAtNanos >= 0);
+
+            Iterator<ResultKey> keys = results.keySet().iterator();
+            while (results.size() > maxSize * 3 / 4 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * A cached result, and when it expires.
+     */
+    private static final class Result {
+
+        private final boolean valid;
+        private final long expiresAtNanos;
+
+        private Result(boolean valid, long expiresAtNanos) {
+            this.valid = valid;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /**
+     * A constraint (the annotation, with all its attributes) and the value it was checked against.
+     */
+    private static final class ResultKey {
+
+        private final Annotation constraint;
+        @Nullable
+        private final Object value;
+        private final int hashCode;
+
+        private ResultKey(Annotation constraint, int constraintHash, @Nullable Object value) {
+            this.constraint = constraint;
+            this.value = value;
+            this.hashCode = 31 * constraintHash + Objects.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+
+            if (!(other instanceof ResultKey)) {
+                return false;
+            }
+
+            ResultKey that = (ResultKey) other;
+            return hashCode == that.hashCode
+                && (constraint == that.constraint || constraint.equals(that.constraint))
+                && Objects.equals(value, that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Path;
+import javax.validation.metadata.ConstraintDescriptor;
+
+/**
+ * A violation of one of the {@link CollectionConstraints} on a validated collection.
+ * The collection itself is the root bean and the invalid value.
+ */
+final class CollectionViolation<T> implements ConstraintViolation<T> {
+
+    private final T collection;
+    private final String message;
+    private final String messageTemplate;
+
+    CollectionViolation(T collection, String message, String messageTemplate) {
+        this.collection = collection;
+        this.message = message;
+        this.messageTemplate = messageTemplate;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String getMessageTemplate() {
+        return messageTemplate;
+    }
+
+    @Override
+    public T getRootBean() {
+        return collection;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<T> getRootBeanClass() {
+        return (Class<T>) collection.getClass();
+    }
+
+    @Override
+    public Object getLeafBean() {
+        return collection;
+    }
+
+    @Override
+    @Nullable
+    public Object[] getExecutableParameters() {
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public Object getExecutableReturnValue() {
+        return null;
+    }
+
+    @Override
+    public Path getPropertyPath() {
+        return ViolationInterner.EMPTY_PATH;
+    }
+
+    @Override
+    public Object getInvalidValue() {
+        return collection;
+    }
+
+    @Override
+    @Nullable
+    public ConstraintDescriptor<?> getConstraintDescriptor() {
+        return null;
+    }
+
+    @Override
+    public <U> U unwrap(Class<U> type) {
+        return type.cast(this);
+    }
+
+    @Override
+    public String toString() {
+        return ValidUtils.violationToString(this);
+    }
+}
@@ -0,0 +1,149 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Path;
+
+/**
+ * Validation rules for a class, defined in code instead of with annotations.
+ * Create with {@link Valid#rules(Class)}:
+ * <pre>{@code
+ * CompiledRules<User> userRules = Valid.rules(User.class)
+ *     .field("name", User::getName).notBlank().size(3, 50)
+ *     .field("age", User::getAge).min(18)
+ *     .build();
+ *
+ * Set<ConstraintViolation<User>> violations = userRules.check(user);
+ * }</pre>
+ * Checking is just a loop over the rules' getters and predicates — no reflection and no metadata lookups —
+ * so this works well for hot types, and for types that can't be annotated (e.g. generated code).
+ * Violations have the usual property paths and messages, but no constraint descriptor.
+ * <p>
+ * Immutable and thread-safe.
+ */
+public final class CompiledRules<T> {
+
+    private final FieldCheck<T>[] fieldChecks;
+    private final Rule<T>[] objectRules;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    CompiledRules(List<FieldCheck<T>> fieldChecks, List<Rule<T>> objectRules) {
+        this.fieldChecks = fieldChecks.toArray(new FieldCheck[0]);
+        this.objectRules = objectRules.toArray(new Rule[0]);
+    }
+
+    /**
+     * Check the object against these rules, returning any violations.
+     * To throw an exception if any violations are found, use {@link #validate(Object)} instead.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @return a set of constraint violations, or an empty set if no violations were found
+     */
+    @SuppressWarnings("unchecked")
+    public Set<ConstraintViolation<T>> check(@Nullable T objectToValidate) {
+
+        if (objectToValidate == null) {
+            return Collections.singleton(Valid.NULL_ORIGIN_VIOLATION);
+        }
+
+        Set<ConstraintViolation<T>> violations = Collections.emptySet();
+
+        for (FieldCheck<T> fieldCheck : fieldChecks) {
+
+            // Read each field once, for all of its rules.
+            Object value = fieldCheck.getter.apply(objectToValidate);
+
+            for (Rule<Object> rule : fieldCheck.rules) {
+                if (!rule.predicate.test(value)) {
+                    violations = add(violations, rule.violation(objectToValidate, value));
+                }
+            }
+        }
+
+        for (Rule<T> rule : objectRules) {
+            if (!rule.predicate.test(objectToValidate)) {
+                violations = add(violations, rule.violation(objectToValidate, objectToValidate));
+            }
+        }
+
+        return violations;
+    }
+
+    /**
+     * Check the object against these rules, throwing an exception if any violations are found.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @throws NullPointerException if the object to validate is null
+     * @throws ConstraintViolationException if any violations are found
+     * @return {@code objectToValidate}, for chaining
+     */
+    public T validate(@Nullable T objectToValidate) {
+
+        if (objectToValidate == null) {
+            throw new NullPointerException("Object to validate is null.");
+        }
+
+        Set<ConstraintViolation<T>> violations = check(objectToValidate);
+
+        if (violations.isEmpty()) {
+            return objectToValidate;
+        }
+
+        throw new ConstraintViolationException(violations);
+    }
+
+    private static <T> Set<ConstraintViolation<T>> add(
+        Set<ConstraintViolation<T>> violations,
+        ConstraintViolation<T> violation) {
+
+        Set<ConstraintViolation<T>> mutableViolations = violations.isEmpty() ? new HashSet<>() : violations;
+        mutableViolations.add(violation);
+        return mutableViolations;
+    }
+
+    /**
+     * One field's getter, and the rules for its value.
+     */
+    static final class FieldCheck<T> {
+
+        private final Function<? super T, ?> getter;
+        private final Rule<Object>[] rules;
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        FieldCheck(Function<? super T, ?> getter, List<Rule<Object>> rules) {
+            this.getter = getter;
+            this.rules = rules.toArray(new Rule[0]);
+        }
+    }
+
+    /**
+     * One predicate, and how to describe it when it fails.
+     */
+    static final class Rule<V> {
+
+        private final Predicate<? super V> predicate;
+        private final Path propertyPath;
+        private final String message;
+        private final String messageTemplate;
+
+        Rule(Predicate<? super V> predicate, String propertyPath, String message, String messageTemplate) {
+            this.predicate = predicate;
+            // Parsed once, and shared by all of this rule's violations.
+            this.propertyPath = ViolationInterner.path(propertyPath);
+            this.message = message;
+            this.messageTemplate = messageTemplate;
+        }
+
+        private <T> ConstraintViolation<T> violation(T rootBean, @Nullable Object invalidValue) {
+            return new RuleViolation<>(rootBean, propertyPath, message, messageTemplate, invalidValue);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * A violation read back by {@link ViolationDecoder}.
+ * Only the parts that survive encoding are kept, as plain values.
+ * <p>
+ * Immutable and thread-safe.
+ */
+public final class DecodedViolation {
+
+    private final String rootBeanClassName;
+    private final String propertyPath;
+    private final String messageTemplate;
+    private final String message;
+    @Nullable
+    private final Object invalidValue;
+
+    DecodedViolation(
+        String rootBeanClassName,
+        String propertyPath,
+        String messageTemplate,
+        String message,
+        @Nullable Object invalidValue) {
+
+        this.rootBeanClassName = rootBeanClassName;
+        this.propertyPath = propertyPath;
+        this.messageTemplate = messageTemplate;
+        this.message = message;
+        this.invalidValue = invalidValue;
+    }
+
+    public String getRootBeanClassName() {
+        return rootBeanClassName;
+    }
+
+    public String getPropertyPath() {
+        return propertyPath;
+    }
+
+    public String getMessageTemplate() {
+        return messageTemplate;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * The invalid value: null, a {@code Boolean}, a {@code Long} for whole numbers,
+     * a {@code Double} for floating point numbers, or the {@code toString()} of anything else.
+     */
+    @Nullable
+    public Object getInvalidValue() {
+        return invalidValue;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof DecodedViolation)) {
+            return false;
+        }
+
+        DecodedViolation that = (DecodedViolation) other;
+        return rootBeanClassName.equals(that.rootBeanClassName)
+            && propertyPath.equals(that.propertyPath)
+            && messageTemplate.equals(that.messageTemplate)
+            && message.equals(that.message)
+            && Objects.equals(invalidValue, that.invalidValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rootBeanClassName, propertyPath, messageTemplate, message, invalidValue);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: '%s' %s (invalid value: %s)", rootBeanClassName, propertyPath, message, invalidValue);
+    }
+}
@@ -0,0 +1,50 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * Validates the elements of a numeric array or collection against an {@code @Element*} constraint.
+ * If every element is in range, no violations or path nodes are created;
+ * otherwise there is one violation per offending index, e.g. {@code samples[42]}.
+ *
+ * @param <A> the constraint annotation
+ * @param <T> the validated container type
+ */
+abstract class ElementBoundsValidator<A extends Annotation, T> implements ConstraintValidator<A, T> {
+
+    private final ElementBounds.Kernel<T> kernel;
+    private ElementBounds bounds;
+
+    ElementBoundsValidator(ElementBounds.Kernel<T> kernel) {
+        this.kernel = kernel;
+    }
+
+    @Override
+    public void initialize(A annotation) {
+        bounds = ElementBounds.of(annotation);
+    }
+
+    @Override
+    public boolean isValid(@Nullable T values, ConstraintValidatorContext context) {
+
+        if (values == null || kernel.allInRange(values, bounds)) {
+            return true;
+        }
+
+        String messageTemplate = context.getDefaultConstraintMessageTemplate();
+        context.disableDefaultConstraintViolation();
+
+        kernel.forEachOutOfRange(values, bounds, index -> context
+            .buildConstraintViolationWithTemplate(messageTemplate)
+            .addBeanNode()
+            .inIterable()
+            .atIndex(index)
+            .addConstraintViolation());
+
+        return false;
+    }
+}
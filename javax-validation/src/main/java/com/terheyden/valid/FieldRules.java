@@ -0,0 +1,185 @@
+package com.terheyden.valid;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * The rules for one field, in a {@link RuleBuilder}.
+ * Each rule behaves (and is worded) like the built-in constraint of the same name,
+ * including treating null as valid for everything but {@link #notNull()}, {@link #notEmpty()},
+ * and {@link #notBlank()}.
+ * <p>
+ * The size rules apply to strings, collections, maps, and arrays, and the numeric rules to numbers;
+ * a value of any other type breaks the rule.
+ *
+ * @param <T> the type the rules apply to
+ * @param <V> the field type
+ */
+public final class FieldRules<T, V> {
+
+    private final RuleBuilder<T> ruleBuilder;
+    private final String name;
+    private final Function<? super T, ? extends V> getter;
+    private final List<CompiledRules.Rule<Object>> rules = new ArrayList<>();
+
+    FieldRules(RuleBuilder<T> ruleBuilder, String name, Function<? super T, ? extends V> getter) {
+        this.ruleBuilder = ruleBuilder;
+        this.name = name;
+        this.getter = getter;
+    }
+
+    /**
+     * Like {@code @NotNull}.
+     */
+    public FieldRules<T, V> notNull() {
+        return add(value -> value != null, "must not be null");
+    }
+
+    /**
+     * Like {@code @NotEmpty}.
+     */
+    public FieldRules<T, V> notEmpty() {
+        return add(value -> value != null && ValidUtils.sizeOf(value) > 0, "must not be empty");
+    }
+
+    /**
+     * Like {@code @NotBlank}.
+     */
+    public FieldRules<T, V> notBlank() {
+        return add(
+            value -> value instanceof CharSequence && !value.toString().trim().isEmpty(),
+            "must not be blank");
+    }
+
+    /**
+     * Like {@code @Size}.
+     */
+    public FieldRules<T, V> size(int min, int max) {
+        return add(
+            value -> value == null || isBetween(ValidUtils.sizeOf(value), min, max),
+            "size must be between " + min + " and " + max,
+            "size must be between {min} and {max}");
+    }
+
+    /**
+     * Like {@code @Min}.
+     */
+    public FieldRules<T, V> min(long min) {
+        return add(
+            value -> value == null || compare(value, min, result -> result >= 0),
+            "must be greater than or equal to " + min,
+            "must be greater than or equal to {value}");
+    }
+
+    /**
+     * Like {@code @Max}.
+     */
+    public FieldRules<T, V> max(long max) {
+        return add(
+            value -> value == null || compare(value, max, result -> result <= 0),
+            "must be less than or equal to " + max,
+            "must be less than or equal to {value}");
+    }
+
+    /**
+     * Like {@code @Positive}.
+     */
+    public FieldRules<T, V> positive() {
+        return add(value -> value == null || compare(value, 0, result -> result > 0), "must be greater than 0");
+    }
+
+    /**
+     * Like {@code @Pattern}: the whole string must match the regex.
+     */
+    public FieldRules<T, V> pattern(String regex) {
+
+        Pattern pattern = Pattern.compile(regex);
+
+        return add(
+            value -> value == null
+                || (value instanceof CharSequence && pattern.matcher((CharSequence) value).matches()),
+            "must match \"" + regex + "\"",
+            "must match \"{regexp}\"");
+    }
+
+    /**
+     * A custom rule for this field.
+     *
+     * @param predicate true if the field value is valid; called with null values too
+     * @param message the violation message if it isn't
+     */
+    @SuppressWarnings("unchecked")
+    public FieldRules<T, V> must(Predicate<? super V> predicate, String message) {
+        return add(value -> predicate.test((V) value), message);
+    }
+
+    /**
+     * Start defining the rules for another field. See {@link RuleBuilder#field(String, Function)}.
+     */
+    public <W> FieldRules<T, W> field(String fieldName, Function<? super T, ? extends W> fieldGetter) {
+        return ruleBuilder.field(fieldName, fieldGetter);
+    }
+
+    /**
+     * Add a rule for the whole object. See {@link RuleBuilder#rule(Predicate, String)}.
+     */
+    public RuleBuilder<T> rule(Predicate<? super T> predicate, String message) {
+        return ruleBuilder.rule(predicate, message);
+    }
+
+    /**
+     * Compile the rules. See {@link RuleBuilder#build()}.
+     */
+    public CompiledRules<T> build() {
+        return ruleBuilder.build();
+    }
+
+    CompiledRules.FieldCheck<T> toFieldCheck() {
+        return new CompiledRules.FieldCheck<>(getter, rules);
+    }
+
+    private FieldRules<T, V> add(Predicate<Object> predicate, String message) {
+        return add(predicate, message, message);
+    }
+
+    private FieldRules<T, V> add(Predicate<Object> predicate, String message, String messageTemplate) {
+        rules.add(new CompiledRules.Rule<>(predicate, name, message, messageTemplate));
+        return this;
+    }
+
+    private static boolean isBetween(int size, int min, int max) {
+        return size >= 0 && size >= min && size <= max;
+    }
+
+    /**
+     * Compare a number to a bound, exactly for each number type.
+     * Non-numbers and NaN always fail, like they do for the built-in constraints.
+     */
+    private static boolean compare(Object value, long bound, IntPredicate test) {
+
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return test.test(Long.compare(((Number) value).longValue(), bound));
+        }
+
+        if (value instanceof BigDecimal) {
+            return test.test(((BigDecimal) value).compareTo(BigDecimal.valueOf(bound)));
+        }
+
+        if (value instanceof BigInteger) {
+            return test.test(((BigInteger) value).compareTo(BigInteger.valueOf(bound)));
+        }
+
+        if (value instanceof Double || value instanceof Float) {
+            double doubleValue = ((Number) value).doubleValue();
+            return !Double.isNaN(doubleValue) && test.test(Double.compare(doubleValue, bound));
+        }
+
+        return false;
+    }
+}
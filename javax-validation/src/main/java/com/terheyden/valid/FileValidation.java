@@ -0,0 +1,322 @@
+package com.terheyden.valid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+import java.util.stream.LongStream;
+
+import javax.validation.ConstraintViolation;
+
+/**
+ * Validates large line-oriented files (NDJSON, CSV without multi-line fields, etc.), one record per line,
+ * without reading them into memory or validating them on a single thread.
+ * <p>
+ * The file is split into chunks on line boundaries, and each chunk is memory-mapped and validated
+ * on a {@link ForkJoinPool}: every line is mapped to a bean by the given mapper, then validated with
+ * {@link Valid#checkObject(Object)}. Invalid records are passed to the sink as they're found, with their
+ * line number and byte offset, so violations never pile up in memory. The violations are interned
+ * (see {@link ValidUtils#internViolations(Set)}), so sinks that do hold on to them stay small.
+ * <p>
+ * Line numbers are found with a quick parallel pass that counts each chunk's newlines before validating.
+ * The sink is called from the pool's threads, in no particular order, so it must be thread-safe.
+ * Lines may end with {@code \n} or {@code \r\n}; the charset must encode {@code \n} as a single byte,
+ * like UTF-8 and ISO-8859-1 do.
+ * <p>
+ * If the mapper or the sink throws, the other tasks stop at their next line, and once every task has
+ * stopped, the first exception thrown is rethrown as is. By then, some records after the failing line
+ * (and in other chunks) may already have been passed to the sink.
+ */
+public final class FileValidation {
+
+    /**
+     * How many bytes each parallel task maps and validates, by default.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 32 * 1024 * 1024;
+
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    // For finding line boundaries between chunks.
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private FileValidation() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    /**
+     * Validate every line of a UTF-8 file on the common pool. See {@link FileValidation}.
+     *
+     * @param file the file to validate
+     * @param mapper turns a line into the bean to validate; may return null to skip a line (e.g. a CSV header)
+     * @param sink receives each invalid record; must be thread-safe
+     * @return the number of invalid records
+     * @throws IOException if the file can't be read
+     */
+    public static <T> long validateLines(
+        Path file,
+        Function<String, ? extends T> mapper,
+        Consumer<? super RecordViolation<T>> sink) throws IOException {
+
+        return validateLines(file, StandardCharsets.UTF_8, mapper, sink, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Validate every line of a file. See {@link FileValidation}.
+     *
+     * @param file the file to validate
+     * @param charset the file's charset; must encode {@code \n} as a single byte
+     * @param mapper turns a line into the bean to validate; may return null to skip a line (e.g. a CSV header)
+     * @param sink receives each invalid record; must be thread-safe
+     * @param pool the pool to validate chunks on
+     * @param chunkSize roughly how many bytes each task validates; chunks are extended to the end of a line
+     * @return the number of invalid records
+     * @throws IOException if the file can't be read
+     */
+    public static <T> long validateLines(
+        Path file,
+        Charset charset,
+        Function<String, ? extends T> mapper,
+        Consumer<? super RecordViolation<T>> sink,
+        ForkJoinPool pool,
+        int chunkSize) throws IOException {
+
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+
+        if ("\n".getBytes(charset).length != 1) {
+            throw new IllegalArgumentException("Charset must encode newlines as a single byte: " + charset);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            List<Chunk> chunks = split(channel, chunkSize);
+            countLines(channel, chunks, pool);
+
+            long[] invalidRecords = runAll(chunks, pool,
+                (chunk, failure) -> validateChunk(channel, chunk, charset, mapper, sink, failure));
+
+            return LongStream.of(invalidRecords).sum();
+        }
+    }
+
+    /**
+     * Run a task for each chunk on the pool, and wait for every one of them to finish, so none is still
+     * reading the channel when it's closed. Once a task fails, the others stop early (they're given the failure
+     * to check), and the first failure is rethrown.
+     *
+     * @return each chunk's result
+     */
+    private static long[] runAll(
+        List<Chunk> chunks,
+        ForkJoinPool pool,
+        ToLongBiFunction<Chunk, AtomicReference<Throwable>> chunkTask) {
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long[] results = new long[chunks.size()];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks.size());
+
+        for (int i = 0; i < chunks.size(); i++) {
+
+            int index = i;
+            Chunk chunk = chunks.get(i);
+
+            tasks.add(pool.submit(() -> {
+                try {
+
+                    if (failure.get() == null) {
+                        results[index] = chunkTask.applyAsLong(chunk, failure);
+                    }
+
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+
+        // The tasks never complete exceptionally, so this waits for all of them.
+        tasks.forEach(ForkJoinTask::quietlyJoin);
+
+        Throwable firstFailure = failure.get();
+        if (firstFailure != null) {
+            ValidUtils.throwUnchecked(firstFailure);
+        }
+
+        return results;
+    }
+
+    /**
+     * Split the file into chunks of about {@code chunkSize} bytes, each ending just after a newline
+     * (or at the end of the file).
+     */
+    private static List<Chunk> split(FileChannel channel, int chunkSize) throws IOException {
+
+        long fileSize = channel.size();
+        List<Chunk> chunks = new ArrayList<>();
+        ByteBuffer scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+
+        long start = 0;
+        while (start < fileSize) {
+
+            long end = start + chunkSize >= fileSize
+                ? fileSize
+                : findLineEnd(channel, start + chunkSize, fileSize, scanBuffer);
+
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Line too long to map, starting after offset: " + start);
+            }
+
+            chunks.add(new Chunk(start, (int) (end - start)));
+            start = end;
+        }
+
+        return chunks;
+    }
+
+    /**
+     * Find the offset just after the first newline at or after {@code position}, or the end of the file.
+     */
+    private static long findLineEnd(FileChannel channel, long position, long fileSize, ByteBuffer scanBuffer)
+        throws IOException {
+
+        long scanPosition = position;
+
+        while (scanPosition < fileSize) {
+
+            scanBuffer.clear();
+            int read = channel.read(scanBuffer, scanPosition);
+
+            for (int i = 0; i < read; i++) {
+                if (scanBuffer.get(i) == NEWLINE) {
+                    return scanPosition + i + 1;
+                }
+            }
+
+            scanPosition += Math.max(read, 0);
+        }
+
+        return fileSize;
+    }
+
+    /**
+     * Count each chunk's newlines in parallel, and use them to set each chunk's first line number.
+     */
+    private static void countLines(FileChannel channel, List<Chunk> chunks, ForkJoinPool pool) {
+
+        long[] newlines = runAll(chunks, pool, (chunk, failure) -> countNewlines(map(channel, chunk)));
+
+        long lineNumber = 1;
+        for (int i = 0; i < chunks.size(); i++) {
+            chunks.get(i).firstLineNumber = lineNumber;
+            lineNumber += newlines[i];
+        }
+    }
+
+    private static long countNewlines(ByteBuffer buffer) {
+
+        long newlines = 0;
+        for (int i = 0, limit = buffer.limit(); i < limit; i++) {
+            if (buffer.get(i) == NEWLINE) {
+                newlines++;
+            }
+        }
+
+        return newlines;
+    }
+
+    private static <T> long validateChunk(
+        FileChannel channel,
+        Chunk chunk,
+        Charset charset,
+        Function<String, ? extends T> mapper,
+        Consumer<? super RecordViolation<T>> sink,
+        AtomicReference<Throwable> failure) {
+
+        ByteBuffer buffer = map(channel, chunk);
+        byte[] lineBytes = new byte[256];
+        long lineNumber = chunk.firstLineNumber;
+        long invalidRecords = 0;
+        int lineStart = 0;
+        int limit = buffer.limit();
+
+        // Stop early once another chunk's task has failed.
+        while (lineStart < limit && failure.get() == null) {
+
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != NEWLINE) {
+                lineEnd++;
+            }
+
+            int contentEnd = lineEnd > lineStart && buffer.get(lineEnd - 1) == CARRIAGE_RETURN ? lineEnd - 1 : lineEnd;
+            int length = contentEnd - lineStart;
+
+            if (length > 0) {
+
+                if (length > lineBytes.length) {
+                    lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+                }
+
+                buffer.position(lineStart);
+                buffer.get(lineBytes, 0, length);
+
+                T record = mapper.apply(new String(lineBytes, 0, length, charset));
+
+                if (record != null) {
+
+                    Set<ConstraintViolation<T>> violations = ValidUtils.internViolations(Valid.checkObject(record));
+
+                    if (!violations.isEmpty()) {
+                        invalidRecords++;
+                        sink.accept(new RecordViolation<>(lineNumber, chunk.start + lineStart, record, violations));
+                    }
+                }
+            }
+
+            lineNumber++;
+            lineStart = lineEnd + 1;
+        }
+
+        return invalidRecords;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, Chunk chunk) {
+        try {
+
+            return channel.map(FileChannel.MapMode.READ_ONLY, chunk.start, chunk.size);
+
+        } catch (IOException e) {
+            return ValidUtils.throwUnchecked(e);
+        }
+    }
+
+    /**
+     * A region of the file that starts at the beginning of a line.
+     */
+    private static final class Chunk {
+
+        private final long start;
+        private final int size;
+
+        // Set by countLines() before the chunk is validated.
+        private long firstLineNumber;
+
+        private Chunk(long start, int size) {
+            this.start = start;
+            this.size = size;
+        }
+    }
+}
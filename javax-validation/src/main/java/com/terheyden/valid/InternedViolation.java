@@ -0,0 +1,149 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Path;
+import javax.validation.metadata.ConstraintDescriptor;
+
+/**
+ * A copy of a violation with its property path and messages swapped for canonical, shared ones.
+ * Keeps only what {@link ConstraintViolation} exposes, so the original violation can be collected.
+ * See {@link ViolationInterner}.
+ * <p>
+ * Equal to another interned violation with the same details, like Hibernate Validator's violations are:
+ * the beans and the invalid value are compared by identity, so their own {@code equals()} isn't called.
+ */
+final class InternedViolation<T> implements ConstraintViolation<T> {
+
+    private final Class<T> rootBeanClass;
+    @Nullable
+    private final T rootBean;
+    @Nullable
+    private final Object leafBean;
+    @Nullable
+    private final Object[] executableParameters;
+    @Nullable
+    private final Object executableReturnValue;
+    @Nullable
+    private final Object invalidValue;
+    @Nullable
+    private final ConstraintDescriptor<?> constraintDescriptor;
+    private final Path propertyPath;
+    private final String message;
+    private final String messageTemplate;
+
+    InternedViolation(ConstraintViolation<T> violation, Path propertyPath, String message, String messageTemplate) {
+        this.rootBeanClass = violation.getRootBeanClass();
+        this.rootBean = violation.getRootBean();
+        this.leafBean = violation.getLeafBean();
+        this.executableParameters = violation.getExecutableParameters();
+        this.executableReturnValue = violation.getExecutableReturnValue();
+        this.invalidValue = violation.getInvalidValue();
+        this.constraintDescriptor = violation.getConstraintDescriptor();
+        this.propertyPath = propertyPath;
+        this.message = message;
+        this.messageTemplate = messageTemplate;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String getMessageTemplate() {
+        return messageTemplate;
+    }
+
+    @Override
+    @Nullable
+    public T getRootBean() {
+        return rootBean;
+    }
+
+    @Override
+    public Class<T> getRootBeanClass() {
+        return rootBeanClass;
+    }
+
+    @Override
+    @Nullable
+    public Object getLeafBean() {
+        return leafBean;
+    }
+
+    @Override
+    @Nullable
+    public Object[] getExecutableParameters() {
+        return executableParameters;
+    }
+
+    @Override
+    @Nullable
+    public Object getExecutableReturnValue() {
+        return executableReturnValue;
+    }
+
+    @Override
+    public Path getPropertyPath() {
+        return propertyPath;
+    }
+
+    @Override
+    @Nullable
+    public Object getInvalidValue() {
+        return invalidValue;
+    }
+
+    @Override
+    @Nullable
+    public ConstraintDescriptor<?> getConstraintDescriptor() {
+        return constraintDescriptor;
+    }
+
+    @Override
+    public <U> U unwrap(Class<U> type) {
+        return type.cast(this);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof InternedViolation)) {
+            return false;
+        }
+
+        InternedViolation<?> that = (InternedViolation<?>) other;
+        return rootBeanClass == that.rootBeanClass
+            && rootBean == that.rootBean
+            && leafBean == that.leafBean
+            && invalidValue == that.invalidValue
+            && propertyPath.equals(that.propertyPath)
+            && message.equals(that.message)
+            && messageTemplate.equals(that.messageTemplate)
+            && Objects.equals(constraintDescriptor, that.constraintDescriptor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            rootBeanClass,
+            System.identityHashCode(rootBean),
+            System.identityHashCode(leafBean),
+            System.identityHashCode(invalidValue),
+            propertyPath,
+            message,
+            messageTemplate);
+    }
+
+    @Override
+    public String toString() {
+        return ValidUtils.violationToString(this);
+    }
+}
@@ -0,0 +1,483 @@
+package com.terheyden.valid;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+
+/**
+ * Annotation processor that writes GraalVM native-image metadata for the classes of the project being compiled:
+ * {@code reflect-config.json} and {@code resource-config.json},
+ * under {@code META-INF/native-image/com.terheyden.valid/<project>/}.
+ * Without it, validation in a native image fails, since Hibernate Validator reads constraints reflectively.
+ * It also writes an index of the validated classes, which {@link Valid#preload()} reads at startup.
+ * <p>
+ * It isn't registered as a service, so it doesn't run just because this library is on the classpath.
+ * Name it explicitly, with {@code javac -processor com.terheyden.valid.NativeImageConfigProcessor},
+ * or in Maven:
+ * <pre>{@code
+ * <plugin>
+ *     <artifactId>maven-compiler-plugin</artifactId>
+ *     <configuration>
+ *         <annotationProcessorPaths>
+ *             <path>
+ *                 <groupId>com.terheyden</groupId>
+ *                 <artifactId>jakarta-validation</artifactId> <!-- or javax-validation -->
+ *                 <version>${validation-extras.version}</version>
+ *             </path>
+ *         </annotationProcessorPaths>
+ *         <annotationProcessors>
+ *             <annotationProcessor>com.terheyden.valid.NativeImageConfigProcessor</annotationProcessor>
+ *         </annotationProcessors>
+ *     </configuration>
+ * </plugin>
+ * }</pre>
+ * In Gradle, add this library to the {@code annotationProcessor} configuration,
+ * and pass {@code -processor com.terheyden.valid.NativeImageConfigProcessor} to the compiler.
+ * <p>
+ * It registers:
+ * <ul>
+ *     <li>Classes with constraints or {@code @Valid} on the class, its fields, methods, constructors,
+ *         parameters, or type arguments — this includes classes that validate their method args
+ *         with {@link Valid#validateMethodArgs(Object, Object...)}, which also look up their declared methods</li>
+ *     <li>{@link SelfValidating} classes</li>
+ *     <li>Their superclasses, since constraints are inherited</li>
+ *     <li>Constraint annotations and their validators, and any other constraint validators</li>
+ * </ul>
+ * This library's own metadata ships in its jar, under {@code META-INF/native-image/com.terheyden/validation-extras/}.
+ * <p>
+ * Use the {@code valid.native.project} option to change the {@code <project>} directory,
+ * e.g. {@code -Avalid.native.project=my-cli}. It defaults to {@value #DEFAULT_PROJECT}.
+ * Use the {@code valid.index.packages} option to only index classes in some packages (and their subpackages),
+ * e.g. {@code -Avalid.index.packages=com.acme.batch,com.acme.model}. It defaults to all packages.
+ * <p>
+ * Incremental compiles only see the changed classes, so the processor merges what it finds into the files
+ * of the previous compile: entries for classes it compiled this time are replaced, and entries for classes
+ * that no longer exist are dropped.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions({ NativeImageConfigProcessor.PROJECT_OPTION, NativeImageConfigProcessor.INDEX_PACKAGES_OPTION })
+public final class NativeImageConfigProcessor extends AbstractProcessor {
+
+    public static final String PROJECT_OPTION = "valid.native.project";
+    public static final String DEFAULT_PROJECT = "validated-classes";
+    public static final String INDEX_PACKAGES_OPTION = "valid.index.packages";
+
+    private static final String CONFIG_DIR = "META-INF/native-image/com.terheyden.valid/";
+
+    // The cascading @Valid annotation, not our Valid class.
+    private static final String CASCADE_ANNOTATION = Constraint.class.getPackageName() + ".Valid";
+
+    // The message bundles and config files validation reads at runtime.
+    private static final String RESOURCE_CONFIG = "{\n"
+        + "  \"resources\": {\n"
+        + "    \"includes\": [\n"
+        + "      { \"pattern\": \"\\\\QMETA-INF/validation.xml\\\\E\" },\n"
+        + "      { \"pattern\": \"META-INF/.*-constraints\\\\.xml\" }\n"
+        + "    ]\n"
+        + "  },\n"
+        + "  \"bundles\": [\n"
+        + "    { \"name\": \"ValidationMessages\" },\n"
+        + "    { \"name\": \"ContributorValidationMessages\" }\n"
+        + "  ]\n"
+        + "}\n";
+
+    // Binary class name -> what to register it for. Sorted, so the output is stable.
+    private final Map<String, Set<Access>> classes = new TreeMap<>();
+
+    // Binary names of the validated classes, for the preload index.
+    private final Set<String> validatedClasses = new TreeSet<>();
+
+    // Binary names of the classes compiled this time, whose entries from a previous compile are out of date.
+    private final Set<String> scannedClasses = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        if (roundEnv.processingOver()) {
+            writeConfig();
+            writeIndex();
+            return false;
+        }
+
+        for (Element element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement) {
+                scanType((TypeElement) element);
+            }
+        }
+
+        // Other processors may want the same annotations.
+        return false;
+    }
+
+    private void scanType(TypeElement type) {
+
+        scannedClasses.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+
+        if (isConstraintAnnotation(type)) {
+            registerConstraint(type);
+        } else if (isSubtype(type, ConstraintValidator.class)) {
+            register(type, Access.CONSTRUCTORS, Access.PUBLIC_METHODS);
+        }
+
+        if (isSubtype(type, SelfValidating.class) || isConstrained(type)) {
+            registerBean(type);
+        }
+
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed instanceof TypeElement) {
+                scanType((TypeElement) enclosed);
+            }
+        }
+    }
+
+    /**
+     * True if the type or any of its members is constrained or cascaded.
+     * Registers the constraint annotations it finds along the way.
+     */
+    private boolean isConstrained(TypeElement type) {
+
+        boolean constrained = hasConstraints(type.getAnnotationMirrors());
+
+        for (Element member : type.getEnclosedElements()) {
+
+            if (member instanceof VariableElement) {
+                constrained |= hasConstraints(member.getAnnotationMirrors());
+                constrained |= hasConstraints(member.asType());
+            } else if (member instanceof ExecutableElement) {
+                constrained |= isConstrained((ExecutableElement) member);
+            }
+        }
+
+        return constrained;
+    }
+
+    private boolean isConstrained(ExecutableElement executable) {
+
+        boolean constrained = hasConstraints(executable.getAnnotationMirrors());
+        constrained |= hasConstraints(executable.getReturnType());
+
+        for (VariableElement param : executable.getParameters()) {
+            constrained |= hasConstraints(param.getAnnotationMirrors());
+            constrained |= hasConstraints(param.asType());
+        }
+
+        return constrained;
+    }
+
+    /**
+     * Checks type-use annotations, like {@code List<@NotBlank String>}.
+     */
+    private boolean hasConstraints(TypeMirror type) {
+
+        boolean constrained = hasConstraints(type.getAnnotationMirrors());
+
+        if (type.getKind() == TypeKind.ARRAY) {
+            constrained |= hasConstraints(((ArrayType) type).getComponentType());
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            for (TypeMirror typeArg : ((DeclaredType) type).getTypeArguments()) {
+                constrained |= hasConstraints(typeArg);
+            }
+        }
+
+        return constrained;
+    }
+
+    private boolean hasConstraints(List<? extends AnnotationMirror> annotations) {
+
+        boolean constrained = false;
+
+        for (AnnotationMirror annotation : annotations) {
+
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+
+            if (annotationType.getQualifiedName().contentEquals(CASCADE_ANNOTATION)) {
+                constrained = true;
+            } else if (isConstraintAnnotation(annotationType)) {
+                registerConstraint(annotationType);
+                constrained = true;
+            }
+        }
+
+        return constrained;
+    }
+
+    private void registerBean(TypeElement type) {
+
+        register(type, Access.FIELDS, Access.METHODS, Access.CONSTRUCTORS);
+        validatedClasses.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+
+        // Constraints on superclasses apply, too.
+        TypeMirror superclass = type.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+
+            TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+
+            if (superElement.getQualifiedName().toString().startsWith("java.")) {
+                break;
+            }
+
+            register(superElement, Access.FIELDS, Access.METHODS, Access.CONSTRUCTORS);
+            superclass = superElement.getSuperclass();
+        }
+    }
+
+    /**
+     * The annotation's attributes are read reflectively, and its validators are created reflectively.
+     * Built-in constraints list no validators; Hibernate Validator provides those.
+     */
+    private void registerConstraint(TypeElement annotationType) {
+
+        register(annotationType, Access.METHODS);
+
+        for (AnnotationMirror annotation : annotationType.getAnnotationMirrors()) {
+
+            if (!isAnnotation(annotation, Constraint.class)) {
+                continue;
+            }
+
+            annotation.getElementValues().forEach((attribute, value) -> {
+                if (attribute.getSimpleName().contentEquals("validatedBy")) {
+                    for (Object validatorClass : (List<?>) value.getValue()) {
+                        TypeMirror validatorType = (TypeMirror) ((AnnotationValue) validatorClass).getValue();
+                        TypeElement validator = (TypeElement) processingEnv.getTypeUtils().asElement(validatorType);
+                        register(validator, Access.CONSTRUCTORS, Access.PUBLIC_METHODS);
+                    }
+                }
+            });
+        }
+    }
+
+    private void register(TypeElement type, Access... accesses) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        classes.computeIfAbsent(binaryName, name -> EnumSet.noneOf(Access.class)).addAll(List.of(accesses));
+    }
+
+    private static boolean isConstraintAnnotation(TypeElement type) {
+
+        if (type.getKind() != ElementKind.ANNOTATION_TYPE) {
+            return false;
+        }
+
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (isAnnotation(annotation, Constraint.class)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isAnnotation(AnnotationMirror annotation, Class<?> annotationClass) {
+        return ((TypeElement) annotation.getAnnotationType().asElement())
+            .getQualifiedName()
+            .contentEquals(annotationClass.getName());
+    }
+
+    private boolean isSubtype(TypeElement type, Class<?> superType) {
+
+        TypeElement superElement = processingEnv.getElementUtils().getTypeElement(superType.getName());
+
+        if (superElement == null || type.getKind() == ElementKind.ANNOTATION_TYPE) {
+            return false;
+        }
+
+        return processingEnv.getTypeUtils().isAssignable(
+            processingEnv.getTypeUtils().erasure(type.asType()),
+            processingEnv.getTypeUtils().erasure(superElement.asType()));
+    }
+
+    private void writeConfig() {
+
+        String project = processingEnv.getOptions().getOrDefault(PROJECT_OPTION, DEFAULT_PROJECT);
+        String dir = CONFIG_DIR + project + "/";
+
+        try {
+
+            Optional<String> previousConfig = read(dir + "reflect-config.json");
+            previousConfig.ifPresent(this::mergeReflectConfig);
+
+            if (classes.isEmpty() && previousConfig.isEmpty()) {
+                return;
+            }
+
+            write(dir + "reflect-config.json", reflectConfig());
+            write(dir + "resource-config.json", RESOURCE_CONFIG);
+
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.ERROR, "Can't write native-image config to " + dir + ": " + e);
+        }
+    }
+
+    private void writeIndex() {
+
+        List<String> packages = new ArrayList<>();
+        String packagesOption = processingEnv.getOptions().get(INDEX_PACKAGES_OPTION);
+
+        if (packagesOption != null) {
+            for (String packageName : packagesOption.split(",")) {
+                if (!packageName.isBlank()) {
+                    packages.add(packageName.trim() + ".");
+                }
+            }
+        }
+
+        Set<String> indexedClasses = new TreeSet<>();
+
+        for (String className : validatedClasses) {
+            if (packages.isEmpty() || packages.stream().anyMatch(className::startsWith)) {
+                indexedClasses.add(className);
+            }
+        }
+
+        try {
+
+            // The previous compile's entries were already filtered by package.
+            Optional<String> previousIndex = read(ValidationIndex.RESOURCE);
+            previousIndex.ifPresent(previous -> previous.lines()
+                .filter(this::isStillCurrent)
+                .forEach(indexedClasses::add));
+
+            if (indexedClasses.isEmpty() && previousIndex.isEmpty()) {
+                return;
+            }
+
+            StringBuilder index = new StringBuilder();
+            indexedClasses.forEach(className -> index.append(className).append('\n'));
+            write(ValidationIndex.RESOURCE, index.toString());
+
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.ERROR, "Can't write validation index to " + ValidationIndex.RESOURCE + ": " + e);
+        }
+    }
+
+    /**
+     * Add the entries of a previous compile's reflect-config (in the format we write) that are still current.
+     */
+    private void mergeReflectConfig(String previousConfig) {
+
+        Set<Access> accesses = null;
+
+        for (String line : previousConfig.split("\n")) {
+
+            String trimmed = line.trim();
+
+            if (trimmed.startsWith("\"name\": \"")) {
+                String name = trimmed.substring("\"name\": \"".length(), trimmed.lastIndexOf('"'));
+                accesses = isStillCurrent(name)
+                    ? classes.computeIfAbsent(name, key -> EnumSet.noneOf(Access.class))
+                    : null;
+            } else if (accesses != null) {
+                for (Access access : Access.values()) {
+                    if (trimmed.startsWith("\"" + access.key + "\": true")) {
+                        accesses.add(access);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * True if an entry from a previous compile still applies: the class wasn't compiled again, and still exists.
+     */
+    private boolean isStillCurrent(String binaryName) {
+        return !binaryName.isBlank()
+            && !scannedClasses.contains(binaryName)
+            && processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.')) != null;
+    }
+
+    /**
+     * The content of a file written by a previous compile, or empty if there isn't one.
+     */
+    private Optional<String> read(String path) {
+        try {
+
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", path);
+            return Optional.of(file.getCharContent(true).toString());
+
+        } catch (IOException | IllegalArgumentException e) {
+            // No previous compile.
+            return Optional.empty();
+        }
+    }
+
+    private void write(String path, String content) throws IOException {
+
+        FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path);
+
+        try (Writer writer = file.openWriter()) {
+            writer.write(content);
+        }
+    }
+
+    private String reflectConfig() {
+
+        List<String> entries = new ArrayList<>();
+
+        classes.forEach((name, accesses) -> {
+
+            StringBuilder entry = new StringBuilder("  {\n    \"name\": \"").append(name).append('"');
+
+            for (Access access : accesses) {
+                entry.append(",\n    \"").append(access.key).append("\": true");
+            }
+
+            entries.add(entry.append("\n  }").toString());
+        });
+
+        return "[\n" + String.join(",\n", entries) + "\n]\n";
+    }
+
+    /**
+     * What a class is registered for, in native-image's reflect-config terms.
+     */
+    private enum Access {
+
+        FIELDS("allDeclaredFields"),
+        METHODS("allDeclaredMethods"),
+        PUBLIC_METHODS("allPublicMethods"),
+        CONSTRUCTORS("allDeclaredConstructors");
+
+        private final String key;
+
+        Access(String key) {
+            this.key = key;
+        }
+    }
+}
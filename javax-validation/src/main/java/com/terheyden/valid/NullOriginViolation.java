@@ -2,8 +2,6 @@ package com.terheyden.valid;
 
 import javax.annotation.Nullable;
 
-import org.hibernate.validator.internal.engine.path.PathImpl;
-
 import javax.validation.ConstraintViolation;
 import javax.validation.Path;
 import javax.validation.metadata.ConstraintDescriptor;
@@ -53,7 +51,7 @@ final class NullOriginViolation implements ConstraintViolation {
 
     @Override
     public Path getPropertyPath() {
-        return PathImpl.createPathFromString(ValidUtils.EMPTY_STR);
+        return ViolationInterner.EMPTY_PATH;
     }
 
     @Override
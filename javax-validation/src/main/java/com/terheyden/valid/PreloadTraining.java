@@ -0,0 +1,57 @@
+package com.terheyden.valid;
+
+import org.slf4j.Logger;
+
+import javax.validation.constraints.NotBlank;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A training run for an AppCDS archive: starts validation, preloads every indexed class with
+ * {@link Valid#preload()}, and exits. The archive then holds Hibernate Validator's classes and the app's
+ * validated classes, already parsed and verified, which takes most of the class loading out of startup.
+ * <p>
+ * Dump the archive once per build:
+ * <pre>{@code
+ * java -XX:ArchiveClassesAtExit=app.jsa -cp app.jar com.terheyden.valid.PreloadTraining
+ * }</pre>
+ * Then start each JVM with it, and call {@link Valid#preload()} early to build the metadata:
+ * <pre>{@code
+ * java -XX:SharedArchiveFile=app.jsa -cp app.jar com.acme.Main
+ * }</pre>
+ * Class names given as args are preloaded too, e.g. classes that aren't in the index.
+ */
+public final class PreloadTraining {
+
+    private static final Logger LOG = getLogger(PreloadTraining.class);
+
+    private PreloadTraining() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    public static void main(String[] args) throws ClassNotFoundException {
+
+        long start = System.nanoTime();
+        int count = Valid.preload();
+
+        for (String className : args) {
+            Valid.preload(Class.forName(className, false, ValidationIndex.defaultClassLoader()));
+            count++;
+        }
+
+        // Validate once, so the violation and message interpolation classes are archived too.
+        LOG.debug(ValidUtils.violationsToString(Valid.checkObject(new Sample())));
+
+        LOG.info("Preloaded validation metadata for {} classes in {} ms",
+            count, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Always invalid.
+     */
+    private static final class Sample {
+
+        @NotBlank
+        private String value;
+    }
+}
@@ -0,0 +1,59 @@
+package com.terheyden.valid;
+
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+
+/**
+ * An invalid record found by {@link FileValidation}: the record's violations,
+ * and where the record is in the file.
+ * <p>
+ * Immutable and thread-safe.
+ */
+public final class RecordViolation<T> {
+
+    private final long lineNumber;
+    private final long offset;
+    private final T record;
+    private final Set<ConstraintViolation<T>> violations;
+
+    RecordViolation(long lineNumber, long offset, T record, Set<ConstraintViolation<T>> violations) {
+        this.lineNumber = lineNumber;
+        this.offset = offset;
+        this.record = record;
+        this.violations = violations;
+    }
+
+    /**
+     * The record's line number in the file, starting at 1.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * The byte offset of the start of the record's line in the file.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * The invalid record, as returned by the mapper.
+     */
+    public T getRecord() {
+        return record;
+    }
+
+    /**
+     * The record's constraint violations. Never empty.
+     */
+    public Set<ConstraintViolation<T>> getViolations() {
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        return "Line " + lineNumber + " (offset " + offset + "): " + ValidUtils.violationsToString(violations);
+    }
+}
@@ -1,6 +1,16 @@
 package com.terheyden.valid;
 
+import javax.annotation.Nullable;
 import java.lang.StackWalker.StackFrame;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 
@@ -13,6 +23,15 @@ final class Reflections {
 
     private static final Logger LOG = getLogger(Reflections.class);
 
+    // Keeps class references, so callers don't need Class.forName() to get the class of a frame.
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    // Class.getRecordComponents() and RecordComponent.getType(), if this JVM has records (Java 16+).
+    @Nullable
+    private static final Method GET_RECORD_COMPONENTS = findMethod(Class.class, "getRecordComponents");
+    @Nullable
+    private static final Method GET_COMPONENT_TYPE = findMethod("java.lang.reflect.RecordComponent", "getType");
+
     private Reflections() {
         // Private since this class shouldn't be instantiated.
     }
@@ -27,7 +46,7 @@ final class Reflections {
      * @return The {@link StackFrame} at the specified offset
      */
     static StackFrame getStackFrame(int offset) {
-        return StackWalker.getInstance()
+        return STACK_WALKER
             .walk(stackFrame -> stackFrame.skip(offset).findFirst())
             .orElseThrow(() -> new IllegalArgumentException("Invalid stack frame depth: " + offset));
     }
@@ -41,4 +60,215 @@ final class Reflections {
         LOG.debug(classAndMethod);
         return classAndMethod;
     }
+
+    /**
+     * If the class is a record, get the types of its components, in order —
+     * which are also the parameter types of its canonical constructor.
+     *
+     * @return the component types, or empty if the class isn't a record (or this JVM doesn't have records)
+     */
+    static Optional<Class<?>[]> getRecordComponentTypes(Class<?> type) {
+
+        if (GET_RECORD_COMPONENTS == null || GET_COMPONENT_TYPE == null) {
+            return Optional.empty();
+        }
+
+        try {
+
+            // Returns null for non-record classes.
+            Object[] components = (Object[]) GET_RECORD_COMPONENTS.invoke(type);
+
+            if (components == null) {
+                return Optional.empty();
+            }
+
+            Class<?>[] componentTypes = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                componentTypes[i] = (Class<?>) GET_COMPONENT_TYPE.invoke(components[i]);
+            }
+
+            return Optional.of(componentTypes);
+
+        } catch (ReflectiveOperationException e) {
+            LOG.debug("Unable to read record components of: {}", type, e);
+            return Optional.empty();
+        }
+    }
+
+    @Nullable
+    private static Method findMethod(Class<?> type, String methodName) {
+        try {
+            return type.getMethod(methodName);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Method findMethod(String className, String methodName) {
+        try {
+            return findMethod(Class.forName(className), methodName);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Find a way to read the named bean property from instances of the given class.
+     * Looks for a field by that name first (searching superclasses),
+     * then for a no-arg {@code getX()} or {@code isX()} getter.
+     *
+     * @return a function that reads the property, or empty if it can't be found or made accessible
+     */
+    static Optional<Function<Object, Object>> findPropertyReader(Class<?> beanClass, String propertyName) {
+        return findField(beanClass, propertyName)
+            .map(Reflections::fieldReader)
+            .or(() -> findGetter(beanClass, propertyName).map(Reflections::getterReader));
+    }
+
+    /**
+     * Find the generic type of the named property, from its field or else its getter.
+     * Searches superclasses.
+     *
+     * @return the property's type, e.g. {@code List<Item>}, or empty if the property can't be found
+     */
+    static Optional<Type> findPropertyType(Class<?> beanClass, String propertyName) {
+        return findField(beanClass, propertyName)
+            .<Type>map(Field::getGenericType)
+            .or(() -> findGetter(beanClass, propertyName).map(Method::getGenericReturnType));
+    }
+
+    /**
+     * Find a method handle that reads the named field, typed {@code (Object) -> Object}.
+     * Searches superclasses.
+     *
+     * @return the handle, or empty if the field can't be found or made accessible,
+     * or if more than one class in the hierarchy declares a field by that name, since it isn't clear which one is meant
+     */
+    static Optional<MethodHandle> findFieldHandle(Class<?> beanClass, String fieldName) {
+
+        if (countFieldDeclarations(beanClass, fieldName) > 1) {
+            return Optional.empty();
+        }
+
+        return findField(beanClass, fieldName)
+            .flatMap(field -> toHandle(() -> MethodHandles.lookup().unreflectGetter(field)));
+    }
+
+    /**
+     * Find a method handle that calls the named property's {@code getX()} or {@code isX()} getter,
+     * typed {@code (Object) -> Object}. Searches superclasses.
+     *
+     * @return the handle, or empty if the getter can't be found or made accessible
+     */
+    static Optional<MethodHandle> findGetterHandle(Class<?> beanClass, String propertyName) {
+        return findGetter(beanClass, propertyName)
+            .flatMap(getter -> toHandle(() -> MethodHandles.lookup().unreflect(getter)));
+    }
+
+    private static Optional<MethodHandle> toHandle(HandleSupplier supplier) {
+        try {
+
+            return Optional.of(supplier.get().asType(MethodType.methodType(Object.class, Object.class)));
+
+        } catch (IllegalAccessException e) {
+            LOG.debug("Unable to create method handle.", e);
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Field> findField(Class<?> beanClass, String fieldName) {
+
+        for (Class<?> type = beanClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            try {
+
+                Field field = type.getDeclaredField(fieldName);
+                return trySetAccessible(field) ? Optional.of(field) : Optional.empty();
+
+            } catch (NoSuchFieldException e) {
+                // Keep looking in the superclass.
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static int countFieldDeclarations(Class<?> beanClass, String fieldName) {
+
+        int count = 0;
+
+        for (Class<?> type = beanClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.getName().equals(fieldName)) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private static Optional<Method> findGetter(Class<?> beanClass, String propertyName) {
+
+        String capitalized = Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+
+        for (Class<?> type = beanClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (String getterName : new String[] { "get" + capitalized, "is" + capitalized }) {
+                try {
+
+                    Method getter = type.getDeclaredMethod(getterName);
+                    return trySetAccessible(getter) ? Optional.of(getter) : Optional.empty();
+
+                } catch (NoSuchMethodException e) {
+                    // Try the next name, then the superclass.
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static boolean trySetAccessible(AccessibleObject accessibleObject) {
+        try {
+
+            accessibleObject.setAccessible(true);
+            return true;
+
+        } catch (RuntimeException e) {
+            LOG.debug("Unable to make accessible: {}", accessibleObject, e);
+            return false;
+        }
+    }
+
+    private static Function<Object, Object> fieldReader(Field field) {
+        return bean -> {
+            try {
+
+                return field.get(bean);
+
+            } catch (IllegalAccessException e) {
+                return ValidUtils.throwUnchecked(e);
+            }
+        };
+    }
+
+    private static Function<Object, Object> getterReader(Method getter) {
+        return bean -> {
+            try {
+
+                return getter.invoke(bean);
+
+            } catch (Exception e) {
+                return ValidUtils.throwUnchecked(e);
+            }
+        };
+    }
+
+    /**
+     * Creates a method handle; unreflecting can throw a checked exception.
+     */
+    @FunctionalInterface
+    private interface HandleSupplier {
+        MethodHandle get() throws IllegalAccessException;
+    }
 }
@@ -0,0 +1,763 @@
+package com.terheyden.valid;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * A regular expression compiled to a DFA, for full matching (like {@link java.util.regex.Matcher#matches()})
+ * in linear time, without backtracking and without allocating. Used by {@link LinearPatternValidator}.
+ * <p>
+ * Only the regular subset of {@link java.util.regex.Pattern} syntax is supported: literals and escapes,
+ * character classes (with ranges, negation, {@code \d \w \s} and their negations), {@code .},
+ * groups, alternation, the {@code * + ? {n} {n,} {n,m}} quantifiers (greedy or lazy),
+ * and {@code ^} / {@code $} at the very start / end. Anything else — backreferences, lookaround,
+ * possessive quantifiers, Unicode properties, flags — isn't compiled, and the caller falls back to
+ * {@link java.util.regex.Pattern}. So do patterns whose DFA would be too large.
+ * <p>
+ * Matching works on UTF-16 chars, while {@link java.util.regex.Pattern} works on code points,
+ * so input containing surrogates is reported as {@link #UNKNOWN} and left to the fallback.
+ * <p>
+ * Immutable and thread-safe.
+ */
+final class RegexDfa {
+
+    static final int NO_MATCH = 0;
+    static final int MATCH = 1;
+    static final int UNKNOWN = -1;
+
+    private static final int MAX_NFA_STATES = 4_000;
+    private static final int MAX_DFA_STATES = 1_000;
+    private static final int MAX_REPEAT = 1_000;
+    private static final int ASCII_SIZE = 128;
+    private static final int DEAD = -1;
+
+    // The input chars are split into classes that every transition treats the same way.
+    // Class i covers the chars from classStarts[i] up to (but not including) classStarts[i + 1].
+    private final int[] classStarts;
+    private final int[] asciiClasses;
+    private final int classCount;
+
+    // Next state for (state * classCount + charClass), or DEAD.
+    private final int[] transitions;
+    private final boolean[] accepting;
+
+    private RegexDfa(int[] classStarts, int[] transitions, boolean[] accepting) {
+
+        this.classStarts = classStarts;
+        this.classCount = classStarts.length;
+        this.transitions = transitions;
+        this.accepting = accepting;
+        this.asciiClasses = new int[ASCII_SIZE];
+
+        for (int ch = 0; ch < ASCII_SIZE; ch++) {
+            asciiClasses[ch] = findClass(ch);
+        }
+    }
+
+    /**
+     * Compile the regex to a DFA.
+     *
+     * @return the DFA, or empty if the regex uses unsupported syntax or its DFA would be too large
+     */
+    static Optional<RegexDfa> compile(String regexp) {
+        try {
+
+            Node root = new Parser(regexp).parse();
+            Nfa nfa = new Nfa();
+            int start = nfa.newState();
+            nfa.accept = root.build(nfa, start);
+            return Optional.of(nfa.toDfa(start));
+
+        } catch (UnsupportedRegexException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Check if the entire input matches.
+     *
+     * @return {@link #MATCH}, {@link #NO_MATCH}, or {@link #UNKNOWN} if the input has surrogate chars
+     */
+    int match(CharSequence input) {
+
+        int state = 0;
+        int length = input.length();
+
+        for (int i = 0; i < length; i++) {
+
+            char ch = input.charAt(i);
+
+            if (Character.isSurrogate(ch)) {
+                return UNKNOWN;
+            }
+
+            int charClass = ch < ASCII_SIZE ? asciiClasses[ch] : findClass(ch);
+            state = transitions[state * classCount + charClass];
+
+            if (state == DEAD) {
+                return NO_MATCH;
+            }
+        }
+
+        return accepting[state] ? MATCH : NO_MATCH;
+    }
+
+    private int findClass(int ch) {
+        int index = Arrays.binarySearch(classStarts, ch);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Thrown while compiling when the regex can't be turned into a DFA.
+     */
+    private static final class UnsupportedRegexException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedRegexException() {
+            // No message or stack trace needed; this just means "fall back to java.util.regex".
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * A set of chars, stored as sorted, non-overlapping, inclusive ranges: {@code [lo0, hi0, lo1, hi1, ...]}.
+     */
+    private static final class CharSet {
+
+        private static final int MAX_CHAR = Character.MAX_VALUE;
+
+        private static final CharSet DIGITS = new CharSet(new int[] { '0', '9' });
+        private static final CharSet WORD_CHARS = new CharSet(new int[] { '0', '9', 'A', 'Z', '_', '_', 'a', 'z' });
+        private static final CharSet SPACES = new CharSet(new int[] { '\t', '\r', ' ', ' ' });
+
+        // '.' matches anything but line terminators: \n, \r, NEL (0x85), and the line / paragraph separators.
+        private static final CharSet DOT = new CharSet(new int[] {
+            0, '\n' - 1, '\n' + 1, '\r' - 1, '\r' + 1, 0x84, 0x86, 0x2027, 0x202A, MAX_CHAR });
+
+        private final int[] ranges;
+
+        private CharSet(int[] ranges) {
+            this.ranges = ranges;
+        }
+
+        private static CharSet of(int ch) {
+            return new CharSet(new int[] { ch, ch });
+        }
+
+        private static CharSet range(int lo, int hi) {
+            return new CharSet(new int[] { lo, hi });
+        }
+
+        private boolean isSingleChar() {
+            return ranges.length == 2 && ranges[0] == ranges[1];
+        }
+
+        private boolean contains(int ch) {
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (ch < ranges[i]) {
+                    return false;
+                }
+
+                if (ch <= ranges[i + 1]) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private CharSet negate() {
+
+            List<Integer> negated = new ArrayList<>();
+            int next = 0;
+
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (ranges[i] > next) {
+                    negated.add(next);
+                    negated.add(ranges[i] - 1);
+                }
+
+                next = ranges[i + 1] + 1;
+            }
+
+            if (next <= MAX_CHAR) {
+                negated.add(next);
+                negated.add(MAX_CHAR);
+            }
+
+            return new CharSet(negated.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        private CharSet union(CharSet other) {
+
+            int[][] all = new int[(ranges.length + other.ranges.length) / 2][];
+            int count = 0;
+
+            for (int i = 0; i < ranges.length; i += 2) {
+                all[count++] = new int[] { ranges[i], ranges[i + 1] };
+            }
+
+            for (int i = 0; i < other.ranges.length; i += 2) {
+                all[count++] = new int[] { other.ranges[i], other.ranges[i + 1] };
+            }
+
+            Arrays.sort(all, (left, right) -> Integer.compare(left[0], right[0]));
+            List<Integer> merged = new ArrayList<>();
+
+            for (int[] range : all) {
+                int last = merged.size() - 1;
+
+                if (last > 0 && range[0] <= merged.get(last) + 1) {
+                    merged.set(last, Math.max(merged.get(last), range[1]));
+                } else {
+                    merged.add(range[0]);
+                    merged.add(range[1]);
+                }
+            }
+
+            return new CharSet(merged.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * A parsed regex.
+     */
+    private interface Node {
+
+        /**
+         * Add this node's states to the NFA, starting from the given state.
+         *
+         * @return the state reached after matching this node
+         */
+        int build(Nfa nfa, int from) throws UnsupportedRegexException;
+    }
+
+    /**
+     * Recursive descent parser for the supported subset of regex syntax.
+     */
+    private static final class Parser {
+
+        private final String regexp;
+        private final int end;
+        private int pos;
+
+        private Parser(String regexp) {
+
+            this.regexp = regexp;
+
+            // A trailing '$' is a no-op for full matching — unless it's escaped.
+            int trailingBackslashes = 0;
+            for (int i = regexp.length() - 2; i >= 0 && regexp.charAt(i) == '\\'; i--) {
+                trailingBackslashes++;
+            }
+
+            boolean endAnchor = regexp.endsWith("$") && trailingBackslashes % 2 == 0;
+            this.end = endAnchor ? regexp.length() - 1 : regexp.length();
+
+            // Likewise for a leading '^'.
+            this.pos = regexp.startsWith("^") ? 1 : 0;
+        }
+
+        private Node parse() throws UnsupportedRegexException {
+
+            Node root = parseAlternation();
+
+            if (pos != end) {
+                throw new UnsupportedRegexException();
+            }
+
+            return root;
+        }
+
+        private Node parseAlternation() throws UnsupportedRegexException {
+
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseConcatenation());
+
+            while (pos < end && regexp.charAt(pos) == '|') {
+                pos++;
+                alternatives.add(parseConcatenation());
+            }
+
+            if (alternatives.size() == 1) {
+                return alternatives.get(0);
+            }
+
+            return (nfa, from) -> {
+                int to = nfa.newState();
+                for (Node alternative : alternatives) {
+                    int start = nfa.newState();
+                    nfa.addEpsilon(from, start);
+                    nfa.addEpsilon(alternative.build(nfa, start), to);
+                }
+
+                return to;
+            };
+        }
+
+        private Node parseConcatenation() throws UnsupportedRegexException {
+
+            List<Node> sequence = new ArrayList<>();
+
+            while (pos < end && regexp.charAt(pos) != '|' && regexp.charAt(pos) != ')') {
+                sequence.add(parseRepetition());
+            }
+
+            return (nfa, from) -> {
+                int state = from;
+                for (Node node : sequence) {
+                    state = node.build(nfa, state);
+                }
+
+                return state;
+            };
+        }
+
+        private Node parseRepetition() throws UnsupportedRegexException {
+
+            Node atom = parseAtom();
+
+            if (pos >= end) {
+                return atom;
+            }
+
+            int min;
+            int max;
+
+            switch (regexp.charAt(pos)) {
+                case '*':
+                    min = 0;
+                    max = -1;
+                    pos++;
+                    break;
+                case '+':
+                    min = 1;
+                    max = -1;
+                    pos++;
+                    break;
+                case '?':
+                    min = 0;
+                    max = 1;
+                    pos++;
+                    break;
+                case '{':
+                    pos++;
+                    min = parseNumber();
+                    max = min;
+                    if (peek() == ',') {
+                        pos++;
+                        max = peek() == '}' ? -1 : parseNumber();
+                    }
+
+                    expect('}');
+                    if (max != -1 && max < min) {
+                        throw new UnsupportedRegexException();
+                    }
+
+                    break;
+                default:
+                    return atom;
+            }
+
+            // Lazy quantifiers match the same strings as greedy ones when the whole input must match.
+            // Possessive quantifiers don't, so they aren't supported.
+            if (peek() == '?') {
+                pos++;
+            } else if (peek() == '+') {
+                throw new UnsupportedRegexException();
+            }
+
+            if (isQuantifier(peek())) {
+                throw new UnsupportedRegexException();
+            }
+
+            return repeat(atom, min, max);
+        }
+
+        private static Node repeat(Node atom, int min, int max) {
+            return (nfa, from) -> {
+                int state = from;
+                for (int i = 0; i < min; i++) {
+                    state = atom.build(nfa, state);
+                }
+
+                if (max == -1) {
+                    int loop = nfa.newState();
+                    nfa.addEpsilon(state, loop);
+                    nfa.addEpsilon(atom.build(nfa, loop), loop);
+                    return loop;
+                }
+
+                int to = nfa.newState();
+                for (int i = min; i < max; i++) {
+                    nfa.addEpsilon(state, to);
+                    state = atom.build(nfa, state);
+                }
+
+                nfa.addEpsilon(state, to);
+                return to;
+            };
+        }
+
+        private Node parseAtom() throws UnsupportedRegexException {
+
+            char ch = next();
+
+            switch (ch) {
+                case '(':
+                    if (peek() == '?') {
+                        pos++;
+                        expect(':');
+                    }
+
+                    Node group = parseAlternation();
+                    expect(')');
+                    return group;
+                case '[':
+                    return charNode(parseClass());
+                case '.':
+                    return charNode(CharSet.DOT);
+                case '\\':
+                    return charNode(parseEscape());
+                case '^':
+                case '$':
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw new UnsupportedRegexException();
+                default:
+                    return charNode(literal(ch));
+            }
+        }
+
+        private static Node charNode(CharSet chars) {
+            return (nfa, from) -> {
+                int to = nfa.newState();
+                nfa.addEdge(from, chars, to);
+                return to;
+            };
+        }
+
+        private CharSet parseClass() throws UnsupportedRegexException {
+
+            boolean negated = peek() == '^';
+            if (negated) {
+                pos++;
+            }
+
+            // Nested classes, intersections, and a leading ']' have special meanings we don't handle.
+            if (peek() == ']') {
+                throw new UnsupportedRegexException();
+            }
+
+            CharSet chars = null;
+
+            while (true) {
+
+                char ch = next();
+
+                if (ch == ']') {
+                    break;
+                }
+
+                if (ch == '[' || (ch == '&' && peek() == '&')) {
+                    throw new UnsupportedRegexException();
+                }
+
+                CharSet item = ch == '\\' ? parseEscape() : literal(ch);
+
+                if (peek() == '-' && peekAt(pos + 1) != ']') {
+                    pos++;
+                    char hiChar = next();
+                    CharSet hi = hiChar == '\\' ? parseEscape() : literal(hiChar);
+
+                    if (!item.isSingleChar() || !hi.isSingleChar() || hi.ranges[0] < item.ranges[0]) {
+                        throw new UnsupportedRegexException();
+                    }
+
+                    item = CharSet.range(item.ranges[0], hi.ranges[0]);
+                }
+
+                chars = chars == null ? item : chars.union(item);
+            }
+
+            return negated ? chars.negate() : chars;
+        }
+
+        private CharSet parseEscape() throws UnsupportedRegexException {
+
+            char ch = next();
+
+            switch (ch) {
+                case 'd':
+                    return CharSet.DIGITS;
+                case 'D':
+                    return CharSet.DIGITS.negate();
+                case 'w':
+                    return CharSet.WORD_CHARS;
+                case 'W':
+                    return CharSet.WORD_CHARS.negate();
+                case 's':
+                    return CharSet.SPACES;
+                case 'S':
+                    return CharSet.SPACES.negate();
+                case 't':
+                    return CharSet.of('\t');
+                case 'n':
+                    return CharSet.of('\n');
+                case 'r':
+                    return CharSet.of('\r');
+                case 'f':
+                    return CharSet.of('\f');
+                case 'a':
+                    return CharSet.of('\u0007');
+                case 'e':
+                    return CharSet.of('\u001B');
+                case 'x':
+                    return literal((char) parseHex(2));
+                case 'u':
+                    return literal((char) parseHex(4));
+                default:
+                    // Any other letter or digit is a backreference, boundary, property, etc.
+                    if (Character.isLetterOrDigit(ch)) {
+                        throw new UnsupportedRegexException();
+                    }
+
+                    return literal(ch);
+            }
+        }
+
+        private static CharSet literal(char ch) throws UnsupportedRegexException {
+
+            if (Character.isSurrogate(ch)) {
+                throw new UnsupportedRegexException();
+            }
+
+            return CharSet.of(ch);
+        }
+
+        private int parseHex(int digits) throws UnsupportedRegexException {
+
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                int digit = Character.digit(next(), 16);
+                if (digit < 0) {
+                    throw new UnsupportedRegexException();
+                }
+
+                value = value * 16 + digit;
+            }
+
+            return value;
+        }
+
+        private int parseNumber() throws UnsupportedRegexException {
+
+            int start = pos;
+            while (pos < end && pos - start < 4 && Character.isDigit(regexp.charAt(pos))) {
+                pos++;
+            }
+
+            if (pos == start) {
+                throw new UnsupportedRegexException();
+            }
+
+            int number = Integer.parseInt(regexp.substring(start, pos));
+            if (number > MAX_REPEAT) {
+                throw new UnsupportedRegexException();
+            }
+
+            return number;
+        }
+
+        private static boolean isQuantifier(int ch) {
+            return ch == '*' || ch == '+' || ch == '?' || ch == '{';
+        }
+
+        private char next() throws UnsupportedRegexException {
+
+            if (pos >= end) {
+                throw new UnsupportedRegexException();
+            }
+
+            return regexp.charAt(pos++);
+        }
+
+        private void expect(char ch) throws UnsupportedRegexException {
+            if (next() != ch) {
+                throw new UnsupportedRegexException();
+            }
+        }
+
+        private int peek() {
+            return peekAt(pos);
+        }
+
+        private int peekAt(int index) {
+            return index < end ? regexp.charAt(index) : -1;
+        }
+    }
+
+    /**
+     * A Thompson NFA: states joined by epsilon edges (null char set) and char edges.
+     */
+    private static final class Nfa {
+
+        private final List<List<CharSet>> edgeChars = new ArrayList<>();
+        private final List<List<Integer>> edgeTargets = new ArrayList<>();
+        private int accept;
+
+        private int newState() throws UnsupportedRegexException {
+
+            if (edgeChars.size() >= MAX_NFA_STATES) {
+                throw new UnsupportedRegexException();
+            }
+
+            edgeChars.add(new ArrayList<>(2));
+            edgeTargets.add(new ArrayList<>(2));
+            return edgeChars.size() - 1;
+        }
+
+        private void addEpsilon(int from, int to) {
+            addEdge(from, null, to);
+        }
+
+        private void addEdge(int from, CharSet chars, int to) {
+            edgeChars.get(from).add(chars);
+            edgeTargets.get(from).add(to);
+        }
+
+        /**
+         * Subset construction, over the char classes that all the edges agree on.
+         */
+        private RegexDfa toDfa(int start) throws UnsupportedRegexException {
+
+            int[] classStarts = charClasses();
+            Map<BitSet, Integer> stateIds = new HashMap<>();
+            List<BitSet> states = new ArrayList<>();
+            List<int[]> rows = new ArrayList<>();
+
+            BitSet initial = new BitSet();
+            initial.set(start);
+            closure(initial);
+            stateIds.put(initial, 0);
+            states.add(initial);
+
+            for (int stateId = 0; stateId < states.size(); stateId++) {
+
+                BitSet state = states.get(stateId);
+                int[] row = new int[classStarts.length];
+
+                for (int charClass = 0; charClass < classStarts.length; charClass++) {
+
+                    BitSet next = step(state, classStarts[charClass]);
+
+                    if (next.isEmpty()) {
+                        row[charClass] = DEAD;
+                        continue;
+                    }
+
+                    Integer nextId = stateIds.get(next);
+
+                    if (nextId == null) {
+                        if (states.size() >= MAX_DFA_STATES) {
+                            throw new UnsupportedRegexException();
+                        }
+
+                        nextId = states.size();
+                        stateIds.put(next, nextId);
+                        states.add(next);
+                    }
+
+                    row[charClass] = nextId;
+                }
+
+                rows.add(row);
+            }
+
+            int[] transitions = new int[rows.size() * classStarts.length];
+            boolean[] accepting = new boolean[rows.size()];
+
+            for (int stateId = 0; stateId < rows.size(); stateId++) {
+                System.arraycopy(rows.get(stateId), 0, transitions, stateId * classStarts.length, classStarts.length);
+                accepting[stateId] = states.get(stateId).get(accept);
+            }
+
+            return new RegexDfa(classStarts, transitions, accepting);
+        }
+
+        /**
+         * Split all chars into classes, so every char in a class is in exactly the same char sets.
+         */
+        private int[] charClasses() {
+
+            TreeSet<Integer> starts = new TreeSet<>();
+            starts.add(0);
+
+            for (List<CharSet> stateEdges : edgeChars) {
+                for (CharSet chars : stateEdges) {
+                    if (chars == null) {
+                        continue;
+                    }
+
+                    for (int i = 0; i < chars.ranges.length; i += 2) {
+                        starts.add(chars.ranges[i]);
+                        if (chars.ranges[i + 1] < CharSet.MAX_CHAR) {
+                            starts.add(chars.ranges[i + 1] + 1);
+                        }
+                    }
+                }
+            }
+
+            return starts.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private BitSet step(BitSet states, int ch) {
+
+            BitSet next = new BitSet();
+
+            for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+                List<CharSet> chars = edgeChars.get(state);
+
+                for (int i = 0; i < chars.size(); i++) {
+                    if (chars.get(i) != null && chars.get(i).contains(ch)) {
+                        next.set(edgeTargets.get(state).get(i));
+                    }
+                }
+            }
+
+            closure(next);
+            return next;
+        }
+
+        private void closure(BitSet states) {
+
+            Deque<Integer> pending = new ArrayDeque<>();
+            states.stream().forEach(pending::push);
+
+            while (!pending.isEmpty()) {
+                int state = pending.pop();
+                List<CharSet> chars = edgeChars.get(state);
+
+                for (int i = 0; i < chars.size(); i++) {
+                    int target = edgeTargets.get(state).get(i);
+
+                    if (chars.get(i) == null && !states.get(target)) {
+                        states.set(target);
+                        pending.push(target);
+                    }
+                }
+            }
+        }
+    }
+}
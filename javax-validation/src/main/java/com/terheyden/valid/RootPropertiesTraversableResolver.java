@@ -0,0 +1,92 @@
+package com.terheyden.valid;
+
+import java.lang.annotation.ElementType;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.validation.Path;
+import javax.validation.TraversableResolver;
+
+/**
+ * Hides some of the root bean's properties from the validator,
+ * because they are being validated some other way (e.g. in parallel, or one property at a time).
+ * <p>
+ * Properties can be skipped entirely (their constraints aren't checked and they aren't cascaded into),
+ * or just not cascaded into (their own constraints, like {@code @Size} or {@code List<@NotNull Item>},
+ * still apply). Constraints on the root class itself are never skipped.
+ * <p>
+ * Tied to one root bean — create a new one for every validation.
+ */
+final class RootPropertiesTraversableResolver implements TraversableResolver {
+
+    private final TraversableResolver delegate;
+    private final Object rootBean;
+    private final Set<String> unreachableProperties;
+    private final Set<String> uncascadedProperties;
+
+    private RootPropertiesTraversableResolver(
+        TraversableResolver delegate,
+        Object rootBean,
+        Set<String> unreachableProperties,
+        Set<String> uncascadedProperties) {
+
+        this.delegate = delegate;
+        this.rootBean = rootBean;
+        this.unreachableProperties = unreachableProperties;
+        this.uncascadedProperties = uncascadedProperties;
+    }
+
+    /**
+     * Don't cascade into these properties of the root bean; their own constraints still apply.
+     */
+    static RootPropertiesTraversableResolver skipCascade(
+        TraversableResolver delegate,
+        Object rootBean,
+        Set<String> uncascadedProperties) {
+
+        return new RootPropertiesTraversableResolver(delegate, rootBean, Collections.emptySet(), uncascadedProperties);
+    }
+
+    /**
+     * Skip these properties of the root bean entirely — no constraints, no cascading.
+     */
+    static RootPropertiesTraversableResolver skipProperties(
+        TraversableResolver delegate,
+        Object rootBean,
+        Set<String> unreachableProperties) {
+
+        return new RootPropertiesTraversableResolver(delegate, rootBean, unreachableProperties, Collections.emptySet());
+    }
+
+    @Override
+    public boolean isReachable(
+        Object traversableObject,
+        Path.Node traversableProperty,
+        Class<?> rootBeanType,
+        Path pathToTraversableObject,
+        ElementType elementType) {
+
+        if (traversableObject == rootBean && unreachableProperties.contains(traversableProperty.getName())) {
+            return false;
+        }
+
+        return delegate.isReachable(
+            traversableObject, traversableProperty, rootBeanType, pathToTraversableObject, elementType);
+    }
+
+    @Override
+    public boolean isCascadable(
+        Object traversableObject,
+        Path.Node traversableProperty,
+        Class<?> rootBeanType,
+        Path pathToTraversableObject,
+        ElementType elementType) {
+
+        if (traversableObject == rootBean && uncascadedProperties.contains(traversableProperty.getName())) {
+            return false;
+        }
+
+        return delegate.isCascadable(
+            traversableObject, traversableProperty, rootBeanType, pathToTraversableObject, elementType);
+    }
+}
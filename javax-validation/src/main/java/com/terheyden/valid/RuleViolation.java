@@ -0,0 +1,138 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Path;
+import javax.validation.metadata.ConstraintDescriptor;
+
+/**
+ * A violation we build ourselves instead of the validator: from one of our own checks, like the rules in
+ * {@link CompiledRules}, which have no annotation behind them and so no constraint descriptor,
+ * or from an async constraint (see {@link AsyncValidation}), which has one.
+ */
+final class RuleViolation<T> implements ConstraintViolation<T> {
+
+    private final Class<T> rootBeanClass;
+    @Nullable
+    private final T rootBean;
+    private final Path propertyPath;
+    private final String message;
+    private final String messageTemplate;
+    @Nullable
+    private final Object invalidValue;
+    @Nullable
+    private final ConstraintDescriptor<?> constraintDescriptor;
+
+    @SuppressWarnings("unchecked")
+    RuleViolation(
+        T rootBean,
+        Path propertyPath,
+        String message,
+        String messageTemplate,
+        @Nullable Object invalidValue) {
+
+        this((Class<T>) rootBean.getClass(), rootBean, propertyPath, message, messageTemplate, invalidValue);
+    }
+
+    /**
+     * For violations without a root bean instance, like the ones from {@code Validator.validateValue()}.
+     */
+    RuleViolation(
+        Class<T> rootBeanClass,
+        @Nullable T rootBean,
+        Path propertyPath,
+        String message,
+        String messageTemplate,
+        @Nullable Object invalidValue) {
+
+        this(rootBeanClass, rootBean, propertyPath, message, messageTemplate, invalidValue, null);
+    }
+
+    /**
+     * For violations of a constraint annotation that we checked ourselves.
+     */
+    RuleViolation(
+        Class<T> rootBeanClass,
+        @Nullable T rootBean,
+        Path propertyPath,
+        String message,
+        String messageTemplate,
+        @Nullable Object invalidValue,
+        @Nullable ConstraintDescriptor<?> constraintDescriptor) {
+
+        this.rootBeanClass = rootBeanClass;
+        this.rootBean = rootBean;
+        this.propertyPath = propertyPath;
+        this.message = message;
+        this.messageTemplate = messageTemplate;
+        this.invalidValue = invalidValue;
+        this.constraintDescriptor = constraintDescriptor;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String getMessageTemplate() {
+        return messageTemplate;
+    }
+
+    @Override
+    @Nullable
+    public T getRootBean() {
+        return rootBean;
+    }
+
+    @Override
+    public Class<T> getRootBeanClass() {
+        return rootBeanClass;
+    }
+
+    @Override
+    @Nullable
+    public Object getLeafBean() {
+        return rootBean;
+    }
+
+    @Override
+    @Nullable
+    public Object[] getExecutableParameters() {
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public Object getExecutableReturnValue() {
+        return null;
+    }
+
+    @Override
+    public Path getPropertyPath() {
+        return propertyPath;
+    }
+
+    @Override
+    @Nullable
+    public Object getInvalidValue() {
+        return invalidValue;
+    }
+
+    @Override
+    @Nullable
+    public ConstraintDescriptor<?> getConstraintDescriptor() {
+        return constraintDescriptor;
+    }
+
+    @Override
+    public <U> U unwrap(Class<U> type) {
+        return type.cast(this);
+    }
+
+    @Override
+    public String toString() {
+        return ValidUtils.violationToString(this);
+    }
+}
@@ -0,0 +1,108 @@
+package com.terheyden.valid;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorFactory;
+
+/**
+ * Creates the constraint validators for {@link Valid#FACTORY} and {@link ValidatorRegistry}'s factories.
+ * <ul>
+ *     <li>Stateless validators (no instance fields, no {@code initialize()}) are created once,
+ *     and shared by every factory.</li>
+ *     <li>Validators marked with {@link CacheableConstraint} are wrapped in a {@link CachingConstraintValidator}.</li>
+ *     <li>Anything else is created by the delegate, like usual.</li>
+ * </ul>
+ * Thread-safe.
+ */
+final class SharedConstraintValidatorFactory implements ConstraintValidatorFactory {
+
+    private static final ClassValue<Boolean> STATELESS = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> validatorClass) {
+            return isStateless(validatorClass);
+        }
+    };
+
+    // Shared by every factory, so there's only ever one of each.
+    // Kept with the validator class rather than in a map, so a redeployed app's validators can be unloaded.
+    private static final ClassValue<AtomicReference<ConstraintValidator<?, ?>>> SHARED_VALIDATORS = new ClassValue<>() {
+        @Override
+        protected AtomicReference<ConstraintValidator<?, ?>> computeValue(Class<?> validatorClass) {
+            return new AtomicReference<>();
+        }
+    };
+
+    private final ConstraintValidatorFactory delegate;
+
+    SharedConstraintValidatorFactory(ConstraintValidatorFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+
+        if (key.isAnnotationPresent(CacheableConstraint.class)) {
+            // Not a T, but validators are only ever used as ConstraintValidators.
+            return (T) new CachingConstraintValidator(delegate.getInstance(key));
+        }
+
+        if (STATELESS.get(key)) {
+            return (T) sharedInstance(key);
+        }
+
+        return delegate.getInstance(key);
+    }
+
+    @Override
+    public void releaseInstance(ConstraintValidator<?, ?> instance) {
+
+        if (instance instanceof CachingConstraintValidator) {
+            delegate.releaseInstance(((CachingConstraintValidator<?, ?>) instance).getDelegate());
+        } else if (!STATELESS.get(instance.getClass())) {
+            delegate.releaseInstance(instance);
+        }
+    }
+
+    private ConstraintValidator<?, ?> sharedInstance(Class<? extends ConstraintValidator<?, ?>> validatorClass) {
+
+        AtomicReference<ConstraintValidator<?, ?>> shared = SHARED_VALIDATORS.get(validatorClass);
+        ConstraintValidator<?, ?> instance = shared.get();
+
+        if (instance == null) {
+            // If two threads race, one instance wins and the other is dropped.
+            shared.compareAndSet(null, delegate.getInstance(validatorClass));
+            instance = shared.get();
+        }
+
+        return instance;
+    }
+
+    /**
+     * True if instances of the class don't hold any state, so one instance can serve every constraint.
+     */
+    private static boolean isStateless(Class<?> validatorClass) {
+
+        for (Class<?> type = validatorClass; type != null && type != Object.class; type = type.getSuperclass()) {
+
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    return false;
+                }
+            }
+
+            // Only stateful validators need to know their constraint.
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.getName().equals("initialize") && !Modifier.isStatic(method.getModifiers())) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+}
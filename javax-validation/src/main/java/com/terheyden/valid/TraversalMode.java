@@ -0,0 +1,56 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.util.Locale;
+
+/**
+ * How {@link Valid#FACTORY} decides whether properties are reachable and cascadable.
+ * Set with the {@value #PROPERTY} system property, e.g. {@code -Dvalid.traversal=always};
+ * the default is {@link #DEFAULT}. See {@link Valid#TRAVERSAL_MODE}.
+ */
+public enum TraversalMode {
+
+    /**
+     * Hibernate's default: everything is reachable, unless JPA is on the classpath,
+     * in which case every property is checked with {@code PersistenceUtil.isLoaded()}.
+     */
+    DEFAULT,
+
+    /**
+     * Everything is reachable and cascadable, without checking anything, even with JPA on the classpath.
+     * The fastest option; use it wherever the ORM's lazy loading doesn't matter.
+     */
+    ALWAYS,
+
+    /**
+     * Hibernate's default, but each validation only asks once per (class, property),
+     * instead of once per object. Lazy-loaded properties may be validated (or skipped) for every
+     * object of a class, depending on the first object of that class the validation saw.
+     */
+    CACHING;
+
+    /**
+     * The system property that sets the traversal mode.
+     */
+    public static final String PROPERTY = "valid.traversal";
+
+    /**
+     * The mode set by the {@value #PROPERTY} system property, or {@link #DEFAULT} if it isn't set.
+     *
+     * @throws IllegalArgumentException if the property isn't a traversal mode
+     */
+    static TraversalMode fromSystemProperty() {
+        return parse(System.getProperty(PROPERTY));
+    }
+
+    /**
+     * The mode with the given name, ignoring case, or {@link #DEFAULT} if there's no name.
+     *
+     * @throws IllegalArgumentException if the name isn't a traversal mode
+     */
+    static TraversalMode parse(@Nullable String mode) {
+        return mode == null || mode.isBlank()
+            ? DEFAULT
+            : valueOf(mode.trim().toUpperCase(Locale.ROOT));
+    }
+}
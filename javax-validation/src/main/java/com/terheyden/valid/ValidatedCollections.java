@@ -0,0 +1,43 @@
+package com.terheyden.valid;
+
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+
+/**
+ * Helper class for validating elements as they are added to validated collections.
+ * Used by {@link ValidatedList}, {@link ValidatedSet}, and {@link ValidatedMap}.
+ */
+final class ValidatedCollections {
+
+    private ValidatedCollections() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    /**
+     * Validate an element (or map key / value) before it goes into a collection.
+     * Null is considered invalid.
+     *
+     * @throws ConstraintViolationException if the element is invalid
+     */
+    static <E> E checkElement(E element) {
+
+        Set<ConstraintViolation<E>> violations = Valid.checkObject(element);
+
+        if (violations.isEmpty()) {
+            return element;
+        }
+
+        throw new ConstraintViolationException(violations);
+    }
+
+    /**
+     * Throw if there are any collection-level violations.
+     */
+    static <T> void throwIfAny(Set<ConstraintViolation<T>> violations) {
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+}
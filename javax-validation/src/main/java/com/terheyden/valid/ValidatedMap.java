@@ -0,0 +1,263 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+
+/**
+ * A map that validates every key and value as it's put, and keeps running state for its
+ * {@link CollectionConstraints}. Checking the whole map is O(1), no matter how large it gets.
+ * See {@link ValidatedList} for details.
+ * <p>
+ * Not thread-safe, unless created with {@link #concurrent(CollectionConstraints)}.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class ValidatedMap<K, V> extends AbstractMap<K, V> {
+
+    private final Map<K, V> entries;
+    private final CollectionConstraints constraints;
+    private final Set<Entry<K, V>> entrySet = new EntrySet();
+
+    private ValidatedMap(Map<K, V> entries, CollectionConstraints constraints) {
+        this.entries = entries;
+        this.constraints = constraints;
+    }
+
+    /**
+     * Create an empty map with no collection-level constraints; keys and values are still validated.
+     */
+    public ValidatedMap() {
+        this(CollectionConstraints.none());
+    }
+
+    /**
+     * Create an empty map with the given collection-level constraints.
+     */
+    public ValidatedMap(CollectionConstraints constraints) {
+        this(new HashMap<>(), constraints);
+    }
+
+    /**
+     * Create an empty, thread-safe map with the given collection-level constraints.
+     * Backed by a {@link ConcurrentHashMap}, so reads are lock-free and writes only lock
+     * the hash bin they touch. Keys and values are validated before any lock is taken,
+     * except for values computed by {@code compute} / {@code merge} functions.
+     */
+    public static <K, V> ValidatedMap<K, V> concurrent(CollectionConstraints constraints) {
+        return new ValidatedMap<>(new ConcurrentHashMap<>(), constraints);
+    }
+
+    /**
+     * Check the collection-level constraints, returning any violations. O(1).
+     * Keys and values are always valid, since invalid ones are rejected when they're put.
+     */
+    public Set<ConstraintViolation<ValidatedMap<K, V>>> checkCollection() {
+        // Map keys are unique.
+        return constraints.check(this, entries.size(), 0);
+    }
+
+    /**
+     * Check the collection-level constraints, throwing if there are any violations. O(1).
+     *
+     * @throws ConstraintViolationException if the map violates its constraints
+     */
+    public ValidatedMap<K, V> validateCollection() {
+        ValidatedCollections.throwIfAny(checkCollection());
+        return this;
+    }
+
+    /**
+     * Validate the key and value, and put them in the map.
+     *
+     * @throws ConstraintViolationException if the key or value is invalid
+     */
+    @Override
+    @Nullable
+    public V put(K key, V value) {
+        return entries.put(ValidatedCollections.checkElement(key), ValidatedCollections.checkElement(value));
+    }
+
+    /**
+     * Validate all the keys and values, then put them. If any are invalid, none are put.
+     *
+     * @throws ConstraintViolationException if any key or value is invalid
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> newEntries) {
+
+        Map<K, V> validated = new HashMap<>(newEntries);
+        validated.forEach((key, value) -> {
+            ValidatedCollections.checkElement(key);
+            ValidatedCollections.checkElement(value);
+        });
+
+        entries.putAll(validated);
+    }
+
+    @Override
+    @Nullable
+    public V putIfAbsent(K key, V value) {
+        return entries.putIfAbsent(ValidatedCollections.checkElement(key), ValidatedCollections.checkElement(value));
+    }
+
+    @Override
+    @Nullable
+    public V replace(K key, V value) {
+        return entries.replace(key, ValidatedCollections.checkElement(value));
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        return entries.replace(key, oldValue, ValidatedCollections.checkElement(newValue));
+    }
+
+    @Override
+    @Nullable
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return entries.computeIfAbsent(
+            ValidatedCollections.checkElement(key),
+            newKey -> checkComputed(mappingFunction.apply(newKey)));
+    }
+
+    @Override
+    @Nullable
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return entries.computeIfPresent(
+            key,
+            (oldKey, oldValue) -> checkComputed(remappingFunction.apply(oldKey, oldValue)));
+    }
+
+    @Override
+    @Nullable
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return entries.compute(
+            ValidatedCollections.checkElement(key),
+            (oldKey, oldValue) -> checkComputed(remappingFunction.apply(oldKey, oldValue)));
+    }
+
+    @Override
+    @Nullable
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return entries.merge(
+            ValidatedCollections.checkElement(key),
+            ValidatedCollections.checkElement(value),
+            (oldValue, newValue) -> checkComputed(remappingFunction.apply(oldValue, newValue)));
+    }
+
+    @Override
+    @Nullable
+    public V get(Object key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    @Nullable
+    public V remove(Object key) {
+        return entries.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return entries.remove(key, value);
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return entrySet;
+    }
+
+    /**
+     * Null from a compute / merge function means "remove", so it isn't validated.
+     */
+    @Nullable
+    private static <V> V checkComputed(@Nullable V value) {
+        return value == null ? null : ValidatedCollections.checkElement(value);
+    }
+
+    /**
+     * The backing map's entries, with {@link Entry#setValue(Object)} validating the new value.
+     */
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+
+            Iterator<Entry<K, V>> iterator = entries.entrySet().iterator();
+
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    return new ValidatedEntry(iterator.next());
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public void clear() {
+            entries.clear();
+        }
+    }
+
+    /**
+     * An entry that validates new values.
+     */
+    private final class ValidatedEntry extends SimpleEntry<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Entry<K, V> entry;
+
+        private ValidatedEntry(Entry<K, V> entry) {
+            super(entry);
+            this.entry = entry;
+        }
+
+        @Override
+        public V setValue(V value) {
+            super.setValue(ValidatedCollections.checkElement(value));
+            return entry.setValue(value);
+        }
+    }
+}
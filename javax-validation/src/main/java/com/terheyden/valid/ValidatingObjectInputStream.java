@@ -0,0 +1,198 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.lang.annotation.ElementType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Path;
+import javax.validation.TraversableResolver;
+import javax.validation.Validator;
+import javax.validation.metadata.PropertyDescriptor;
+
+/**
+ * An {@link ObjectInputStream} that validates {@link SelfValidating} objects as they're deserialized,
+ * and fails the read on the first invalid one.
+ * <p>
+ * Each object is validated as soon as its own fields have been read, before the rest of the graph.
+ * Since every {@code SelfValidating} object in the graph gets its turn, validation doesn't cascade into them
+ * (or into containers of them) — that part of the graph is traversed once, by deserialization,
+ * not again by the validator. Other {@code @Valid} objects, which don't get a turn of their own,
+ * are cascaded into as usual. Whether a class needs validating is worked out once per class and cached.
+ * <p>
+ * ({@link java.io.ObjectInputFilter} can't do this, since filters only see classes, not objects.)
+ */
+public class ValidatingObjectInputStream extends ObjectInputStream {
+
+    private static final ClassValue<Boolean> NEEDS_VALIDATION = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return SelfValidating.class.isAssignableFrom(type)
+                && Valid.VALIDATOR.getConstraintsForClass(type).isBeanConstrained();
+        }
+    };
+
+    // Whether cascading into an instance does anything, when it isn't validated on its own.
+    private static final ClassValue<Boolean> IS_CONSTRAINED = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return Valid.VALIDATOR.getConstraintsForClass(type).isBeanConstrained();
+        }
+    };
+
+    // Reads each class's cascaded properties, by name, so we can see what a cascade would reach.
+    private static final ClassValue<Map<String, Function<Object, Object>>> CASCADED_PROPERTY_READERS =
+        new ClassValue<>() {
+            @Override
+            protected Map<String, Function<Object, Object>> computeValue(Class<?> type) {
+                return findCascadedPropertyReaders(type);
+            }
+        };
+
+    // Doesn't cascade into nested objects that are validated on their own when they're read.
+    private static final Validator VALIDATOR = Valid.FACTORY.usingContext()
+        .traversableResolver(new ReadObjectsTraversableResolver(Valid.FACTORY.getTraversableResolver()))
+        .getValidator();
+
+    /**
+     * Create a stream that reads from the given stream, validating as it goes.
+     */
+    public ValidatingObjectInputStream(InputStream in) throws IOException {
+        super(in);
+        enableResolveObject(true);
+    }
+
+    /**
+     * Validate the object if it's {@link SelfValidating}.
+     *
+     * @throws InvalidObjectException if the object is invalid; caused by a {@link ConstraintViolationException}
+     */
+    @Override
+    protected Object resolveObject(Object obj) throws IOException {
+
+        if (obj == null || !NEEDS_VALIDATION.get(obj.getClass())) {
+            return obj;
+        }
+
+        Set<ConstraintViolation<Object>> violations = VALIDATOR.validate(obj);
+
+        if (violations.isEmpty()) {
+            return obj;
+        }
+
+        InvalidObjectException exception = new InvalidObjectException(
+            "Invalid " + obj.getClass().getName() + ": " + ValidUtils.violationsToString(violations));
+
+        exception.initCause(new ConstraintViolationException(violations));
+        throw exception;
+    }
+
+    private static Map<String, Function<Object, Object>> findCascadedPropertyReaders(Class<?> type) {
+
+        Map<String, Function<Object, Object>> readers = new HashMap<>();
+
+        for (PropertyDescriptor property : Valid.VALIDATOR.getConstraintsForClass(type).getConstrainedProperties()) {
+            if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+                Reflections.findPropertyReader(type, property.getPropertyName())
+                    .ifPresent(reader -> readers.put(property.getPropertyName(), reader));
+            }
+        }
+
+        return readers;
+    }
+
+    /**
+     * Whether cascading into the value would only reach objects that are validated on their own as they're read
+     * (or that have no constraints): a {@link SelfValidating} object, or a collection, map, array or optional of them.
+     */
+    private static boolean isValidatedWhenRead(@Nullable Object value) {
+
+        if (value == null) {
+            return true;
+        }
+
+        if (value instanceof Iterable) {
+            return allValidatedWhenRead((Iterable<?>) value);
+        }
+
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            return allValidatedWhenRead(map.keySet()) && allValidatedWhenRead(map.values());
+        }
+
+        if (value instanceof Object[]) {
+            return allValidatedWhenRead(Arrays.asList((Object[]) value));
+        }
+
+        if (value instanceof Optional) {
+            return isValidatedWhenRead(((Optional<?>) value).orElse(null));
+        }
+
+        return NEEDS_VALIDATION.get(value.getClass()) || !IS_CONSTRAINED.get(value.getClass());
+    }
+
+    private static boolean allValidatedWhenRead(Iterable<?> values) {
+
+        for (Object value : values) {
+            if (!isValidatedWhenRead(value)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Reaches everything its delegate does, but doesn't cascade into objects that are validated when they're read.
+     */
+    private static final class ReadObjectsTraversableResolver implements TraversableResolver {
+
+        private final TraversableResolver delegate;
+
+        private ReadObjectsTraversableResolver(TraversableResolver delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean isReachable(
+            Object traversableObject,
+            Path.Node traversableProperty,
+            Class<?> rootBeanType,
+            Path pathToTraversableObject,
+            ElementType elementType) {
+
+            return delegate.isReachable(
+                traversableObject, traversableProperty, rootBeanType, pathToTraversableObject, elementType);
+        }
+
+        @Override
+        public boolean isCascadable(
+            Object traversableObject,
+            Path.Node traversableProperty,
+            Class<?> rootBeanType,
+            Path pathToTraversableObject,
+            ElementType elementType) {
+
+            if (!delegate.isCascadable(
+                traversableObject, traversableProperty, rootBeanType, pathToTraversableObject, elementType)) {
+                return false;
+            }
+
+            // Cascade if we can't tell what it would reach.
+            Function<Object, Object> reader = traversableObject == null ? null
+                : CASCADED_PROPERTY_READERS.get(traversableObject.getClass()).get(traversableProperty.getName());
+
+            return reader == null || !isValidatedWhenRead(reader.apply(traversableObject));
+        }
+    }
+}
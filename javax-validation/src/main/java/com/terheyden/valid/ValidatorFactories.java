@@ -0,0 +1,102 @@
+package com.terheyden.valid;
+
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.HibernateValidatorConfiguration;
+import org.hibernate.validator.cfg.ConstraintMapping;
+
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.Validation;
+import javax.validation.ValidationException;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Pattern;
+
+/**
+ * Builds the validator factories used by {@link Valid} and {@link ValidatorRegistry}.
+ * <p>
+ * The factory is configured like the default one (including any {@code META-INF/validation.xml}),
+ * with these validators swapped in:
+ * <ul>
+ *     <li>if the {@value LinearPatternValidator#PROPERTY} system property is true,
+ *     {@code @Pattern} is validated by {@link LinearPatternValidator}</li>
+ *     <li>constraint validators are created by {@link SharedConstraintValidatorFactory}, wrapping the
+ *     {@code <constraint-validator-factory>} from {@code validation.xml}, if there is one</li>
+ *     <li>in {@link TraversalMode#ALWAYS} mode, the traversable resolver is {@link AlwaysTraversableResolver}</li>
+ * </ul>
+ */
+final class ValidatorFactories {
+
+    /**
+     * Read once, since {@link Valid#FACTORY} is only built once.
+     */
+    static final TraversalMode TRAVERSAL_MODE = TraversalMode.fromSystemProperty();
+
+    /**
+     * Read once, since {@link Valid#FACTORY} is only built once.
+     */
+    static final boolean LINEAR_PATTERN = Boolean.getBoolean(LinearPatternValidator.PROPERTY);
+
+    private ValidatorFactories() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    static ValidatorFactory createDefault() {
+        return configureDefault().buildValidatorFactory();
+    }
+
+    /**
+     * The default factory's configuration, for building factories with more mappings on top of it.
+     * See {@link ValidatorRegistry}.
+     */
+    static HibernateValidatorConfiguration configureDefault() {
+        return configure(TRAVERSAL_MODE, LINEAR_PATTERN);
+    }
+
+    static HibernateValidatorConfiguration configure(TraversalMode traversalMode) {
+        return configure(traversalMode, LINEAR_PATTERN);
+    }
+
+    static HibernateValidatorConfiguration configure(TraversalMode traversalMode, boolean linearPattern) {
+
+        HibernateValidatorConfiguration config = Validation.byProvider(HibernateValidator.class).configure();
+        ConstraintMapping mapping = config.createConstraintMapping();
+
+        if (linearPattern) {
+            mapping.constraintDefinition(Pattern.class)
+                .includeExistingValidators(false)
+                .validatedBy(LinearPatternValidator.class);
+        }
+
+        config.constraintValidatorFactory(new SharedConstraintValidatorFactory(configuredValidatorFactory(config)));
+
+        if (traversalMode == TraversalMode.ALWAYS) {
+            // Hibernate caches the resolver's answers for each validation; no point when they're always true.
+            config.traversableResolver(new AlwaysTraversableResolver())
+                .enableTraversableResolverResultCache(false);
+        }
+
+        return config.addMapping(mapping);
+    }
+
+    /**
+     * The constraint validator factory named in {@code validation.xml}, or else the default one.
+     * Setting ours replaces the one in the XML, so we create it ourselves to delegate to it.
+     */
+    private static ConstraintValidatorFactory configuredValidatorFactory(HibernateValidatorConfiguration config) {
+
+        String className = config.getBootstrapConfiguration().getConstraintValidatorFactoryClassName();
+
+        if (className == null) {
+            return config.getDefaultConstraintValidatorFactory();
+        }
+
+        try {
+
+            return (ConstraintValidatorFactory) Class.forName(className, true, ValidationIndex.defaultClassLoader())
+                .getDeclaredConstructor()
+                .newInstance();
+
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new ValidationException("Unable to create the constraint validator factory: " + className, e);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.terheyden.valid;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.hibernate.validator.HibernateValidatorConfiguration;
+import org.slf4j.Logger;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * One validator factory per profile (e.g. per tenant), each with its own constraint mappings,
+ * layered on top of the same configuration as {@link Valid#FACTORY}.
+ * A profile's mappings come from a {@code constraint-mappings} XML file, or are added in code.
+ * <p>
+ * Building a factory is expensive, so each profile's factory is built once, when it's registered,
+ * and then shared. Profiles with an XML file are rebuilt when the file changes — see {@link #reloadChanged()}
+ * and {@link #reloadEvery(Duration)}. A profile's new factory is built and warmed up before it's swapped in,
+ * so readers never wait and never see a cold factory. If the new mappings are broken, the old factory is kept.
+ * <p>
+ * Lookups are lock-free; only registering and reloading lock. Thread-safe.
+ */
+public final class ValidatorRegistry implements AutoCloseable {
+
+    private static final Logger LOG = getLogger(ValidatorRegistry.class);
+
+    // Copy-on-write: never changed, only replaced, so lookups are a single volatile read.
+    private volatile Map<String, Profile> profiles = Collections.emptyMap();
+
+    // The mapping file versions that failed to load, by profile. Guarded by this.
+    private final Map<String, FileStamp> failedStamps = new HashMap<>();
+
+    @Nullable
+    private ScheduledExecutorService reloader;
+
+    /**
+     * Register a profile whose constraint mappings are in the given {@code constraint-mappings} XML file.
+     * Replaces any profile with the same name.
+     *
+     * @param warmUpClasses classes whose metadata is built up front, so the first validations are fast
+     * @throws UncheckedIOException if the file can't be read
+     * @throws ValidationException if the mappings are invalid
+     */
+    public ValidatorRegistry register(String profile, Path mappingFile, Class<?>... warmUpClasses) {
+        publish(Profile.load(profile, mappingFile, null, warmUpClasses));
+        return this;
+    }
+
+    /**
+     * Register a profile whose constraint mappings are added in code,
+     * e.g. with {@link HibernateValidatorConfiguration#createConstraintMapping()}.
+     * Replaces any profile with the same name.
+     *
+     * @param configurer adds the profile's mappings to its configuration
+     * @param warmUpClasses classes whose metadata is built up front, so the first validations are fast
+     */
+    public ValidatorRegistry register(
+        String profile,
+        Consumer<HibernateValidatorConfiguration> configurer,
+        Class<?>... warmUpClasses) {
+
+        publish(Profile.load(profile, null, configurer, warmUpClasses));
+        return this;
+    }
+
+    /**
+     * The profile's validator factory.
+     *
+     * @throws IllegalArgumentException if the profile isn't registered
+     */
+    public ValidatorFactory factory(String profile) {
+        return get(profile).factory;
+    }
+
+    /**
+     * The profile's validator.
+     *
+     * @throws IllegalArgumentException if the profile isn't registered
+     */
+    public Validator validator(String profile) {
+        return get(profile).validator;
+    }
+
+    /**
+     * The names of the registered profiles.
+     */
+    public Set<String> profiles() {
+        return profiles.keySet();
+    }
+
+    /**
+     * Validate the object with the profile's validator, returning any violations.
+     * See {@link Valid#checkObject(Object)}.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @throws IllegalArgumentException if the profile isn't registered
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Set<ConstraintViolation<T>> checkObject(String profile, @Nullable T objectToValidate) {
+
+        Validator validator = validator(profile);
+
+        return objectToValidate == null
+            ? Collections.singleton(Valid.NULL_ORIGIN_VIOLATION)
+            : validator.validate(objectToValidate);
+    }
+
+    /**
+     * Validate the object with the profile's validator, throwing an exception if any violations are found.
+     * See {@link Valid#validateObject(Object)}.
+     *
+     * @param objectToValidate the object to validate; null is considered invalid
+     * @throws IllegalArgumentException if the profile isn't registered
+     * @throws NullPointerException if the object to validate is null
+     * @throws ConstraintViolationException if any violations are found
+     * @return {@code objectToValidate}, for chaining
+     */
+    public <T> T validateObject(String profile, @Nullable T objectToValidate) {
+
+        Validator validator = validator(profile);
+
+        if (objectToValidate == null) {
+            throw new NullPointerException("Object to validate is null.");
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(objectToValidate);
+
+        if (violations.isEmpty()) {
+            // Looks good, return.
+            return objectToValidate;
+        }
+
+        throw new ConstraintViolationException(violations);
+    }
+
+    /**
+     * Rebuild the profiles whose mapping files have changed since they were loaded.
+     * A profile whose new mappings can't be loaded keeps its current factory, and the error is logged.
+     *
+     * @return how many profiles were reloaded
+     */
+    public synchronized int reloadChanged() {
+
+        int reloaded = 0;
+
+        for (Profile profile : profiles.values()) {
+
+            FileStamp stamp = profile.currentStamp();
+
+            if (stamp == null || stamp.equals(profile.stamp) || stamp.equals(failedStamps.get(profile.name))) {
+                continue;
+            }
+
+            try {
+
+                publish(profile.reload());
+                reloaded++;
+
+            } catch (RuntimeException e) {
+                // Don't try this version of the file again.
+                failedStamps.put(profile.name, stamp);
+                LOG.error("Failed to reload validation profile '{}', keeping the current one: {}",
+                    profile.name, profile.mappingFile, e);
+            }
+        }
+
+        return reloaded;
+    }
+
+    /**
+     * Check for changed mapping files in the background, every {@code period}.
+     * The checks run on a single daemon thread, until {@link #close()} is called.
+     */
+    public synchronized ValidatorRegistry reloadEvery(Duration period) {
+
+        if (reloader != null) {
+            throw new IllegalStateException("Already reloading.");
+        }
+
+        reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "validator-registry-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long periodMillis = period.toMillis();
+        reloader.scheduleWithFixedDelay(this::reloadChanged, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    /**
+     * Stop reloading, and close every profile's factory.
+     */
+    @Override
+    public synchronized void close() {
+
+        if (reloader != null) {
+            reloader.shutdownNow();
+            reloader = null;
+        }
+
+        profiles.values().forEach(profile -> profile.factory.close());
+        profiles = Collections.emptyMap();
+    }
+
+    private Profile get(String profile) {
+
+        Profile found = profiles.get(profile);
+
+        if (found == null) {
+            throw new IllegalArgumentException("Unknown validation profile: " + profile);
+        }
+
+        return found;
+    }
+
+    /**
+     * Swap in the profile. Replaced factories aren't closed, since other threads may still be using them;
+     * they're garbage collected like any other object once they're no longer used.
+     */
+    private synchronized void publish(Profile profile) {
+        Map<String, Profile> newProfiles = new HashMap<>(profiles);
+        newProfiles.put(profile.name, profile);
+        profiles = Collections.unmodifiableMap(newProfiles);
+        failedStamps.remove(profile.name);
+    }
+
+    /**
+     * A profile's fully built and warmed-up factory, and where its mappings came from.
+     */
+    private static final class Profile {
+
+        private final String name;
+        @Nullable
+        private final Path mappingFile;
+        @Nullable
+        private final Consumer<HibernateValidatorConfiguration> configurer;
+        private final Class<?>[] warmUpClasses;
+        @Nullable
+        private final FileStamp stamp;
+        private final ValidatorFactory factory;
+        private final Validator validator;
+
+        private Profile(
+            String name,
+            @Nullable Path mappingFile,
+            @Nullable Consumer<HibernateValidatorConfiguration> configurer,
+            Class<?>[] warmUpClasses,
+            @Nullable FileStamp stamp,
+            ValidatorFactory factory) {
+
+            this.name = name;
+            this.mappingFile = mappingFile;
+            this.configurer = configurer;
+            this.warmUpClasses = warmUpClasses;
+            this.stamp = stamp;
+            this.factory = factory;
+            this.validator = factory.getValidator();
+
+            for (Class<?> warmUpClass : warmUpClasses) {
+                validator.getConstraintsForClass(warmUpClass);
+            }
+        }
+
+        private static Profile load(
+            String name,
+            @Nullable Path mappingFile,
+            @Nullable Consumer<HibernateValidatorConfiguration> configurer,
+            Class<?>[] warmUpClasses) {
+
+            HibernateValidatorConfiguration config = ValidatorFactories.configureDefault();
+            FileStamp stamp = null;
+
+            if (mappingFile != null) {
+                try {
+
+                    // Stamped before reading, so a write that happens while we read is picked up next time.
+                    stamp = FileStamp.of(mappingFile);
+                    config.addMapping(new ByteArrayInputStream(Files.readAllBytes(mappingFile)));
+
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read constraint mappings: " + mappingFile, e);
+                }
+            }
+
+            if (configurer != null) {
+                configurer.accept(config);
+            }
+
+            ValidatorFactory factory = config.buildValidatorFactory();
+            return new Profile(name, mappingFile, configurer, warmUpClasses.clone(), stamp, factory);
+        }
+
+        private Profile reload() {
+            return load(name, mappingFile, configurer, warmUpClasses);
+        }
+
+        /**
+         * The mapping file's current stamp, or null if there's no file or it can't be read right now.
+         */
+        @Nullable
+        private FileStamp currentStamp() {
+
+            if (mappingFile == null) {
+                return null;
+            }
+
+            try {
+
+                return FileStamp.of(mappingFile);
+
+            } catch (IOException e) {
+                // Probably mid-replace; try again next time.
+                LOG.warn("Failed to check constraint mappings: {}", mappingFile, e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A file's modified time and size, to tell when it changes.
+     */
+    private static final class FileStamp {
+
+        private final FileTime lastModified;
+        private final long size;
+
+        private FileStamp(FileTime lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        private static FileStamp of(Path file) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileStamp(attributes.lastModifiedTime(), attributes.size());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+
+            if (!(other instanceof FileStamp)) {
+                return false;
+            }
+
+            FileStamp that = (FileStamp) other;
+            return lastModified.equals(that.lastModified) && size == that.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastModified, size);
+        }
+    }
+}
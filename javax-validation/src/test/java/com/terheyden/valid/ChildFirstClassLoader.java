@@ -0,0 +1,59 @@
+package com.terheyden.valid;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Predicate;
+
+/**
+ * Defines its own copy of the classes it owns, instead of asking its parent first,
+ * like an app server's class loader. JDK classes are always shared.
+ * Used by tests that load and drop classes, like on redeploy.
+ */
+final class ChildFirstClassLoader extends ClassLoader {
+
+    private final Predicate<String> ownClasses;
+
+    ChildFirstClassLoader(ClassLoader parent, Predicate<String> ownClasses) {
+        super(parent);
+        this.ownClasses = ownClasses;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+
+        synchronized (getClassLoadingLock(name)) {
+
+            Class<?> loaded = findLoadedClass(name);
+
+            if (loaded != null) {
+                return loaded;
+            }
+
+            if (!ownClasses.test(name) || isJdkClass(name)) {
+                return super.loadClass(name, resolve);
+            }
+
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+
+                if (in == null) {
+                    return super.loadClass(name, resolve);
+                }
+
+                byte[] bytes = in.readAllBytes();
+                return defineClass(name, bytes, 0, bytes.length);
+
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+    private static boolean isJdkClass(String name) {
+        try {
+            getPlatformClassLoader().loadClass(name);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.terheyden.valid;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Payload;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that redeploying an app doesn't leak its class loader through this library's static state.
+ * Each "deployment" is a child-first class loader, like an app server's, that's used and then dropped.
+ */
+class ClassLoaderLeakTest {
+
+    private static final int DEPLOYMENTS = 3;
+
+    @Test
+    void redeployedApp_withThisLibrary_isUnloaded() throws Exception {
+
+        // The app bundles this library, so the deployment gets its own copy of it, and of Hibernate Validator.
+        for (int i = 0; i < DEPLOYMENTS; i++) {
+            assertUnloaded(deploy(name -> true, App.class));
+        }
+    }
+
+    @Test
+    void redeployedApp_sharingThisLibrary_isUnloaded() throws Exception {
+
+        // This library is shared by the server; only the app's classes are the deployment's own.
+        // Hibernate Validator keeps the constraint validators of every class Valid.FACTORY has validated,
+        // so the app uses a factory of its own, closed at undeploy.
+        Predicate<String> appClasses = name -> name.startsWith(ClassLoaderLeakTest.class.getName());
+
+        for (int i = 0; i < DEPLOYMENTS; i++) {
+            assertUnloaded(deploy(appClasses, SharedLibraryApp.class));
+        }
+    }
+
+    /**
+     * Runs the app workload in a new deployment, and returns a weak reference to the deployment's class loader.
+     */
+    private static WeakReference<ClassLoader> deploy(
+        Predicate<String> ownClasses,
+        Class<? extends Runnable> app) throws Exception {
+
+        ChildFirstClassLoader deployment = new ChildFirstClassLoader(
+            ClassLoaderLeakTest.class.getClassLoader(), ownClasses);
+
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        thread.setContextClassLoader(deployment);
+
+        try {
+
+            Class<?> appClass = deployment.loadClass(app.getName());
+            assertNotSame(app, appClass);
+            ((Runnable) appClass.getDeclaredConstructor().newInstance()).run();
+
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+
+        return new WeakReference<>(deployment);
+    }
+
+    private static void assertUnloaded(WeakReference<ClassLoader> deployment) throws InterruptedException {
+
+        for (int i = 0; i < 100 && deployment.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        assertNull(deployment.get(), "The deployment's class loader is still reachable.");
+    }
+
+    /**
+     * What an app does: validates its own classes, with its own constraint, in every way.
+     */
+    public static final class App implements Runnable {
+
+        @Override
+        public void run() {
+
+            check(Valid.checkObject(new Customer("Cora", 3)).isEmpty());
+            check(Valid.checkObject(new Customer("bad", 0)).size() == 2);
+            check(Valid.checkObject(new ArrayList<>(List.of(1, 2))).isEmpty());
+            check(ValidUtils.violationsToString(Valid.checkObject(new Customer(" ", 1))).contains("name"));
+
+            Customer customer = new Customer("Cora", 3, "web");
+            customer.rename("Luna");
+            check(throwsViolation(() -> customer.rename("bad")));
+            check(throwsViolation(() -> new Customer(" ", 1, "web")));
+            check(throwsViolation(() -> new Customer("bad", 1, "web")));
+
+            Valid.preload(Customer.class);
+            new SharedLibraryApp().run();
+        }
+    }
+
+    /**
+     * What an app does when this library is shared: validates with factories of its own.
+     */
+    public static final class SharedLibraryApp implements Runnable {
+
+        @Override
+        public void run() {
+            try (ValidatorRegistry registry = new ValidatorRegistry().register("app", config -> { })) {
+                Set<ConstraintViolation<Customer>> violations = registry.validator("app").validate(new Customer("bad", 1));
+                check(violations.size() == 1);
+            }
+        }
+    }
+
+    private static boolean throwsViolation(Runnable runnable) {
+        try {
+            runnable.run();
+            return false;
+        } catch (ConstraintViolationException e) {
+            return true;
+        }
+    }
+
+    private static void check(boolean condition) {
+        if (!condition) {
+            throw new IllegalStateException("Unexpected validation result.");
+        }
+    }
+
+    /**
+     * Validates itself, and its method and constructor args.
+     */
+    public static final class Customer implements SelfValidating {
+
+        @NotBlank
+        @NotBad
+        private String name;
+
+        @Positive
+        private final int visits;
+
+        public Customer(String name, int visits) {
+            this.name = name;
+            this.visits = visits;
+        }
+
+        public Customer(@NotBlank String name, @Positive int visits, @NotBlank String source) {
+            Valid.validateConstructorArgs(name, visits, source);
+            this.name = name;
+            this.visits = visits;
+            validateSelf();
+        }
+
+        public void rename(@NotBlank @NotBad String newName) {
+            Valid.validateMethodArgs(this, newName);
+            name = newName;
+        }
+    }
+
+    /**
+     * The app's own constraint.
+     */
+    @Target({ ElementType.FIELD, ElementType.PARAMETER })
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = NotBadValidator.class)
+    public @interface NotBad {
+
+        String message() default "must not be 'bad'";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Stateless, so it's shared.
+     */
+    public static final class NotBadValidator implements ConstraintValidator<NotBad, String> {
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+            return !"bad".equals(value);
+        }
+    }
+}
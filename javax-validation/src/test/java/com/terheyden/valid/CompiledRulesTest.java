@@ -0,0 +1,113 @@
+package com.terheyden.valid;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CompiledRulesTest unit tests.
+ */
+class CompiledRulesTest {
+
+    private static final CompiledRules<User> USER_RULES = Valid.rules(User.class)
+        .field("name", User::getName).notBlank().size(3, 50).pattern("[a-z]+")
+        .field("age", User::getAge).min(18).max(130)
+        .field("tags", User::getTags).notEmpty()
+        .build();
+
+    @Test
+    void matchesAnnotations() {
+
+        List<User> users = List.of(
+            new User("cora", 20, List.of("cat")),
+            new User(null, 20, List.of("cat")),
+            new User("CO", 17, List.of()),
+            new User("cora", 131, null));
+
+        for (User user : users) {
+            assertEquals(describe(Valid.checkObject(user)), describe(USER_RULES.check(user)));
+        }
+    }
+
+    @Test
+    void validate_throwsOnViolations() {
+
+        User goodUser = new User("cora", 20, List.of("cat"));
+        assertEquals(goodUser, USER_RULES.validate(goodUser));
+        assertTrue(USER_RULES.check(goodUser).isEmpty());
+
+        assertThrows(ConstraintViolationException.class, () -> USER_RULES.validate(new User("cora", 1, List.of("a"))));
+        assertThrows(NullPointerException.class, () -> USER_RULES.validate(null));
+        assertEquals(1, USER_RULES.check(null).size());
+    }
+
+    @Test
+    void customAndObjectRules() {
+
+        CompiledRules<User> rules = Valid.rules(User.class)
+            .field("name", User::getName).must(name -> name != null && name.startsWith("c"), "must start with c")
+            .rule(user -> user.getAge() < 100 || user.getTags() != null, "old users need tags")
+            .build();
+
+        Set<ConstraintViolation<User>> violations = rules.check(new User("meow", 120, null));
+        assertEquals(Set.of("name: must start with c", ": old users need tags"), describe(violations));
+        assertTrue(ValidUtils.violationsToString(violations).contains("must start with c"));
+    }
+
+    private static Set<String> describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Annotated the same way as USER_RULES, to compare against.
+     */
+    private static final class User {
+
+        @NotBlank
+        @Size(min = 3, max = 50)
+        @Pattern(regexp = "[a-z]+")
+        private final String name;
+
+        @Min(18)
+        @Max(130)
+        private final int age;
+
+        @NotEmpty
+        private final List<String> tags;
+
+        private User(String name, int age, List<String> tags) {
+            this.name = name;
+            this.age = age;
+            this.tags = tags;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.terheyden.valid;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * ConstructorArgsForTest unit tests.
+ */
+class ConstructorArgsForTest {
+
+    // Compiled at test time, since this project builds for Java 11, which has no records.
+    private static final String RECORD_SOURCE = "package app;\n"
+        + "\n"
+        + "import com.terheyden.valid.Valid;\n"
+        + "import javax.validation.constraints.Min;\n"
+        + "import javax.validation.constraints.NotBlank;\n"
+        + "\n"
+        + "public record Cat(@NotBlank String name, @Min(0) int age) {\n"
+        + "\n"
+        + "    public Cat {\n"
+        + "        Valid.validateConstructorArgsFor(Cat.class, name, age);\n"
+        + "    }\n"
+        + "\n"
+        + "    public Cat(String name, String age) {\n"
+        + "        this(name, Integer.parseInt(age));\n"
+        + "    }\n"
+        + "}\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void singleConstructor_isValidated() {
+
+        new Point(1, 2);
+        assertThrows(ConstraintViolationException.class, () -> new Point(-1, 2));
+
+        Set<ConstraintViolation<Point>> violations = Valid.checkConstructorArgsFor(Point.class, -1, -2);
+        assertEquals(2, violations.size());
+        assertTrue(violations.stream().allMatch(violation -> violation.getRootBeanClass() == Point.class));
+    }
+
+    @Test
+    void overloadedConstructors_matchedByArgs() {
+
+        new Label("meow");
+        new Label("meow", 1);
+        assertThrows(ConstraintViolationException.class, () -> new Label(" "));
+        assertThrows(ConstraintViolationException.class, () -> new Label("meow", 0));
+
+        assertEquals(
+            Set.of("Label.arg0", "Label.arg1"),
+            propertyPaths(Valid.checkConstructorArgsFor(Label.class, null, 0)));
+    }
+
+    @Test
+    void record_validatesItsComponents() throws Exception {
+
+        assumeTrue(Runtime.version().feature() >= 16, "Records need Java 16");
+        Class<?> catClass = compileRecord();
+
+        Constructor<?> canonical = catClass.getDeclaredConstructor(String.class, int.class);
+        canonical.newInstance("Cora", 3);
+
+        InvocationTargetException thrown =
+            assertThrows(InvocationTargetException.class, () -> canonical.newInstance(" ", -1));
+        assertInstanceOf(ConstraintViolationException.class, thrown.getCause());
+        assertEquals(2, Valid.checkConstructorArgsFor(catClass, " ", -1).size());
+
+        // Same arity as the canonical constructor, but it takes the age as text.
+        assertTrue(Valid.checkConstructorArgsFor(catClass, " ", "three").isEmpty());
+        Constructor<?> fromText = catClass.getDeclaredConstructor(String.class, String.class);
+        assertThrows(InvocationTargetException.class, () -> fromText.newInstance("Cora", "-1"));
+
+        // Found once, then reused.
+        assertEquals(canonical, ArgValidation.knownConstructor(catClass).orElseThrow());
+        assertSame(ArgValidation.knownConstructor(catClass).get(), ArgValidation.knownConstructor(catClass).get());
+    }
+
+    @Test
+    void regularClass_isNotRecord() {
+        assertTrue(Reflections.getRecordComponentTypes(Point.class).isEmpty());
+        assertTrue(Reflections.getRecordComponentTypes(String.class).isEmpty());
+    }
+
+    private Class<?> compileRecord() throws IOException, URISyntaxException, ClassNotFoundException {
+
+        Path sourceFile = tempDir.resolve("src/app/Cat.java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.write(sourceFile, RECORD_SOURCE.getBytes(StandardCharsets.UTF_8));
+
+        Path outputDir = Files.createDirectories(tempDir.resolve("classes"));
+        String classpath = String.join(File.pathSeparator, location(Constraint.class), location(Valid.class));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter compilerOutput = new StringWriter();
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(sourceFile.toFile());
+            List<String> args = List.of("-proc:none", "-classpath", classpath, "-d", outputDir.toString());
+
+            JavaCompiler.CompilationTask task = compiler.getTask(compilerOutput, fileManager, null, args, null, units);
+            assertEquals(Boolean.TRUE, task.call(), compilerOutput::toString);
+        }
+
+        URL[] classpathUrls = { outputDir.toUri().toURL() };
+        return new URLClassLoader(classpathUrls, getClass().getClassLoader()).loadClass("app.Cat");
+    }
+
+    private static String location(Class<?> type) throws URISyntaxException {
+        return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+
+    private static Set<String> propertyPaths(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath().toString())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Validates in its only constructor, like a record's compact constructor.
+     */
+    private static final class Point {
+
+        private final int x;
+        private final int y;
+
+        private Point(@Min(0) int x, @Min(0) int y) {
+            Valid.validateConstructorArgsFor(Point.class, x, y);
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * Has more than one constructor.
+     */
+    private static final class Label {
+
+        private final String text;
+        private final int size;
+
+        private Label(@NotBlank String text) {
+            Valid.validateConstructorArgsFor(Label.class, text);
+            this.text = text;
+            this.size = 1;
+        }
+
+        private Label(@NotNull String text, @Min(1) int size) {
+            Valid.validateConstructorArgsFor(Label.class, text, size);
+            this.text = text;
+            this.size = size;
+        }
+    }
+}
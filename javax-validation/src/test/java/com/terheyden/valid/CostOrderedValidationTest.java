@@ -0,0 +1,227 @@
+package com.terheyden.valid;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.GroupSequence;
+import javax.validation.Payload;
+import javax.validation.Valid;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import static com.terheyden.valid.Valid.checkObjectFailFast;
+import static com.terheyden.valid.Valid.validateObjectFailFast;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CostOrderedValidationTest unit tests.
+ */
+class CostOrderedValidationTest {
+
+    @Test
+    void cheapFailure_skipsExpensiveConstraint() {
+
+        int lookupsBefore = ExpensiveLookupValidator.CALLS.get();
+
+        for (int i = 0; i < 500; i++) {
+            Set<ConstraintViolation<Account>> violations =
+                checkObjectFailFast(new Account(null, "acct-1", 1, new Owner("Cora")));
+
+            assertEquals(1, violations.size());
+            assertEquals("id", violations.iterator().next().getPropertyPath().toString());
+        }
+
+        // Only the occasional run that measures every property does the lookup.
+        assertTrue(ExpensiveLookupValidator.CALLS.get() - lookupsBefore <= 500 / 128 + 1);
+    }
+
+    @Test
+    void cascadedPropertyConstraints_areValidatedOnce() {
+
+        int checksBefore = CountedValidator.CALLS.get();
+
+        Set<ConstraintViolation<Account>> violations =
+            checkObjectFailFast(new Account(1L, "acct-1", 1, new Owner("Cora")));
+
+        assertTrue(violations.isEmpty());
+        assertEquals(checksBefore + 1, CountedValidator.CALLS.get());
+    }
+
+    @Test
+    void validObject_hasNoViolations() {
+        Account account = new Account(1L, "acct-1", 1, new Owner("Cora"));
+        assertTrue(checkObjectFailFast(account).isEmpty());
+        validateObjectFailFast(account);
+
+        Account badAccount = new Account(1L, "acct-1", 0, new Owner("Cora"));
+        assertThrows(ConstraintViolationException.class, () -> validateObjectFailFast(badAccount));
+    }
+
+    @Test
+    void finalPass_checksClassConstraintsAndCascades() {
+
+        Set<ConstraintViolation<Account>> violations =
+            checkObjectFailFast(new Account(1L, "acct-1", 1, new Owner(null)));
+
+        assertEquals(1, violations.size());
+        assertEquals("owner.name", violations.iterator().next().getPropertyPath().toString());
+
+        violations = checkObjectFailFast(new Account(1L, "acct-1", 1_000, new Owner("Cora")));
+        assertEquals(1, violations.size());
+        assertEquals("withinLimit", violations.iterator().next().getPropertyPath().toString());
+
+        assertThrows(NullPointerException.class, () -> validateObjectFailFast(null));
+    }
+
+    @Test
+    void groupSequence_stopsAtFirstFailingGroup() {
+
+        // The cheap @NotNull would sort first, but it's in the sequence's second group.
+        Set<ConstraintViolation<Transfer>> violations = checkObjectFailFast(new Transfer("bad", null));
+
+        assertEquals(1, violations.size());
+        assertEquals("from", violations.iterator().next().getPropertyPath().toString());
+        assertTrue(checkObjectFailFast(new Transfer("acct-1", "acct-2")).isEmpty());
+    }
+
+    /**
+     * Has a cheap constraint and an expensive custom one.
+     */
+    private static final class Account {
+
+        @NotNull
+        private final Long id;
+
+        @ExpensiveLookup
+        private final String accountNumber;
+
+        @Min(1)
+        private final int balance;
+
+        @Valid
+        @Counted
+        private final Owner owner;
+
+        private Account(Long id, String accountNumber, int balance, Owner owner) {
+            this.id = id;
+            this.accountNumber = accountNumber;
+            this.balance = balance;
+            this.owner = owner;
+        }
+
+        @AssertTrue
+        public boolean isWithinLimit() {
+            return balance < 1_000;
+        }
+    }
+
+    /**
+     * Redefines its default group sequence, so {@code Second} constraints only count once the rest pass.
+     */
+    @GroupSequence({ Transfer.class, Transfer.Second.class })
+    private static final class Transfer {
+
+        @ExpensiveLookup
+        private final String from;
+
+        @NotNull(groups = Second.class)
+        private final String to;
+
+        private Transfer(String from, String to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Checked after the default group.
+         */
+        private interface Second {
+        }
+    }
+
+    /**
+     * Cascaded into from the account.
+     */
+    private static final class Owner {
+
+        @NotNull
+        private final String name;
+
+        private Owner(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Stand-in for a custom constraint that does an expensive lookup.
+     */
+    @Target({ ElementType.FIELD, ElementType.METHOD })
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = ExpensiveLookupValidator.class)
+    @interface ExpensiveLookup {
+        String message() default "unknown account";
+        Class<?>[] groups() default {};
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Counts calls so we can tell whether it ran.
+     */
+    public static final class ExpensiveLookupValidator implements ConstraintValidator<ExpensiveLookup, String> {
+
+        private static final AtomicInteger CALLS = new AtomicInteger();
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+
+            CALLS.incrementAndGet();
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return value == null || value.startsWith("acct-");
+        }
+    }
+
+    /**
+     * Stand-in for a constraint on a cascaded property.
+     */
+    @Target({ ElementType.FIELD, ElementType.METHOD })
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = CountedValidator.class)
+    @interface Counted {
+        String message() default "not counted";
+        Class<?>[] groups() default {};
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Counts calls so we can tell how many times it ran.
+     */
+    public static final class CountedValidator implements ConstraintValidator<Counted, Object> {
+
+        private static final AtomicInteger CALLS = new AtomicInteger();
+
+        @Override
+        public boolean isValid(Object value, ConstraintValidatorContext context) {
+            CALLS.incrementAndGet();
+            return true;
+        }
+    }
+}
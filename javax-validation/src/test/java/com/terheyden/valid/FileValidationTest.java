@@ -0,0 +1,153 @@
+package com.terheyden.valid;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * FileValidationTest unit tests.
+ */
+class FileValidationTest {
+
+    private static final String CSV = "name,age\n"
+        + "cora,3\n"
+        + " ,4\n"
+        + "\n"
+        + "luna,-1\r\n"
+        + "milo,7\n"
+        + "felix,0";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void invalidRecords_haveLineNumbersAndOffsets() throws IOException {
+
+        Path file = tempDir.resolve("cats.csv");
+        Files.write(file, CSV.getBytes(StandardCharsets.UTF_8));
+
+        // Tiny chunks, so lines are split across many parallel tasks.
+        for (int chunkSize : new int[] { 1, 5, 16, FileValidation.DEFAULT_CHUNK_SIZE }) {
+
+            Map<Long, RecordViolation<Cat>> invalid = new ConcurrentHashMap<>();
+
+            long invalidCount = FileValidation.validateLines(
+                file,
+                StandardCharsets.UTF_8,
+                FileValidationTest::parseCat,
+                violation -> invalid.put(violation.getLineNumber(), violation),
+                ForkJoinPool.commonPool(),
+                chunkSize);
+
+            assertEquals(3, invalidCount);
+            assertEquals(List.of(3L, 5L, 7L), invalid.keySet().stream().sorted().collect(Collectors.toList()));
+            assertEquals(CSV.indexOf(" ,4"), invalid.get(3L).getOffset());
+            assertEquals(CSV.indexOf("luna"), invalid.get(5L).getOffset());
+            assertEquals("felix", invalid.get(7L).getRecord().name);
+            assertEquals(1, invalid.get(5L).getViolations().size());
+        }
+    }
+
+    @Test
+    void mapperException_isRethrownOnceAllTasksStop() throws Exception {
+
+        Path file = tempDir.resolve("cats.csv");
+        Files.write(file, (CSV + "\nbad-line\n" + CSV).getBytes(StandardCharsets.UTF_8));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        AtomicInteger mapperCalls = new AtomicInteger();
+        RuntimeException parseFailure = new IllegalStateException("Can't parse.");
+
+        try {
+
+            Function<String, Cat> mapper = line -> {
+                mapperCalls.incrementAndGet();
+                if (line.equals("bad-line")) {
+                    throw parseFailure;
+                }
+                return parseCat(line);
+            };
+
+            RuntimeException thrown = assertThrows(RuntimeException.class, () -> FileValidation.validateLines(
+                file, StandardCharsets.UTF_8, mapper, violation -> { }, pool, 1));
+
+            assertSame(parseFailure, thrown);
+
+            // Every task has stopped, so nothing is still reading the closed file.
+            int callsAfterReturn = mapperCalls.get();
+            assertTrue(pool.awaitQuiescence(5, TimeUnit.SECONDS));
+            assertEquals(callsAfterReturn, mapperCalls.get());
+
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void emptyFile_hasNoViolations() throws IOException {
+
+        Path file = Files.createFile(tempDir.resolve("empty.csv"));
+        assertEquals(0, FileValidation.validateLines(file, FileValidationTest::parseCat, violation -> { }));
+    }
+
+    @Test
+    void multiByteNewlineCharset_throws() throws IOException {
+
+        Path file = Files.createFile(tempDir.resolve("utf16.csv"));
+        assertThrows(IllegalArgumentException.class, () -> FileValidation.validateLines(
+            file,
+            StandardCharsets.UTF_16,
+            FileValidationTest::parseCat,
+            violation -> { },
+            ForkJoinPool.commonPool(),
+            FileValidation.DEFAULT_CHUNK_SIZE));
+    }
+
+    private static Cat parseCat(String line) {
+
+        if (line.startsWith("name,")) {
+            // Skip the header.
+            return null;
+        }
+
+        String[] fields = line.split(",");
+        return new Cat(fields[0], Integer.parseInt(fields[1]));
+    }
+
+    /**
+     * One CSV record.
+     */
+    private static final class Cat {
+
+        @NotBlank
+        private final String name;
+
+        @Min(1)
+        private final int age;
+
+        private Cat(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.terheyden.valid;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.constraints.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LinearPatternValidatorTest unit tests.
+ */
+class LinearPatternValidatorTest {
+
+    // Opt-in, so the default validator doesn't use it.
+    private static final Validator VALIDATOR = ValidatorFactories.configure(TraversalMode.DEFAULT, true)
+        .buildValidatorFactory()
+        .getValidator();
+
+    private static final List<String> REGULAR_PATTERNS = List.of(
+        "[a-z]+",
+        "^[A-Z]{2,3}-\\d{4}$",
+        "[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}",
+        "(?:cat|dog|bird)s?",
+        "a*?b|c+",
+        "[^\\s,]+(,[^\\s,]+)*",
+        "\\w+\\W\\S?\\D*",
+        ".{0,3}x",
+        "\\x41\\u0042[-.]?[a-]",
+        "(a+)+b",
+        "",
+        "a|",
+        "\\$\\^\\.\\[\\]");
+
+    private static final List<String> INPUTS = List.of(
+        "", "a", "abc", "ABC", "AB-1234", "ABCD-1234", "cora@terheyden.com", "cora@@x.com", "cats", "dogs",
+        "bird", "fish", "b", "aab", "ccc", "x,y,z", "x,,y", "a b", "word!x123", "ab\nx", "\u0085x", "abcx",
+        "AB-", "AB.a", "AB-", "$^.[]", "aaaaaaaaaaaaaaaaaaaac", "été", "café");
+
+    private static final List<String> UNSUPPORTED_PATTERNS = List.of(
+        "(a)\\1", "(?=a)a", "a*+", "\\bword\\b", "\\p{Alpha}+", "[a-z&&[^e]]", "(?i)abc", "a{2000}", "a^b");
+
+    @Test
+    void dfa_matchesJavaRegex() {
+
+        for (String regexp : REGULAR_PATTERNS) {
+
+            Optional<RegexDfa> dfa = RegexDfa.compile(regexp);
+            assertTrue(dfa.isPresent(), regexp);
+
+            for (String input : INPUTS) {
+                boolean expected = java.util.regex.Pattern.matches(regexp, input);
+                int expectedResult = expected ? RegexDfa.MATCH : RegexDfa.NO_MATCH;
+                assertEquals(expectedResult, dfa.get().match(input), regexp + " vs. " + input);
+            }
+        }
+    }
+
+    @Test
+    void unsupportedPatterns_arentCompiled() {
+        for (String regexp : UNSUPPORTED_PATTERNS) {
+            assertTrue(RegexDfa.compile(regexp).isEmpty(), regexp);
+        }
+    }
+
+    @Test
+    void validator_matchesDefaultMessages() {
+
+        Set<ConstraintViolation<Code>> violations = VALIDATOR.validate(new Code("ab-12", "x"));
+        assertEquals(1, violations.size());
+        assertEquals("must match \"[A-Z]{2}-\\d{4}\"", violations.iterator().next().getMessage());
+
+        assertTrue(VALIDATOR.validate(new Code("AB-1234", "x")).isEmpty());
+        assertTrue(VALIDATOR.validate(new Code(null, "x")).isEmpty());
+    }
+
+    @Test
+    void surrogatesAndFlags_fallBackToJavaRegex() {
+
+        // '.' is one code point in java.util.regex, even if it's two chars.
+        assertTrue(VALIDATOR.validate(new Code("AB-1234", "😀")).isEmpty());
+        assertEquals(1, VALIDATOR.validate(new Code("AB-1234", "xy")).size());
+
+        assertTrue(VALIDATOR.validate(new CaseInsensitive("MEOW")).isEmpty());
+        assertEquals(1, VALIDATOR.validate(new CaseInsensitive("woof")).size());
+    }
+
+    @Test
+    void catastrophicBacktrackingPattern_isLinear() {
+
+        String input = "a".repeat(5_000) + "c";
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertEquals(1, VALIDATOR.validate(new Redos(input)).size()));
+    }
+
+    /**
+     * Simple {@code @Pattern} usage.
+     */
+    private static final class Code {
+
+        @Pattern(regexp = "[A-Z]{2}-\\d{4}")
+        private final String code;
+
+        @Pattern(regexp = "^.$")
+        private final String symbol;
+
+        private Code(String code, String symbol) {
+            this.code = code;
+            this.symbol = symbol;
+        }
+    }
+
+    /**
+     * Flags aren't compiled to a DFA.
+     */
+    private static final class CaseInsensitive {
+
+        @Pattern(regexp = "meow", flags = Pattern.Flag.CASE_INSENSITIVE)
+        private final String sound;
+
+        private CaseInsensitive(String sound) {
+            this.sound = sound;
+        }
+    }
+
+    /**
+     * Exponential with a backtracking matcher.
+     */
+    private static final class Redos {
+
+        @Pattern(regexp = "(a+)+b")
+        private final String value;
+
+        private Redos(String value) {
+            this.value = value;
+        }
+    }
+}
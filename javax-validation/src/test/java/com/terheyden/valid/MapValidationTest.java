@@ -0,0 +1,198 @@
+package com.terheyden.valid;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+
+import static com.terheyden.valid.Valid.checkMap;
+import static com.terheyden.valid.Valid.checkObject;
+import static com.terheyden.valid.Valid.validateMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MapValidationTest unit tests.
+ */
+class MapValidationTest {
+
+    @Test
+    void validPayload_hasNoViolations() {
+
+        Map<String, Object> payload = Map.of(
+            "customer", "cora",
+            "quantity", 3,
+            "status", "NEW",
+            "codes", List.of(1, 2),
+            "address", Map.of("city", "Meowtown"),
+            "items", List.of(Map.of("sku", "A1", "price", 2.5)),
+            "ignored", "anything");
+
+        assertTrue(checkMap(Order.class, payload).isEmpty());
+        assertEquals(payload, validateMap(Order.class, payload));
+    }
+
+    @Test
+    void invalidPayload_matchesBoundBean() {
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("customer", " ");
+        payload.put("quantity", 0L);
+        payload.put("status", "NEW");
+        payload.put("codes", List.of());
+        payload.put("address", Map.of());
+        payload.put("items", List.of(Map.of("sku", "A1", "price", 1), Map.of("sku", "", "price", -1)));
+
+        Order order = new Order(
+            " ",
+            0,
+            Status.NEW,
+            new int[0],
+            new Address(null),
+            List.of(new Item("A1", 1), new Item("", -1)));
+
+        assertEquals(describe(checkObject(order)), describe(checkMap(Order.class, payload)));
+        assertThrows(ConstraintViolationException.class, () -> validateMap(Order.class, payload));
+    }
+
+    @Test
+    void missingAndMistypedValues() {
+
+        Map<String, Object> payload = Map.of(
+            "quantity", 1.5,
+            "status", "LOST",
+            "codes", List.of("a"),
+            "items", List.of());
+
+        assertEquals(
+            Set.of(
+                "customer: must not be blank",
+                "quantity: must be of type int",
+                "status: must be of type Status",
+                "codes: must be of type int[]",
+                "address: must not be null",
+                "items: must not be empty"),
+            describe(checkMap(Order.class, payload)));
+
+        Set<ConstraintViolation<Order>> nullViolations = checkMap(Order.class, null);
+        assertEquals(1, nullViolations.size());
+    }
+
+    @Test
+    void floatingPointValues_mustConvertExactly() {
+
+        // 2^53 + 1 has no double; a binder would silently round it.
+        assertEquals(
+            Set.of("price: must be of type double"),
+            describe(checkMap(Item.class, Map.of("sku", "A1", "price", 9_007_199_254_740_993L))));
+        assertEquals(
+            Set.of("price: must be of type double"),
+            describe(checkMap(Item.class, Map.of("sku", "A1", "price", new BigDecimal("0.30000000000000001")))));
+
+        assertTrue(checkMap(Item.class, Map.of("sku", "A1", "price", 9_007_199_254_740_992L)).isEmpty());
+        assertTrue(checkMap(Item.class, Map.of("sku", "A1", "price", new BigDecimal("0.1"))).isEmpty());
+        assertTrue(checkMap(Item.class, Map.of("sku", "A1", "price", 2.5f)).isEmpty());
+        assertEquals(
+            Set.of("price: must be greater than 0"),
+            describe(checkMap(Item.class, Map.of("sku", "A1", "price", Double.NEGATIVE_INFINITY))));
+    }
+
+    @Test
+    void violations_haveRootBeanClass() {
+
+        Set<ConstraintViolation<Order>> violations = checkMap(Order.class, Map.of("items", List.of(Map.of("price", 1))));
+
+        assertTrue(violations.stream().allMatch(violation -> violation.getRootBeanClass() == Order.class));
+        assertTrue(describe(violations).contains("items[0].sku: must not be blank"));
+    }
+
+    private static Set<String> describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .collect(Collectors.toSet());
+    }
+
+    enum Status {
+        NEW,
+        SHIPPED
+    }
+
+    /**
+     * The payload's bean.
+     */
+    private static final class Order {
+
+        @NotBlank
+        private final String customer;
+
+        @Min(1)
+        private final int quantity;
+
+        @NotNull
+        private final Status status;
+
+        @Size(max = 3)
+        private final int[] codes;
+
+        @Valid
+        @NotNull
+        private final Address address;
+
+        @NotEmpty
+        private final List<@Valid Item> items;
+
+        private Order(String customer, int quantity, Status status, int[] codes, Address address, List<Item> items) {
+            this.customer = customer;
+            this.quantity = quantity;
+            this.status = status;
+            this.codes = codes;
+            this.address = address;
+            this.items = items;
+        }
+    }
+
+    /**
+     * Nested bean.
+     */
+    private static final class Address {
+
+        @NotBlank
+        private final String city;
+
+        private Address(String city) {
+            this.city = city;
+        }
+    }
+
+    /**
+     * Nested bean in a list.
+     */
+    private static final class Item {
+
+        @NotBlank
+        private final String sku;
+
+        @Positive
+        private final double price;
+
+        private Item(String sku, double price) {
+            this.sku = sku;
+            this.price = price;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.terheyden.valid;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.validation.Constraint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * NativeImageConfigProcessorTest unit tests.
+ */
+class NativeImageConfigProcessorTest {
+
+    private static final String SOURCE = "package app;\n"
+        + "\n"
+        + "import java.lang.annotation.ElementType;\n"
+        + "import java.lang.annotation.Retention;\n"
+        + "import java.lang.annotation.RetentionPolicy;\n"
+        + "import java.lang.annotation.Target;\n"
+        + "import java.util.List;\n"
+        + "import com.terheyden.valid.SelfValidating;\n"
+        + "import javax.validation.Constraint;\n"
+        + "import javax.validation.ConstraintValidator;\n"
+        + "import javax.validation.ConstraintValidatorContext;\n"
+        + "import javax.validation.Payload;\n"
+        + "import javax.validation.constraints.NotBlank;\n"
+        + "import javax.validation.constraints.Positive;\n"
+        + "\n"
+        + "public class Cli {\n"
+        + "\n"
+        + "    static class Base { @NotBlank String id; }\n"
+        + "\n"
+        + "    static class Order extends Base { List<@Sku String> skus; }\n"
+        + "\n"
+        + "    static class Cat implements SelfValidating { String name; }\n"
+        + "\n"
+        + "    static class Args { void run(@Positive int count) { } }\n"
+        + "\n"
+        + "    static class Plain { String name; }\n"
+        + "\n"
+        + "    @Target(ElementType.TYPE_USE)\n"
+        + "    @Retention(RetentionPolicy.RUNTIME)\n"
+        + "    @Constraint(validatedBy = SkuValidator.class)\n"
+        + "    @interface Sku {\n"
+        + "        String message() default \"bad sku\";\n"
+        + "        Class<?>[] groups() default {};\n"
+        + "        Class<? extends Payload>[] payload() default {};\n"
+        + "    }\n"
+        + "\n"
+        + "    public static class SkuValidator implements ConstraintValidator<Sku, String> {\n"
+        + "        public boolean isValid(String value, ConstraintValidatorContext context) { return true; }\n"
+        + "    }\n"
+        + "}\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void validatedClasses_areRegistered() throws Exception {
+
+        Path outputDir = compile(SOURCE, "-Avalid.native.project=cli");
+        Path configDir = outputDir.resolve("META-INF/native-image/com.terheyden.valid/cli");
+
+        String reflectConfig = Files.readString(configDir.resolve("reflect-config.json"));
+
+        for (String className : List.of("Base", "Order", "Cat", "Args", "Sku", "SkuValidator")) {
+            assertTrue(reflectConfig.contains("\"app.Cli$" + className + "\""), className);
+        }
+
+        assertTrue(reflectConfig.contains("\"" + Constraint.class.getPackageName() + ".constraints.NotBlank\""));
+        assertTrue(reflectConfig.contains("\"" + Constraint.class.getPackageName() + ".constraints.Positive\""));
+        assertFalse(reflectConfig.contains("Plain"));
+        assertFalse(reflectConfig.contains("\"app.Cli\""));
+
+        String resourceConfig = Files.readString(configDir.resolve("resource-config.json"));
+        assertTrue(resourceConfig.contains("ValidationMessages"));
+    }
+
+    @Test
+    void validatedClasses_areIndexed() throws Exception {
+
+        Path outputDir = compile(SOURCE);
+        List<String> index = Files.readAllLines(outputDir.resolve(ValidationIndex.RESOURCE));
+
+        assertEquals(List.of("app.Cli$Args", "app.Cli$Base", "app.Cli$Cat", "app.Cli$Order"), index);
+    }
+
+    @Test
+    void incrementalCompile_mergesWithPreviousOutput() throws Exception {
+
+        compile(SOURCE);
+
+        // Only the new class is compiled; the others keep their entries.
+        Path outputDir = compile("package app;\n"
+            + "import javax.validation.constraints.NotBlank;\n"
+            + "public class Extra { @NotBlank String name; }\n");
+
+        assertEquals(
+            List.of("app.Cli$Args", "app.Cli$Base", "app.Cli$Cat", "app.Cli$Order", "app.Extra"),
+            Files.readAllLines(outputDir.resolve(ValidationIndex.RESOURCE)));
+
+        String reflectConfig = Files.readString(
+            outputDir.resolve("META-INF/native-image/com.terheyden.valid/validated-classes/reflect-config.json"));
+        assertTrue(reflectConfig.contains("\"app.Cli$SkuValidator\""));
+        assertTrue(reflectConfig.contains("\"app.Extra\""));
+
+        // Compiled again without its constraint, Base is only registered as Order's superclass.
+        compile(SOURCE.replace("@NotBlank String id;", "String id;"));
+
+        assertEquals(
+            List.of("app.Cli$Args", "app.Cli$Cat", "app.Cli$Order", "app.Extra"),
+            Files.readAllLines(outputDir.resolve(ValidationIndex.RESOURCE)));
+    }
+
+    @Test
+    void givenPackages_onlyTheyAreIndexed() throws Exception {
+
+        Path outputDir = compile(SOURCE, "-Avalid.index.packages=com.acme");
+        assertFalse(Files.exists(outputDir.resolve(ValidationIndex.RESOURCE)));
+    }
+
+    @Test
+    void noValidatedClasses_writesNothing() throws Exception {
+
+        Path outputDir = compile("package app;\npublic class Plain { String name; }\n");
+        assertFalse(Files.exists(outputDir.resolve("META-INF")));
+    }
+
+    @Test
+    void libraryConfig_isShipped() {
+
+        assertTrue(getClass().getResource(
+            "/META-INF/native-image/com.terheyden/validation-extras/reflect-config.json") != null);
+        assertTrue(getClass().getResource(
+            "/META-INF/native-image/com.terheyden/validation-extras/resource-config.json") != null);
+    }
+
+    private Path compile(String source, String... options) throws IOException, URISyntaxException {
+
+        Path sourceFile = tempDir.resolve("src/app/" + source.replaceAll("(?s).*public class (\\w+).*", "$1") + ".java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+
+        // Classes from earlier compiles are on the classpath, like in an incremental build.
+        Path outputDir = Files.createDirectories(tempDir.resolve("classes"));
+        String classpath = String.join(File.pathSeparator,
+            location(Constraint.class), location(SelfValidating.class), outputDir.toString());
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter compilerOutput = new StringWriter();
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(sourceFile.toFile());
+            List<String> args = new ArrayList<>(List.of(
+                "-classpath", classpath,
+                "-d", outputDir.toString()));
+            args.addAll(List.of(options));
+
+            JavaCompiler.CompilationTask task = compiler.getTask(compilerOutput, fileManager, null, args, null, units);
+            task.setProcessors(List.of(new NativeImageConfigProcessor()));
+            assertEquals(Boolean.TRUE, task.call(), compilerOutput::toString);
+        }
+
+        return outputDir;
+    }
+
+    private static String location(Class<?> type) throws URISyntaxException {
+        return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+}
@@ -0,0 +1,181 @@
+package com.terheyden.valid;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import static com.terheyden.valid.Valid.checkObject;
+import static com.terheyden.valid.Valid.checkObjectParallel;
+import static com.terheyden.valid.Valid.validateObjectParallel;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ParallelValidationTest unit tests.
+ */
+class ParallelValidationTest {
+
+    @Test
+    void validOrder_hasNoViolations() {
+
+        Order order = new Order("order-1", 5_000);
+        assertTrue(checkObjectParallel(order, ForkJoinPool.commonPool(), 100).isEmpty());
+        validateObjectParallel(order);
+    }
+
+    @Test
+    void invalidOrder_matchesSingleThreadedValidation() {
+
+        Order order = new Order(" ", 5_000);
+        order.items.set(42, new Item(" ", 1));
+        order.items.set(4711, new Item("sku", 0));
+        order.itemsBySku.put("bad-sku", new Item(" ", 0));
+        order.notes.add(new Item(" ", 1));
+
+        Set<ConstraintViolation<Order>> violations = checkObjectParallel(order, ForkJoinPool.commonPool(), 100);
+
+        assertEquals(toStrings(checkObject(order)), toStrings(violations));
+        assertTrue(toStrings(violations).contains("Order.items[4711].quantity: must be greater than or equal to 1"));
+        assertTrue(toStrings(violations).contains("Order.itemsBySku[bad-sku].sku: must not be blank"));
+
+        violations.forEach(violation -> assertEquals(order, violation.getRootBean()));
+        assertThrows(ConstraintViolationException.class, () -> validateObjectParallel(order));
+    }
+
+    @Test
+    void sharedElement_isReportedAtEveryPosition() {
+
+        Order order = new Order("order-1", 1_000);
+        Item shared = new Item(" ", 1);
+        order.items.set(3, shared);
+        order.items.set(999, shared);
+
+        Set<String> violations = toStrings(checkObjectParallel(order, ForkJoinPool.commonPool(), 100));
+
+        assertEquals(Set.of(
+            "Order.items[3].sku: must not be blank",
+            "Order.items[999].sku: must not be blank"), violations);
+    }
+
+    @Test
+    void backReferences_areNotRevalidated() {
+
+        Cart cart = new Cart(" ", 1_000);
+        cart.lines.get(7).quantity = 0;
+
+        Set<ConstraintViolation<Cart>> violations = checkObjectParallel(cart, ForkJoinPool.commonPool(), 100);
+
+        assertEquals(toStrings(checkObject(cart)), toStrings(violations));
+        assertEquals(Set.of(
+            "Cart.cartId: must not be blank",
+            "Cart.lines[7].quantity: must be greater than or equal to 1"), toStrings(violations));
+    }
+
+    @Test
+    void nullObject_isInvalid() {
+        assertEquals(1, checkObjectParallel(null).size());
+        assertThrows(NullPointerException.class, () -> validateObjectParallel(null));
+    }
+
+    private static Set<String> toStrings(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+            .map(ValidUtils::violationToString)
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * An order with large cascaded containers.
+     */
+    private static final class Order {
+
+        @NotBlank
+        private final String orderId;
+
+        private final List<@NotNull @Valid Item> items = new ArrayList<>();
+
+        private final Map<String, @Valid Item> itemsBySku = new HashMap<>();
+
+        // Small; left to the validator.
+        @Valid
+        private final List<Item> notes = new ArrayList<>();
+
+        private Order(String orderId, int itemCount) {
+
+            this.orderId = orderId;
+
+            for (int i = 0; i < itemCount; i++) {
+                Item item = new Item("sku-" + i, 1);
+                items.add(item);
+                itemsBySku.put(item.sku, item);
+            }
+        }
+    }
+
+    /**
+     * An order line item.
+     */
+    private static final class Item {
+
+        @NotBlank
+        private final String sku;
+
+        @Min(1)
+        private final int quantity;
+
+        private Item(String sku, int quantity) {
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+    }
+
+    /**
+     * A cart whose lines point back to it.
+     */
+    private static final class Cart {
+
+        @NotBlank
+        private final String cartId;
+
+        private final List<@Valid CartLine> lines = new ArrayList<>();
+
+        private Cart(String cartId, int lineCount) {
+
+            this.cartId = cartId;
+
+            for (int i = 0; i < lineCount; i++) {
+                lines.add(new CartLine(this, 1));
+            }
+        }
+    }
+
+    /**
+     * A cart line, with a back-reference to its cart.
+     */
+    private static final class CartLine {
+
+        @Valid
+        private final Cart cart;
+
+        @Min(1)
+        private int quantity;
+
+        private CartLine(Cart cart, int quantity) {
+            this.cart = cart;
+            this.quantity = quantity;
+        }
+    }
+}
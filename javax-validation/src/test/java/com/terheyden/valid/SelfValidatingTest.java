@@ -1,5 +1,7 @@
 package com.terheyden.valid;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
 import javax.validation.ConstraintViolationException;
@@ -7,9 +9,12 @@ import javax.validation.constraints.AssertTrue;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -25,6 +30,29 @@ public class SelfValidatingTest {
         assertThrows(ConstraintViolationException.class, () -> new User("x", -1, false, "meow?"));
     }
 
+    @Test
+    public void validateSelfOnce_validatesFullyConstructedObject() {
+
+        // The subclass field isn't set yet when Animal's constructor runs.
+        assertDoesNotThrow(() -> new Cat("Cora", "tabby"));
+        assertThrows(ConstraintViolationException.class, () -> new Cat("Cora", null));
+        assertThrows(ConstraintViolationException.class, () -> new Cat(null, "tabby"));
+
+        assertDoesNotThrow(() -> new Animal("Cora"));
+        assertThrows(ConstraintViolationException.class, () -> new Animal(null));
+    }
+
+    @Test
+    public void validateSelfOnce_validatesOncePerObject() {
+
+        int validationsBefore = Animal.VALIDATIONS.get();
+        new Cat("Cora", "tabby");
+        assertEquals(validationsBefore + 1, Animal.VALIDATIONS.get());
+
+        new Animal("Cora");
+        assertEquals(validationsBefore + 2, Animal.VALIDATIONS.get());
+    }
+
     /**
      * Let's test.
      */
@@ -71,4 +99,41 @@ public class SelfValidatingTest {
             return email;
         }
     }
+
+    /**
+     * Base class of a hierarchy that validates once.
+     */
+    private static class Animal implements SelfValidating {
+
+        private static final AtomicInteger VALIDATIONS = new AtomicInteger();
+
+        @NotNull
+        private final String name;
+
+        private Animal(String name) {
+            this.name = name;
+            validateSelfOnce(Animal.class);
+        }
+
+        @AssertTrue
+        public boolean isCounted() {
+            VALIDATIONS.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Subclass with its own constraint.
+     */
+    private static final class Cat extends Animal {
+
+        @NotNull
+        private final String coat;
+
+        private Cat(String name, String coat) {
+            super(name);
+            this.coat = coat;
+            validateSelfOnce(Cat.class);
+        }
+    }
 }
@@ -0,0 +1,348 @@
+package com.terheyden.valid;
+
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidator;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorInitializationContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.Payload;
+import javax.validation.ValidatorFactory;
+import javax.validation.metadata.ConstraintDescriptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SharedConstraintValidatorFactoryTest unit tests.
+ */
+class SharedConstraintValidatorFactoryTest {
+
+    private static final AtomicInteger CHECKSUM_CALLS = new AtomicInteger();
+    private static final AtomicInteger SHORT_LIVED_CALLS = new AtomicInteger();
+    private static final AtomicInteger STATELESS_INSTANCES = new AtomicInteger();
+    private static final AtomicInteger SMALL_CACHE_CALLS = new AtomicInteger();
+    private static final AtomicInteger XML_FACTORY_VALIDATORS = new AtomicInteger();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void cacheableResults_areReused() {
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(Valid.checkObject(new Account("1234-0", "abc")).isEmpty());
+            assertEquals(1, Valid.checkObject(new Account("1234-8", "abc")).size());
+        }
+
+        assertEquals(2, CHECKSUM_CALLS.get());
+
+        // Shared with other factories, too.
+        try (ValidatorFactory factory = ValidatorFactories.configureDefault().buildValidatorFactory()) {
+            assertTrue(factory.getValidator().validate(new Account("1234-0", "abc")).isEmpty());
+        }
+
+        assertEquals(2, CHECKSUM_CALLS.get());
+    }
+
+    @Test
+    void cachedResults_expire() throws InterruptedException {
+
+        Valid.checkObject(new Account("0-0", "ttl"));
+        Valid.checkObject(new Account("0-0", "ttl"));
+        assertEquals(1, SHORT_LIVED_CALLS.get());
+
+        Thread.sleep(600);
+
+        Valid.checkObject(new Account("0-0", "ttl"));
+        assertEquals(2, SHORT_LIVED_CALLS.get());
+    }
+
+    @Test
+    void fullCache_keepsCachingNewResults() {
+
+        int callsBefore = SMALL_CACHE_CALLS.get();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(Valid.checkObject(new Invoice("INV-full-" + i)).isEmpty());
+            assertTrue(Valid.checkObject(new Invoice("INV-full-" + i)).isEmpty());
+        }
+
+        // Each number is checked once, even after the cache fills up.
+        assertEquals(callsBefore + 10, SMALL_CACHE_CALLS.get());
+    }
+
+    @Test
+    void hibernateValidators_areInitializedThroughTheCache() {
+        assertTrue(Valid.checkObject(new Invoice("INV-1")).isEmpty());
+        assertEquals(1, Valid.checkObject(new Invoice("1")).size());
+    }
+
+    @Test
+    void xmlConfiguredFactory_isWrapped() throws IOException {
+
+        Path xml = tempDir.resolve("META-INF/validation.xml");
+        Files.createDirectories(xml.getParent());
+        Files.write(xml, List.of(
+            "<validation-config xmlns=\"http://jboss.org/xml/ns/javax/validation/configuration\">",
+            "    <constraint-validator-factory>" + XmlValidatorFactory.class.getName() + "</constraint-validator-factory>",
+            "</validation-config>"), StandardCharsets.UTF_8);
+
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { tempDir.toUri().toURL() }, original)) {
+
+            thread.setContextClassLoader(classLoader);
+
+            try (ValidatorFactory factory = ValidatorFactories.configureDefault().buildValidatorFactory()) {
+                assertEquals(1, factory.getValidator().validate(new Invoice("1")).size());
+            }
+
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+
+        // Our factory still wraps validators in caches, but creates them with the XML's factory.
+        assertTrue(XML_FACTORY_VALIDATORS.get() > 0);
+    }
+
+    @Test
+    void statelessValidators_areShared() {
+
+        try (ValidatorFactory first = ValidatorFactories.configureDefault().buildValidatorFactory();
+             ValidatorFactory second = ValidatorFactories.configureDefault().buildValidatorFactory()) {
+
+            assertEquals(1, first.getValidator().validate(new Account("0-0", "")).size());
+            assertEquals(1, second.getValidator().validate(new Account("0-0", "")).size());
+        }
+
+        assertEquals(1, STATELESS_INSTANCES.get());
+    }
+
+    /**
+     * Has one constraint of each kind.
+     */
+    private static final class Account {
+
+        @Checksum
+        private final String number;
+
+        @NotEmptyText
+        @Expensive
+        private final String owner;
+
+        private Account(String number, String owner) {
+            this.number = number;
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * Has cached Hibernate Validator constraints.
+     */
+    private static final class Invoice {
+
+        @InvoiceNumber
+        @Prefixed
+        private final String number;
+
+        private Invoice(String number) {
+            this.number = number;
+        }
+    }
+
+    /**
+     * The last digit must be the sum of the others, mod 10.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = ChecksumValidator.class)
+    @interface Checksum {
+
+        String message() default "bad checksum";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Counts how often it's called.
+     */
+    @CacheableConstraint
+    public static final class ChecksumValidator implements ConstraintValidator<Checksum, String> {
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+
+            if (!value.startsWith("1234")) {
+                return true;
+            }
+
+            CHECKSUM_CALLS.incrementAndGet();
+            int sum = value.chars().limit(value.length() - 1).filter(Character::isDigit).map(c -> c - '0').sum();
+            return sum % 10 == value.charAt(value.length() - 1) - '0';
+        }
+    }
+
+    /**
+     * Always valid, but slow.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = ShortLivedValidator.class)
+    @interface Expensive {
+
+        String message() default "too expensive";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Caches for a very short time.
+     */
+    @CacheableConstraint(ttl = 500, unit = TimeUnit.MILLISECONDS)
+    public static final class ShortLivedValidator implements ConstraintValidator<Expensive, String> {
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+
+            if (value.startsWith("ttl")) {
+                SHORT_LIVED_CALLS.incrementAndGet();
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Any invoice number.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = SmallCacheValidator.class)
+    @interface InvoiceNumber {
+
+        String message() default "bad invoice number";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Has a cache too small for every number.
+     */
+    @CacheableConstraint(maxSize = 4)
+    public static final class SmallCacheValidator implements ConstraintValidator<InvoiceNumber, String> {
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+            SMALL_CACHE_CALLS.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Must start with the prefix from the constraint's descriptor.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = PrefixedValidator.class)
+    @interface Prefixed {
+
+        String message() default "missing prefix";
+
+        String value() default "INV-";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Only initialized with its descriptor.
+     */
+    @CacheableConstraint
+    public static final class PrefixedValidator implements HibernateConstraintValidator<Prefixed, String> {
+
+        private String prefix;
+
+        @Override
+        public void initialize(
+            ConstraintDescriptor<Prefixed> constraintDescriptor,
+            HibernateConstraintValidatorInitializationContext initializationContext) {
+
+            prefix = constraintDescriptor.getAnnotation().value();
+        }
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+            return value.startsWith(prefix);
+        }
+    }
+
+    /**
+     * Named in a {@code validation.xml}; counts the validators it creates.
+     */
+    public static final class XmlValidatorFactory implements ConstraintValidatorFactory {
+
+        @Override
+        public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+            XML_FACTORY_VALIDATORS.incrementAndGet();
+            try {
+                return key.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                return ValidUtils.throwUnchecked(e);
+            }
+        }
+
+        @Override
+        public void releaseInstance(ConstraintValidator<?, ?> instance) {
+            // Nothing to release.
+        }
+    }
+
+    /**
+     * Must not be empty.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = NotEmptyTextValidator.class)
+    @interface NotEmptyText {
+
+        String message() default "must not be empty";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Counts its instances.
+     */
+    public static final class NotEmptyTextValidator implements ConstraintValidator<NotEmptyText, String> {
+
+        public NotEmptyTextValidator() {
+            STATELESS_INSTANCES.incrementAndGet();
+        }
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+            return !value.isEmpty();
+        }
+    }
+}
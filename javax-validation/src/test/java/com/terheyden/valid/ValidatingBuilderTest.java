@@ -0,0 +1,243 @@
+package com.terheyden.valid;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Payload;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ValidatingBuilderTest unit tests.
+ */
+class ValidatingBuilderTest {
+
+    private static final AtomicInteger TEXT_CHECKS = new AtomicInteger();
+
+    @Test
+    void invalidValue_throwsOnSet() {
+        assertThrows(ConstraintViolationException.class, () -> new Message.Builder().text(" "));
+        assertThrows(ConstraintViolationException.class, () -> new Message.Builder().priority(0));
+    }
+
+    @Test
+    void setProperties_areOnlyValidatedOnce() {
+
+        int checksBefore = TEXT_CHECKS.get();
+
+        new Message.Builder()
+            .text("meow")
+            .priority(1)
+            .sender(new Sender("cora"))
+            .build();
+
+        // Once on set — not again in the constructor's validateSelf(), or in build().
+        assertEquals(checksBefore + 1, TEXT_CHECKS.get());
+    }
+
+    @Test
+    void build_validatesWhatSettersCouldNot() {
+
+        // Class-level constraint.
+        assertEquals(Set.of(""), propertyPaths(() -> new Message.Builder()
+            .text("urgent")
+            .priority(1)
+            .sender(new Sender("cora"))
+            .build()));
+
+        // Cascaded property.
+        assertEquals(Set.of("sender.name"), propertyPaths(() -> new Message.Builder()
+            .text("meow")
+            .priority(1)
+            .sender(new Sender(null))
+            .build()));
+
+        // Property that was never set.
+        assertEquals(Set.of("text"), propertyPaths(() -> new Message.Builder()
+            .priority(1)
+            .sender(new Sender("cora"))
+            .build()));
+    }
+
+    @Test
+    void constructorOutsideBuilder_stillValidatesSelf() {
+        assertThrows(ConstraintViolationException.class, () -> new Message(" ", 1, new Sender("cora")));
+    }
+
+    @Test
+    void otherObjectsCreatedByBuilder_stillValidateSelf() {
+
+        ValidatingBuilder<Message> builder = new ValidatingBuilder<>(Message.class) {
+            @Override
+            protected Message create() {
+                Message draft = new Message(" ", 1, new Sender("cora"));
+                return new Message("meow", draft.priority, draft.sender);
+            }
+        };
+
+        assertThrows(ConstraintViolationException.class, builder::build);
+    }
+
+    @Test
+    void eachBuild_checksItsOwnProperties() {
+
+        Message.Builder builder = new Message.Builder()
+            .text("meow")
+            .priority(1)
+            .sender(new Sender("cora"));
+
+        builder.build();
+
+        // Not checked on set this time, so build() validates it.
+        int checksBefore = TEXT_CHECKS.get();
+        builder.build();
+        assertEquals(checksBefore + 1, TEXT_CHECKS.get());
+    }
+
+    private static Set<String> propertyPaths(Runnable build) {
+
+        ConstraintViolationException exception = assertThrows(ConstraintViolationException.class, build::run);
+
+        return exception.getConstraintViolations().stream()
+            .map(ConstraintViolation::getPropertyPath)
+            .map(Object::toString)
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Built with a validating builder.
+     */
+    @NotUrgentLowPriority
+    private static final class Message implements SelfValidating {
+
+        @NotBlank
+        @Counted
+        private final String text;
+
+        @Min(1)
+        private final int priority;
+
+        @Valid
+        @NotNull
+        private final Sender sender;
+
+        private Message(String text, int priority, Sender sender) {
+            this.text = text;
+            this.priority = priority;
+            this.sender = sender;
+            validateSelf();
+        }
+
+        /**
+         * Checks each value as it's set.
+         */
+        private static final class Builder extends ValidatingBuilder<Message> {
+
+            private String text;
+            private int priority;
+            private Sender sender;
+
+            private Builder() {
+                super(Message.class);
+            }
+
+            private Builder text(String text) {
+                this.text = check("text", text);
+                return this;
+            }
+
+            private Builder priority(int priority) {
+                this.priority = check("priority", priority);
+                return this;
+            }
+
+            private Builder sender(Sender sender) {
+                this.sender = check("sender", sender);
+                return this;
+            }
+
+            @Override
+            protected Message create() {
+                return new Message(text, priority, sender);
+            }
+        }
+    }
+
+    /**
+     * Cascaded into.
+     */
+    private static final class Sender {
+
+        @NotNull
+        private final String name;
+
+        private Sender(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Urgent messages need a priority above 1.
+     */
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = NotUrgentLowPriorityValidator.class)
+    @interface NotUrgentLowPriority {
+        String message() default "urgent messages need a higher priority";
+        Class<?>[] groups() default {};
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Cross-field check.
+     */
+    public static final class NotUrgentLowPriorityValidator
+        implements ConstraintValidator<NotUrgentLowPriority, Message> {
+
+        @Override
+        public boolean isValid(Message message, ConstraintValidatorContext context) {
+            return message.text == null || !message.text.contains("urgent") || message.priority > 1;
+        }
+    }
+
+    /**
+     * Counts how many times it's checked.
+     */
+    @Target(ElementType.FIELD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = CountedValidator.class)
+    @interface Counted {
+        String message() default "counted";
+        Class<?>[] groups() default {};
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    /**
+     * Always valid; just counts.
+     */
+    public static final class CountedValidator implements ConstraintValidator<Counted, String> {
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+            TEXT_CHECKS.incrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.terheyden.valid;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolationException;
+import javax.validation.Valid;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ValidatingObjectInputStreamTest unit tests.
+ */
+class ValidatingObjectInputStreamTest {
+
+    private static final AtomicInteger CATS_READ = new AtomicInteger();
+    private static final AtomicInteger CATS_VALIDATED = new AtomicInteger();
+
+    @Test
+    void validGraph_isRead() throws Exception {
+
+        Shelter shelter = new Shelter(List.of(new Cat("cora"), new Cat("luna")), new Address("Meowtown"));
+        byte[] bytes = write(shelter);
+        int validatedBefore = CATS_VALIDATED.get();
+        Shelter copy = (Shelter) read(bytes);
+
+        assertEquals(2, copy.cats.size());
+        // Each cat is validated when it's read, and not again by cascading from the shelter.
+        assertEquals(validatedBefore + 2, CATS_VALIDATED.get());
+    }
+
+    @Test
+    void invalidObject_failsRightAway() throws Exception {
+
+        List<Cat> cats = new ArrayList<>();
+        cats.add(new Cat("cora"));
+        cats.add(new Cat(" "));
+        for (int i = 0; i < 100; i++) {
+            cats.add(new Cat("cat" + i));
+        }
+
+        byte[] bytes = write(new Shelter(cats, new Address("Meowtown")));
+        int readBefore = CATS_READ.get();
+
+        InvalidObjectException exception = assertThrows(InvalidObjectException.class, () -> read(bytes));
+
+        assertTrue(exception.getCause() instanceof ConstraintViolationException);
+        // Stopped at the invalid cat, without reading the rest.
+        assertEquals(readBefore + 2, CATS_READ.get());
+    }
+
+    @Test
+    void invalidContainer_fails() throws Exception {
+        byte[] bytes = write(new Shelter(new ArrayList<>(), new Address("Meowtown")));
+        assertThrows(InvalidObjectException.class, () -> read(bytes));
+    }
+
+    @Test
+    void invalidChild_thatIsNotSelfValidating_fails() throws Exception {
+
+        byte[] bytes = write(new Shelter(List.of(new Cat("cora")), new Address(" ")));
+
+        InvalidObjectException exception = assertThrows(InvalidObjectException.class, () -> read(bytes));
+        assertTrue(exception.getMessage().contains("address.city"), exception.getMessage());
+    }
+
+    private static byte[] write(Object object) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static Object read(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ValidatingObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Holds a graph of cats.
+     */
+    private static final class Shelter implements SelfValidating, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Valid
+        @NotEmpty
+        private final List<Cat> cats;
+
+        @Valid
+        private final Address address;
+
+        private Shelter(List<Cat> cats, Address address) {
+            this.cats = cats;
+            this.address = address;
+        }
+    }
+
+    /**
+     * Doesn't validate itself, so it's validated by cascading from its shelter.
+     */
+    private static final class Address implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @NotBlank
+        private final String city;
+
+        private Address(String city) {
+            this.city = city;
+        }
+    }
+
+    /**
+     * Counts how many have been deserialized and validated.
+     */
+    private static final class Cat implements SelfValidating, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @NotBlank
+        private final String name;
+
+        private Cat(String name) {
+            this.name = name;
+        }
+
+        @AssertTrue
+        public boolean isCounted() {
+            CATS_VALIDATED.incrementAndGet();
+            return true;
+        }
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            CATS_READ.incrementAndGet();
+        }
+    }
+}
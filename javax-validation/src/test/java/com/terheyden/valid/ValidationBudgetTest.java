@@ -0,0 +1,101 @@
+package com.terheyden.valid;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+
+import static com.terheyden.valid.Valid.checkObject;
+import static com.terheyden.valid.Valid.validateObject;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ValidationBudgetTest unit tests.
+ */
+class ValidationBudgetTest {
+
+    @Test
+    void generousBudget_validatesNormally() {
+
+        Order goodOrder = new Order(1_000, false);
+        assertTrue(checkObject(goodOrder, ValidationBudget.ofMaxNodes(1_000_000)).isEmpty());
+
+        Order badOrder = new Order(1_000, true);
+        Set<ConstraintViolation<Order>> violations = checkObject(badOrder, ValidationBudget.ofMaxNodes(1_000_000));
+
+        assertEquals(1, violations.size());
+        assertEquals("items[999].sku", violations.iterator().next().getPropertyPath().toString());
+    }
+
+    @Test
+    void nodeBudgetExceeded_reportsBudgetViolation() {
+
+        Order order = new Order(10_000, true);
+        Set<ConstraintViolation<Order>> violations = checkObject(order, ValidationBudget.ofMaxNodes(100));
+
+        // The bad item is last, so validation should stop before it's reached.
+        assertEquals(1, violations.size());
+        ConstraintViolation<Order> violation = violations.iterator().next();
+        assertTrue(violation.getMessage().startsWith("Validation budget exceeded"));
+        assertEquals(order, violation.getRootBean());
+    }
+
+    @Test
+    void deadlineExceeded_throws() {
+
+        Order order = new Order(10_000, false);
+        ValidationBudget budget = ValidationBudget.ofDeadline(Duration.ofNanos(1));
+
+        assertThrows(ConstraintViolationException.class, () -> validateObject(order, budget));
+    }
+
+    @Test
+    void invalidBudgets_throw() {
+        assertThrows(IllegalArgumentException.class, () -> ValidationBudget.ofMaxNodes(0));
+        assertThrows(IllegalArgumentException.class, () -> ValidationBudget.ofDeadline(Duration.ZERO));
+    }
+
+    /**
+     * An order with a cascaded list of items.
+     */
+    private static final class Order {
+
+        @Valid
+        private final List<Item> items = new ArrayList<>();
+
+        private Order(int itemCount, boolean lastItemInvalid) {
+
+            for (int i = 0; i < itemCount; i++) {
+                boolean invalid = lastItemInvalid && i == itemCount - 1;
+                items.add(new Item(invalid ? " " : "sku-" + i, 1));
+            }
+        }
+    }
+
+    /**
+     * An order line item.
+     */
+    private static final class Item {
+
+        @NotBlank
+        private final String sku;
+
+        @Min(1)
+        private final int quantity;
+
+        private Item(String sku, int quantity) {
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.terheyden.valid;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.GroupSequence;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ValidationGroupsTest unit tests.
+ */
+class ValidationGroupsTest {
+
+    @Test
+    void onlyRequestedGroupsAreValidated() {
+
+        Message message = new Message(" ", -1, null);
+
+        assertEquals(Set.of("text"), propertyNames(Valid.checkObject(message, Basic.class)));
+        assertEquals(Set.of("priority"), propertyNames(Valid.checkObject(message, Full.class)));
+        assertEquals(Set.of("text", "priority"), propertyNames(Valid.checkObject(message, Basic.class, Full.class)));
+        assertEquals(Set.of("sender"), propertyNames(Valid.checkObject(message, Default.class)));
+        assertEquals(Set.of("sender"), propertyNames(Valid.checkObject(message)));
+    }
+
+    @Test
+    void groupSequence_stopsAtFirstFailingGroup() {
+
+        Message message = new Message(" ", -1, "cora");
+        assertEquals(Set.of("text"), propertyNames(Valid.checkObject(message, BasicThenFull.class)));
+
+        Message basicOk = new Message("meow", -1, "cora");
+        assertEquals(Set.of("priority"), propertyNames(Valid.checkObject(basicOk, BasicThenFull.class)));
+    }
+
+    @Test
+    void classWithNothingInGroup_isSkipped() {
+        assertTrue(Valid.checkObject(new Unrelated(null), Basic.class).isEmpty());
+        assertEquals(1, Valid.checkObject(new Unrelated(null)).size());
+    }
+
+    @Test
+    void validateSelf_withGroups() {
+
+        Message message = new Message("meow", -1, null);
+        message.validateSelf(Basic.class);
+
+        assertThrows(ConstraintViolationException.class, () -> message.validateSelf(Full.class));
+        assertThrows(ConstraintViolationException.class, message::validateSelf);
+    }
+
+    @Test
+    void methodAndConstructorArgs_withGroups() {
+
+        assertEquals(1, checkSend(" ", -1).size());
+        assertThrows(ConstraintViolationException.class, () -> send(" ", 1));
+        send("meow", -1);
+
+        new Envelope(" ");
+        assertThrows(ConstraintViolationException.class, () -> new Envelope(null));
+    }
+
+    @Test
+    void nullGroup_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Valid.checkObject(new Unrelated("x"), (Class<?>) null));
+    }
+
+    private void send(@NotBlank(groups = Basic.class) String text, @Min(value = 1, groups = Full.class) int priority) {
+        Valid.validateMethodArgs(new Class<?>[] { Basic.class }, this, text, priority);
+    }
+
+    private Set<ConstraintViolation<ValidationGroupsTest>> checkSend(
+        @NotBlank(groups = Basic.class) String text,
+        @Min(value = 1, groups = Full.class) int priority) {
+
+        return Valid.checkMethodArgs(new Class<?>[] { Basic.class }, this, text, priority);
+    }
+
+    private static Set<String> propertyNames(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath().toString())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Cheap checks.
+     */
+    interface Basic {
+    }
+
+    /**
+     * Expensive checks.
+     */
+    interface Full {
+    }
+
+    /**
+     * Basic, then Full if Basic passes.
+     */
+    @GroupSequence({ Basic.class, Full.class })
+    interface BasicThenFull {
+    }
+
+    /**
+     * Constraints in different groups.
+     */
+    private static final class Message implements SelfValidating {
+
+        @NotBlank(groups = Basic.class)
+        private final String text;
+
+        @Min(value = 1, groups = Full.class)
+        private final int priority;
+
+        @NotNull
+        private final String sender;
+
+        private Message(String text, int priority, String sender) {
+            this.text = text;
+            this.priority = priority;
+            this.sender = sender;
+        }
+    }
+
+    /**
+     * Only has default group constraints.
+     */
+    private static final class Unrelated {
+
+        @NotNull
+        private final String name;
+
+        private Unrelated(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Validates its constructor args with a group.
+     */
+    private static final class Envelope {
+
+        private final String address;
+
+        private Envelope(@NotNull(groups = Full.class) String address) {
+            Valid.validateConstructorArgs(new Class<?>[] { Full.class }, address);
+            this.address = address;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.terheyden.valid;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.hibernate.validator.cfg.ConstraintMapping;
+import org.hibernate.validator.cfg.defs.SizeDef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ValidatorRegistryTest unit tests.
+ */
+class ValidatorRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void profiles_haveTheirOwnMappings() throws IOException {
+
+        Path mappingFile = writeMapping("strict.xml", constraint(NotBlank.class));
+
+        try (ValidatorRegistry registry = new ValidatorRegistry()) {
+
+            registry
+                .register("strict", mappingFile, Cat.class)
+                .register("short", config -> {
+                    ConstraintMapping mapping = config.createConstraintMapping();
+                    mapping.type(Cat.class).field("name").constraint(new SizeDef().max(3));
+                    config.addMapping(mapping);
+                });
+
+            assertEquals(1, registry.checkObject("strict", new Cat(" ")).size());
+            assertTrue(registry.checkObject("short", new Cat(" ")).isEmpty());
+            assertEquals(1, registry.checkObject("short", new Cat("Cora")).size());
+            assertTrue(Valid.checkObject(new Cat(" ")).isEmpty());
+
+            assertEquals(1, registry.checkObject("strict", null).size());
+            assertThrows(ConstraintViolationException.class, () -> registry.validateObject("short", new Cat("Cora")));
+            assertThrows(IllegalArgumentException.class, () -> registry.validator("lenient"));
+        }
+    }
+
+    @Test
+    void changedMappingFile_isReloaded() throws IOException {
+
+        Path mappingFile = writeMapping("tenant.xml", constraint(NotBlank.class));
+
+        try (ValidatorRegistry registry = new ValidatorRegistry()) {
+
+            registry.register("tenant", mappingFile);
+            Validator before = registry.validator("tenant");
+            assertEquals(0, registry.reloadChanged());
+            assertSame(before, registry.validator("tenant"));
+
+            writeMapping("tenant.xml", constraint(Size.class, "<element name=\"max\">3</element>"));
+            assertEquals(1, registry.reloadChanged());
+
+            assertTrue(registry.checkObject("tenant", new Cat(" ")).isEmpty());
+            assertEquals(1, registry.checkObject("tenant", new Cat("Cora")).size());
+            // Readers that already had the old validator can keep using it.
+            assertEquals(1, before.validate(new Cat(" ")).size());
+        }
+    }
+
+    @Test
+    void brokenMappingFile_keepsTheCurrentFactory() throws IOException {
+
+        Path mappingFile = writeMapping("tenant.xml", constraint(NotBlank.class));
+
+        try (ValidatorRegistry registry = new ValidatorRegistry()) {
+
+            registry.register("tenant", mappingFile);
+            Validator before = registry.validator("tenant");
+
+            writeMapping("tenant.xml", "<not-a-mapping>");
+            assertEquals(0, registry.reloadChanged());
+            assertEquals(0, registry.reloadChanged());
+
+            assertSame(before, registry.validator("tenant"));
+            assertEquals(1, registry.checkObject("tenant", new Cat(" ")).size());
+        }
+    }
+
+    private Path writeMapping(String fileName, String constraint) throws IOException {
+
+        String xml = "<constraint-mappings xmlns=\"http://xmlns.jcp.org/xml/ns/validation/mapping\" version=\"2.0\">"
+            + "<bean class=\"" + Cat.class.getName() + "\">"
+            + "<field name=\"name\">" + constraint + "</field>"
+            + "</bean>"
+            + "</constraint-mappings>";
+
+        Path file = tempDir.resolve(fileName);
+        boolean exists = Files.exists(file);
+        Files.writeString(file, xml);
+
+        if (exists) {
+            // Make sure the change is seen, however coarse the file system's timestamps are.
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+        }
+
+        return file;
+    }
+
+    private static String constraint(Class<?> annotation, String... elements) {
+        return "<constraint annotation=\"" + annotation.getName() + "\">" + String.join("", elements) + "</constraint>";
+    }
+
+    /**
+     * Has no constraints of its own; they all come from the profiles.
+     */
+    public static final class Cat {
+
+        private final String name;
+
+        Cat(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.terheyden.valid;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.validator.internal.engine.path.PathImpl;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ViolationEncoderTest unit tests.
+ */
+class ViolationEncoderTest {
+
+    private static final Set<ConstraintViolation<Cat>> VIOLATIONS =
+        Valid.checkObject(new Cat("Cora \"the cat\"\n", -2, 9.5, false));
+
+    @Test
+    void buffer_roundTrips() {
+
+        ViolationEncoder encoder = new ViolationEncoder();
+        ViolationDecoder decoder = new ViolationDecoder();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        // Twice, so the second pass uses interned IDs.
+        for (int pass = 0; pass < 2; pass++) {
+
+            int start = buffer.position();
+            for (ConstraintViolation<Cat> violation : VIOLATIONS) {
+                encoder.encode(violation, buffer);
+            }
+
+            ByteBuffer readBuffer = buffer.duplicate().flip().position(start);
+            assertEquals(expected(), decodeAll(decoder, readBuffer));
+        }
+    }
+
+    @Test
+    void internedStrings_areSmaller() {
+
+        ViolationEncoder encoder = new ViolationEncoder();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        ConstraintViolation<Cat> violation = VIOLATIONS.iterator().next();
+
+        encoder.encode(violation, buffer);
+        int firstSize = buffer.position();
+        encoder.encode(violation, buffer);
+        int secondSize = buffer.position() - firstSize;
+
+        assertTrue(secondSize < firstSize / 4, firstSize + " -> " + secondSize);
+    }
+
+    @Test
+    void stream_roundTrips() throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ViolationEncoder(1).encodeAll(VIOLATIONS, bytes);
+
+        ViolationDecoder decoder = new ViolationDecoder();
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes.toByteArray());
+        List<DecodedViolation> decoded = new ArrayList<>();
+
+        for (DecodedViolation violation = decoder.decode(in); violation != null; violation = decoder.decode(in)) {
+            decoded.add(violation);
+        }
+
+        assertEquals(expected(), Set.copyOf(decoded));
+    }
+
+    @Test
+    void fullBuffer_isLeftUnchanged() {
+
+        ViolationEncoder encoder = new ViolationEncoder();
+        ViolationDecoder decoder = new ViolationDecoder();
+        ConstraintViolation<Cat> violation = VIOLATIONS.iterator().next();
+
+        ByteBuffer smallBuffer = ByteBuffer.allocate(8);
+        assertThrows(BufferOverflowException.class, () -> encoder.encode(violation, smallBuffer));
+        assertEquals(0, smallBuffer.position());
+
+        // The failed write didn't intern anything, so the decoder still stays in step.
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        encoder.encode(violation, buffer);
+        buffer.flip();
+
+        assertEquals(decoded(violation), decoder.decode(buffer));
+        assertNull(decoder.decode(buffer));
+    }
+
+    @Test
+    void failedStream_isForgotten() throws IOException {
+
+        ViolationEncoder encoder = new ViolationEncoder();
+        ViolationDecoder decoder = new ViolationDecoder();
+        ConstraintViolation<Cat> violation = VIOLATIONS.iterator().next();
+
+        OutputStream brokenStream = new OutputStream() {
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (++written > 8) {
+                    throw new IOException("Connection reset.");
+                }
+            }
+        };
+
+        assertThrows(IOException.class, () -> encoder.encode(violation, brokenStream));
+
+        // The failed write didn't intern anything, so a new stream's decoder stays in step.
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        encoder.encode(violation, bytes);
+
+        assertEquals(decoded(violation), decoder.decode(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    void corruptLength_failsWithoutAllocating() {
+
+        // An inline string claiming to be almost 2 GB long.
+        byte[] corrupt = { ViolationEncoder.REF_INLINE, (byte) 0xF0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'C' };
+        ViolationDecoder decoder = new ViolationDecoder();
+
+        ByteBuffer buffer = ByteBuffer.wrap(corrupt);
+        assertThrows(BufferUnderflowException.class, () -> decoder.decode(buffer));
+        assertEquals(0, buffer.position());
+
+        assertThrows(EOFException.class, () -> decoder.decode(new ByteArrayInputStream(corrupt)));
+    }
+
+    @Test
+    void longString_roundTripsThroughStream() throws IOException {
+
+        String longName = "Cora".repeat(10_000);
+        ConstraintViolation<Cat> violation = new RuleViolation<>(
+            Cat.class,
+            null,
+            PathImpl.createPathFromString("name"),
+            "bad",
+            "bad",
+            longName);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ViolationEncoder().encode(violation, bytes);
+
+        DecodedViolation decoded = new ViolationDecoder().decode(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(decoded(violation), decoded);
+    }
+
+    @Test
+    void json_isEscaped() throws IOException {
+
+        StringBuilder json = new StringBuilder();
+        ValidUtils.writeViolationsJson(VIOLATIONS, json);
+
+        assertTrue(json.toString().startsWith("[{\"rootBeanClass\":\"" + Cat.class.getName() + "\""));
+        assertTrue(json.toString().contains("\"invalidValue\":-2}"));
+        assertTrue(json.toString().contains("\"invalidValue\":9.5}"));
+        assertTrue(json.toString().contains("\"invalidValue\":false}"));
+        assertEquals(VIOLATIONS.size() - 1, json.toString().split("\\},\\{").length - 1);
+
+        StringBuilder nameJson = new StringBuilder();
+        ValidUtils.writeViolationJson(new RuleViolation<>(
+            Cat.class,
+            null,
+            PathImpl.createPathFromString("name"),
+            "bad",
+            "bad",
+            "Cora \"the cat\"\n"), nameJson);
+
+        assertTrue(nameJson.toString().endsWith("\"invalidValue\":\"Cora \\\"the cat\\\"\\n\"}"), nameJson.toString());
+
+        StringBuilder empty = new StringBuilder();
+        ValidUtils.writeViolationsJson(null, empty);
+        assertEquals("[]", empty.toString());
+    }
+
+    private static Set<DecodedViolation> decodeAll(ViolationDecoder decoder, ByteBuffer buffer) {
+
+        Set<DecodedViolation> decoded = new HashSet<>();
+        for (DecodedViolation violation = decoder.decode(buffer); violation != null; violation = decoder.decode(buffer)) {
+            decoded.add(violation);
+        }
+
+        return decoded;
+    }
+
+    private static Set<DecodedViolation> expected() {
+        return VIOLATIONS.stream().map(ViolationEncoderTest::decoded).collect(Collectors.toSet());
+    }
+
+    private static DecodedViolation decoded(ConstraintViolation<?> violation) {
+
+        Object value = violation.getInvalidValue();
+        Object decodedValue = value instanceof Integer ? (Object) ((Integer) value).longValue() : value;
+
+        return new DecodedViolation(
+            violation.getRootBeanClass().getName(),
+            violation.getPropertyPath().toString(),
+            violation.getMessageTemplate(),
+            violation.getMessage(),
+            decodedValue);
+    }
+
+    /**
+     * Has one violation of each value type.
+     */
+    private static final class Cat {
+
+        @NotBlank
+        private final String name;
+
+        @Min(0)
+        private final int age;
+
+        @DecimalMax("5")
+        private final double weight;
+
+        @AssertTrue
+        private final boolean fed;
+
+        private Cat(String name, int age, double weight, boolean fed) {
+            this.name = name;
+            this.age = age;
+            this.weight = weight;
+            this.fed = fed;
+        }
+    }
+}
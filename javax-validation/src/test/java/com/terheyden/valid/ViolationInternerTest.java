@@ -0,0 +1,174 @@
+package com.terheyden.valid;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ElementKind;
+import javax.validation.Path;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ViolationInternerTest unit tests.
+ */
+class ViolationInternerTest {
+
+    @Test
+    void internedViolations_shareTheirPathsAndMessages() {
+
+        ConstraintViolation<Cat> first = onlyAge(Valid.checkObject(new Cat(-1)));
+        ConstraintViolation<Cat> second = onlyAge(Valid.checkObject(new Cat(-2)));
+        assertNotSame(first.getPropertyPath(), second.getPropertyPath());
+
+        ConstraintViolation<Cat> firstInterned = onlyAge(ValidUtils.internViolations(Set.of(first)));
+        ConstraintViolation<Cat> secondInterned = onlyAge(ValidUtils.internViolations(Set.of(second)));
+
+        assertSame(firstInterned.getPropertyPath(), secondInterned.getPropertyPath());
+        assertSame(firstInterned.getMessage(), secondInterned.getMessage());
+        assertSame(firstInterned.getMessageTemplate(), secondInterned.getMessageTemplate());
+
+        assertEquals(first.getPropertyPath().toString(), firstInterned.getPropertyPath().toString());
+        assertEquals(first.getMessage(), firstInterned.getMessage());
+        assertEquals(first.getConstraintDescriptor(), firstInterned.getConstraintDescriptor());
+        assertEquals(-1, firstInterned.getInvalidValue());
+        assertEquals(-2, secondInterned.getInvalidValue());
+        assertSame(second.getRootBean(), secondInterned.getRootBean());
+    }
+
+    @Test
+    void containerElementPaths_areKept() {
+
+        Set<ConstraintViolation<Cat>> violations = Valid.checkObject(new Cat(1, " "));
+        ConstraintViolation<Cat> violation = violations.iterator().next();
+        ConstraintViolation<Cat> interned = ValidUtils.internViolations(violations).iterator().next();
+
+        assertEquals(violation.getPropertyPath().toString(), interned.getPropertyPath().toString());
+        assertEquals(violation.getMessage(), interned.getMessage());
+    }
+
+    @Test
+    void parameterPaths_keepTheirNodeKinds() {
+
+        Set<ConstraintViolation<Cat>> violations = new Cat(1).rename(" ");
+        ConstraintViolation<Cat> violation = violations.iterator().next();
+        ConstraintViolation<Cat> interned = ValidUtils.internViolations(violations).iterator().next();
+
+        assertEquals(List.of(ElementKind.METHOD, ElementKind.PARAMETER), kinds(violation.getPropertyPath()));
+        assertEquals(kinds(violation.getPropertyPath()), kinds(interned.getPropertyPath()));
+        assertEquals(violation.getPropertyPath().toString(), interned.getPropertyPath().toString());
+    }
+
+    @Test
+    void internedViolations_areEqualByValue() {
+
+        Set<ConstraintViolation<Cat>> violations = Valid.checkObject(new Cat(-1));
+        ConstraintViolation<Cat> first = ValidUtils.internViolations(violations).iterator().next();
+        ConstraintViolation<Cat> second = ValidUtils.internViolations(violations).iterator().next();
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+
+        ConstraintViolation<Cat> other = onlyAge(ValidUtils.internViolations(Valid.checkObject(new Cat(-1))));
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void messagesWithValues_areNotInterned() {
+
+        ConstraintViolation<Collar> first = ValidUtils.internViolations(Valid.checkObject(new Collar("Cora")))
+            .iterator()
+            .next();
+        ConstraintViolation<Collar> second = ValidUtils.internViolations(Valid.checkObject(new Collar("Cora")))
+            .iterator()
+            .next();
+
+        assertEquals("Cora is too long", first.getMessage());
+        assertEquals(first.getMessage(), second.getMessage());
+        assertNotSame(first.getMessage(), second.getMessage());
+        assertSame(first.getMessageTemplate(), second.getMessageTemplate());
+    }
+
+    @Test
+    void fullTable_startsOver() {
+
+        for (int i = 0; i <= ViolationInterner.MAX_ENTRIES; i++) {
+            ViolationInterner.string("filler-" + i);
+        }
+
+        String late = "late-" + System.nanoTime();
+        assertSame(ViolationInterner.string(late), ViolationInterner.string(new String(late)));
+    }
+
+    @Test
+    void specialViolations_useOneEmptyPath() {
+
+        assertSame(Valid.NULL_ORIGIN_VIOLATION.getPropertyPath(), Valid.NULL_ORIGIN_VIOLATION.getPropertyPath());
+        assertSame(ViolationInterner.EMPTY_PATH, ViolationInterner.path(""));
+
+        Set<ConstraintViolation<Object>> nullViolations = Valid.checkObject(null);
+        assertSame(Valid.NULL_ORIGIN_VIOLATION, ValidUtils.internViolations(nullViolations).iterator().next());
+    }
+
+    @Test
+    void noViolations_internsToEmpty() {
+        assertTrue(ValidUtils.internViolations(null).isEmpty());
+        assertTrue(ValidUtils.internViolations(Set.of()).isEmpty());
+    }
+
+    private static List<ElementKind> kinds(Path path) {
+        return StreamSupport.stream(path.spliterator(), false).map(Path.Node::getKind).collect(Collectors.toList());
+    }
+
+    private static ConstraintViolation<Cat> onlyAge(Set<ConstraintViolation<Cat>> violations) {
+        assertEquals(1, violations.size());
+        ConstraintViolation<Cat> violation = violations.iterator().next();
+        assertEquals("age", violation.getPropertyPath().toString());
+        return violation;
+    }
+
+    /**
+     * Has a message with the invalid value in it.
+     */
+    private static final class Collar {
+
+        @Size(max = 3, message = "${validatedValue} is too long")
+        private final String tag;
+
+        private Collar(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Has a simple property, a container element constraint, and a method parameter constraint.
+     */
+    private static final class Cat {
+
+        @Min(0)
+        private final int age;
+
+        private final List<@NotBlank String> toys;
+
+        private Cat(int age, String... toys) {
+            this.age = age;
+            this.toys = List.of(toys);
+        }
+
+        private Set<ConstraintViolation<Cat>> rename(@NotBlank String name) {
+            return Valid.checkMethodArgs(this, name);
+        }
+    }
+}